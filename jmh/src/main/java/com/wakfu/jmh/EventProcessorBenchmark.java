@@ -0,0 +1,101 @@
+package com.wakfu.jmh;
+
+import com.wakfu.domain.abilities.Ability;
+import com.wakfu.domain.abilities.DamageSourceType;
+import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.actors.Enemy;
+import com.wakfu.domain.actors.Fighter;
+import com.wakfu.domain.actors.Player;
+import com.wakfu.domain.event.BattleEvent;
+import com.wakfu.domain.event.BonusDamageEvent;
+import com.wakfu.domain.event.CombatEvent;
+import com.wakfu.domain.event.EventType;
+import com.wakfu.domain.event.LogEvent;
+import com.wakfu.service.EventProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de {@link EventProcessor#process} sur un mélange réaliste d'événements
+ * (dégâts multi-éléments, bonus, débuts de round) répartis sur {@code players} joueurs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventProcessorBenchmark {
+
+    private static final String[] SPELLS = { "Fulgur", "Épée céleste", "Super Iop", "Colère de Iop", "Jabs", "Charge" };
+    private static final Element[] ELEMENTS = { Element.FEU, Element.TERRE, Element.EAU, Element.AIR };
+
+    @Param({"1", "6"})
+    public int players;
+
+    /** Nombre de listeners du modèle (l'application en a deux : UI et calculateur) */
+    @Param({"0", "2"})
+    public int listeners;
+
+    private EventProcessor processor;
+    private LogEvent[] events;
+    private int next;
+
+    @Setup
+    public void setup() {
+        SampleLines.quietLogging();
+        processor = new EventProcessor();
+        processor.setRoundDetailLimit(10);
+        for (int i = 0; i < listeners; i++) {
+            processor.addModelListener(model -> model.getStatsByPlayer().size());
+        }
+        processor.process(new BattleEvent(LocalDateTime.now(), BattleEvent.BattleState.START));
+
+        SplittableRandom random = new SplittableRandom(42);
+        Fighter target = new Enemy("Bouftou", -1, "Bouftou");
+        List<LogEvent> out = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 4096; i++) {
+            if (i % 256 == 0) {
+                out.add(new BattleEvent(now, BattleEvent.BattleState.ROUND_START, i / 256 + 1));
+            }
+            Player caster = new Player("Joueur" + random.nextInt(players), i, Fighter.FighterType.PLAYER);
+            String spell = SPELLS[random.nextInt(SPELLS.length)];
+            Element element = ELEMENTS[random.nextInt(ELEMENTS.length)];
+            String castId = UUID.randomUUID().toString();
+            Ability ability = new Ability(spell, "Sort", element, DamageSourceType.DIRECT);
+            out.add(new CombatEvent(now, caster, target, ability, EventType.DAMAGE,
+                    100 + random.nextInt(3000), element, 4, random.nextInt(2), castId));
+            if (random.nextInt(4) == 0) {
+                out.add(new BonusDamageEvent(now, caster, "Brûlure", element, 50 + random.nextInt(500), castId));
+            }
+        }
+        events = out.toArray(new LogEvent[0]);
+    }
+
+    @Benchmark
+    public void process() {
+        processor.process(events[next]);
+        if (++next == events.length) {
+            // Nouveau combat à chaque tour de la séquence : le journal garde une taille de combat réelle
+            processor.process(new BattleEvent(LocalDateTime.now(), BattleEvent.BattleState.START));
+            next = 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.wakfu.jmh;
+
+import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.event.EventType;
+import com.wakfu.domain.model.FightJournal;
+import com.wakfu.service.JournalQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ré-agrégation d'un {@link FightJournal} par parcours de ses colonnes : temps par événement
+ * pour sommer les dégâts par lanceur et par élément, à la main puis via {@link JournalQuery}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JournalScanBenchmark {
+
+    private static final int EVENTS = 1 << 20;
+    private static final Element[] ELEMENTS = Element.values();
+
+    private FightJournal.Columns columns;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        FightJournal journal = new FightJournal();
+        for (int i = 0; i < EVENTS; i++) {
+            EventType type = random.nextInt(8) == 0 ? EventType.HEAL : EventType.DAMAGE;
+            journal.append(i * 50L, type, "Joueur" + random.nextInt(6), "Monstre" + random.nextInt(20),
+                    "Sort" + random.nextInt(40), 100 + random.nextInt(3000),
+                    ELEMENTS[random.nextInt(ELEMENTS.length)], null, i / 2000 + 1);
+        }
+        columns = journal.snapshot();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long[] damageByCaster() {
+        long[] totals = new long[columns.fighters().size()];
+        int[] caster = columns.caster();
+        int[] value = columns.value();
+        byte[] kind = columns.kind();
+        byte damage = (byte) EventType.DAMAGE.ordinal();
+        for (int i = 0, n = columns.size(); i < n; i++) {
+            if (kind[i] == damage) totals[caster[i]] += value[i];
+        }
+        return totals;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long[] damageByElement() {
+        long[] totals = new long[ELEMENTS.length];
+        byte[] element = columns.element();
+        int[] value = columns.value();
+        for (int i = 0, n = columns.size(); i < n; i++) totals[element[i]] += value[i];
+        return totals;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public JournalQuery.Result queryByCasterAndElement() {
+        return JournalQuery.over(columns)
+                .type(EventType.DAMAGE)
+                .groupBy(JournalQuery.Dimension.CASTER, JournalQuery.Dimension.ELEMENT)
+                .run();
+    }
+}
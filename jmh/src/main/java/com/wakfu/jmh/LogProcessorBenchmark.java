@@ -0,0 +1,77 @@
+package com.wakfu.jmh;
+
+import com.wakfu.parser.LogProcessor;
+import com.wakfu.service.EventProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de {@link LogProcessor#processLine} par type de ligne, puis sur un tour complet.
+ * Les lignes de dégâts / soins / armure / PA s'ajoutent au sort en cours : un nouveau lancer est injecté
+ * toutes les {@link #CAST_EVERY} lignes pour que le sort agrégé ne grossisse pas sans fin
+ * (coût amorti négligeable).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LogProcessorBenchmark {
+
+    private static final int CAST_EVERY = 256;
+
+    @Param({"JOIN", "CAST", "DIRECT", "INDIRECT", "PA_GAIN", "HEAL", "SHIELD", "TURN_END", "KO", "NOISE"})
+    public String lineType;
+
+    private LogProcessor processor;
+    private String line;
+    private List<String> mix;
+    private int calls;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SampleLines.quietLogging();
+        EventProcessor eventProcessor = new EventProcessor();
+        eventProcessor.setRoundDetailLimit(10);
+        processor = new LogProcessor(eventProcessor);
+        processor.processLine(SampleLines.START);
+        processor.processLine(SampleLines.JOIN_PLAYER);
+        processor.processLine(SampleLines.JOIN_ENEMY);
+        processor.processLine(SampleLines.CAST);
+        line = SampleLines.forType(lineType);
+        mix = SampleLines.turnMix();
+    }
+
+    @Benchmark
+    public void processLine() {
+        if (++calls % CAST_EVERY == 0) processor.processLine(SampleLines.CAST);
+        processor.processLine(line);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void processTurnMix() {
+        // Indépendant de lineType : ne garder qu'un seul paramètre au lancement (-p lineType=CAST)
+        for (String l : mix) processor.processLine(l);
+    }
+
+    @Benchmark
+    public long extractLogMillis() {
+        return LogProcessor.extractLogMillis(line);
+    }
+}
@@ -0,0 +1,123 @@
+package com.wakfu.jmh;
+
+import com.wakfu.parser.LogParser;
+import com.wakfu.parser.LogProcessor;
+import com.wakfu.service.EventProcessor;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Banc de débit de bout en bout : génère un wakfu.log synthétique puis le rejoue à travers
+ * LogParser → LogProcessor → EventProcessor.
+ * Rapporte le débit (lignes/s), la latence par ligne (p50 / p99 / max) et le taux d'allocation.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.wakfu.jmh.LogReplayHarness --players 6 --enemies 8 --rounds 60 --fights 5
+ * </pre>
+ */
+public class LogReplayHarness {
+
+    private final PrintStream report;
+
+    private LogReplayHarness(PrintStream report) {
+        this.report = report;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int players = intArg(args, "--players", 6);
+        int enemies = intArg(args, "--enemies", 8);
+        int rounds = intArg(args, "--rounds", 60);
+        int fights = intArg(args, "--fights", 5);
+        int runs = intArg(args, "--runs", 5);
+        long seed = intArg(args, "--seed", 42);
+
+        LogReplayHarness harness = new LogReplayHarness(System.out);
+        SampleLines.quietLogging();
+
+        SyntheticLogGenerator generator = new SyntheticLogGenerator(players, enemies, rounds, fights, seed);
+        Path file = Files.createTempFile("wakfu-synthetic", ".log");
+        try {
+            generator.writeTo(file);
+            List<String> lines = generator.lines();
+            harness.report.printf("Synthetic log: %d lines, %.1f MB (%d players, %d enemies, %d rounds, %d fights)%n",
+                    lines.size(), Files.size(file) / 1e6, players, enemies, rounds, fights);
+
+            // Préchauffage du JIT sur le même contenu
+            harness.replayFile(file);
+            harness.replayLines(lines);
+
+            for (int run = 1; run <= runs; run++) {
+                harness.report.printf("Run %d%n", run);
+                harness.replayFile(file);
+                harness.replayLines(lines);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Débit et allocations du chemin complet, lecture du fichier comprise.
+     */
+    private void replayFile(Path file) throws IOException {
+        LogParser parser = new LogParser(newProcessor());
+        long allocBefore = allocatedBytes();
+        long start = System.nanoTime();
+        long count = parser.parseFile(file);
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocBefore;
+
+        double seconds = elapsed / 1e9;
+        report.printf("  file   : %,.0f lines/s, %.1f MB/s allocated, %,d B/line%n",
+                count / seconds, allocated / 1e6 / seconds, count > 0 ? allocated / count : 0);
+    }
+
+    /**
+     * Latence par ligne, mesurée ligne à ligne sur le contenu déjà en mémoire.
+     */
+    private void replayLines(List<String> lines) {
+        LogProcessor processor = newProcessor();
+        long[] latencies = new long[lines.size()];
+        int i = 0;
+        for (String line : lines) {
+            long start = System.nanoTime();
+            processor.processLine(line);
+            latencies[i++] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        report.printf("  latency: p50 %,d ns, p99 %,d ns, max %,d ns%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1]);
+    }
+
+    private static LogProcessor newProcessor() {
+        EventProcessor eventProcessor = new EventProcessor();
+        eventProcessor.setRoundDetailLimit(10);
+        return new LogProcessor(eventProcessor);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            return bean.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) return Integer.parseInt(args[i + 1]);
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,49 @@
+package com.wakfu.jmh;
+
+import com.wakfu.parser.PatternExclusions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du pré-traitement appliqué à chaque ligne avant les motifs : à surveiller
+ * à chaque nouvelle exclusion ajoutée dans {@link PatternExclusions}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PatternExclusionsBenchmark {
+
+    @Param({"CAST", "DIRECT", "INDIRECT", "NOISE"})
+    public String lineType;
+
+    private String line;
+
+    @Setup
+    public void setup() {
+        line = SampleLines.forType(lineType);
+    }
+
+    @Benchmark
+    public String clean() {
+        return PatternExclusions.clean(line);
+    }
+
+    @Benchmark
+    public boolean shouldIgnore() {
+        return PatternExclusions.shouldIgnore(line);
+    }
+}
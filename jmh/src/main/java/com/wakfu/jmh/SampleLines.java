@@ -0,0 +1,80 @@
+package com.wakfu.jmh;
+
+import com.wakfu.logging.Level;
+import com.wakfu.logging.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lignes de wakfu.log représentatives de chaque motif reconnu par le parser.
+ */
+public final class SampleLines {
+
+    private SampleLines() {}
+
+    private static final String PREFIX = "INFO 21:15:32,123 [AWT-EventQueue-0] (aSa:123) - ";
+    private static final String COMBAT = PREFIX + "[Information (combat)] ";
+    /** Espace fine insécable utilisée par le jeu comme séparateur de milliers */
+    private static final String THIN = "\u202F";
+
+    public static final String START = PREFIX + "[_FL_] fightId=1520 CREATION DU COMBAT";
+    public static final String END = PREFIX + "[FIGHT] End fight with id 1520";
+    public static final String JOIN_PLAYER = PREFIX
+            + "[_FL_] fightId=1520 Toto breed : 8 [1234567] isControlledByAI=false obstacleId : -1 join the fight at {Point3 : (0, 0, 0)}";
+    public static final String JOIN_ENEMY = PREFIX
+            + "[_FL_] fightId=1520 Bouftou breed : 2801 [-1] isControlledByAI=true obstacleId : -1 join the fight at {Point3 : (1, 0, 0)}";
+    public static final String CAST = COMBAT + "Toto lance le sort Fulgur (Critiques)";
+    public static final String DIRECT = COMBAT + "Bouftou: -1" + THIN + "234 PV (Feu)";
+    public static final String INDIRECT = COMBAT + "Bouftou: -312 PV (Feu) (Brûlure)";
+    public static final String PA_GAIN = COMBAT + "Toto: +2 PA (Fulgur)";
+    public static final String HEAL = COMBAT + "Toto: +1" + THIN + "050 PV (Eau)";
+    public static final String SHIELD = COMBAT + "Toto: 820 Armure (Bouclier)";
+    public static final String TURN_END = COMBAT + "12 secondes reportées pour le tour suivant";
+    public static final String KO = COMBAT + "Toto est KO !";
+    public static final String REVIVED = COMBAT + "Toto est ressuscité !";
+    /** Ligne hors combat, rejetée par tous les motifs (cas le plus fréquent dans un vrai log) */
+    public static final String NOISE = PREFIX + "[Chat] Bienvenue dans le monde des Douze !";
+
+    public static String forType(String type) {
+        return switch (type) {
+            case "JOIN" -> JOIN_PLAYER;
+            case "CAST" -> CAST;
+            case "DIRECT" -> DIRECT;
+            case "INDIRECT" -> INDIRECT;
+            case "PA_GAIN" -> PA_GAIN;
+            case "HEAL" -> HEAL;
+            case "SHIELD" -> SHIELD;
+            case "TURN_END" -> TURN_END;
+            case "KO" -> KO;
+            case "NOISE" -> NOISE;
+            default -> throw new IllegalArgumentException("Unknown line type: " + type);
+        };
+    }
+
+    /**
+     * Un tour typique d'un joueur : lancer, regain de PA, dégâts directs et indirects, bruit, fin de tour.
+     */
+    public static List<String> turnMix() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            lines.add(CAST);
+            lines.add(DIRECT);
+            lines.add(DIRECT);
+            lines.add(NOISE);
+        }
+        lines.add(PA_GAIN);
+        lines.add(INDIRECT);
+        lines.add(NOISE);
+        lines.add(TURN_END);
+        return lines;
+    }
+
+    /**
+     * Seuls les avertissements restent affichés : les traces du parser sont filtrées avant
+     * tout formatage, comme avec le niveau par défaut de l'application.
+     */
+    public static void quietLogging() {
+        Log.setRootLevel(Level.WARN);
+    }
+}
@@ -0,0 +1,68 @@
+package com.wakfu.jmh;
+
+import com.wakfu.domain.abilities.Ability;
+import com.wakfu.domain.abilities.DamageSourceType;
+import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.actors.Enemy;
+import com.wakfu.domain.actors.Fighter;
+import com.wakfu.domain.actors.Player;
+import com.wakfu.parser.SpellCastAggregator;
+import com.wakfu.parser.SpellCastEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de l'agrégation d'un lancer : création, N dégâts, regain de PA, puis émission.
+ * Chaque ajout replanifie l'émission différée, d'où le paramètre {@code hits}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpellCastAggregatorBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int hits;
+
+    private SpellCastAggregator aggregator;
+    private Player caster;
+    private Fighter target;
+    private Ability ability;
+    private SpellCastEvent.DamageInstance damage;
+    private SpellCastEvent emitted;
+
+    @Setup
+    public void setup() {
+        aggregator = new SpellCastAggregator(cast -> emitted = cast);
+        caster = new Player("Toto", 1234567, Fighter.FighterType.PLAYER);
+        target = new Enemy("Bouftou", -1, "Bouftou");
+        ability = new Ability("Fulgur", "Sort", Element.FEU, DamageSourceType.DIRECT);
+        damage = new SpellCastEvent.DamageInstance(target, 1234, Element.FEU);
+    }
+
+    @Benchmark
+    public SpellCastEvent castLifecycle() {
+        aggregator.startNewSpellCast(new SpellCastEvent(LocalDateTime.now(), caster, ability, 4));
+        for (int i = 0; i < hits; i++) {
+            aggregator.addDamageToCurrentSpell(damage);
+        }
+        aggregator.addPaRegainToCurrentSpell(1);
+        aggregator.addBonusDamageToCurrentSpell("Brûlure", target, 312, Element.FEU);
+        aggregator.flushCurrentSpellCast();
+        return emitted;
+    }
+}
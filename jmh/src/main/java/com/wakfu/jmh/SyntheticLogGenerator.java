@@ -0,0 +1,201 @@
+package com.wakfu.jmh;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Générateur déterministe de wakfu.log synthétique : pour une même graine et une même
+ * configuration, le contenu produit est identique octet pour octet.
+ * Couvre les lignes reconnues par le parser (création / fin de combat, entrées des combattants,
+ * lancers, dégâts directs et indirects avec espaces fines, regains de PA, KO / résurrection,
+ * fins de tour) ainsi que du bruit hors motifs.
+ */
+public class SyntheticLogGenerator {
+
+    private static final String THIN = "\u202F";
+    private static final String[] ELEMENTS = { "Feu", "Eau", "Terre", "Air" };
+    private static final String[][] CLASS_SPELLS = {
+            { "Fulgur", "Épée céleste", "Super Iop Punch", "Colère de Iop", "Charge", "Fendoir" },
+            { "Wakméha", "Pulsation", "Déluge", "Tourbillon", "Séisme", "Heurt" },
+    };
+    private static final String[] ENEMY_SPELLS = { "Coup de corne", "Morsure", "Charge bovine" };
+    private static final String[] BONUS_EFFECTS = { "Brûlure", "Poison", "Saignement" };
+    private static final String[] TRUE_INDIRECT = { "Enflammé", "Contre-attaque" };
+    private static final String[] NOISE = {
+            "[Chat] Bienvenue dans le monde des Douze !",
+            "[Information (jeu)] Vous avez gagné 12 kamas.",
+            "[UI] Ouverture de la fenêtre d'inventaire",
+    };
+    private static final String[] EXCLUDED_TOKENS = { "", "", "", " (Critiques)", " (Parade !)" };
+
+    private final int players;
+    private final int enemies;
+    private final int rounds;
+    private final int fights;
+    private final long seed;
+
+    /** Heure courante du log, en ms depuis minuit */
+    private long clock;
+    private SplittableRandom random;
+
+    /**
+     * @param players nombre de joueurs par combat
+     * @param enemies nombre d'ennemis par combat
+     * @param rounds  nombre de rounds par combat
+     * @param fights  nombre de combats successifs
+     * @param seed    graine du générateur
+     */
+    public SyntheticLogGenerator(int players, int enemies, int rounds, int fights, long seed) {
+        this.players = Math.max(1, players);
+        this.enemies = Math.max(1, enemies);
+        this.rounds = Math.max(1, rounds);
+        this.fights = Math.max(1, fights);
+        this.seed = seed;
+    }
+
+    public List<String> lines() {
+        List<String> out = new ArrayList<>();
+        generate(out::add);
+        return out;
+    }
+
+    public void writeTo(Path file) throws IOException {
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            generate(line -> {
+                try {
+                    writer.write(line);
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    public void generate(Consumer<String> sink) {
+        random = new SplittableRandom(seed);
+        clock = 20L * 3_600_000L;
+        for (int f = 0; f < fights; f++) {
+            generateFight(1000 + f, sink);
+            for (int i = 0; i < 20; i++) sink.accept(noise());
+        }
+    }
+
+    private void generateFight(int fightId, Consumer<String> sink) {
+        sink.accept(line("[_FL_] fightId=" + fightId + " CREATION DU COMBAT"));
+
+        String[] playerNames = new String[players];
+        String[][] playerSpells = new String[players][];
+        for (int p = 0; p < players; p++) {
+            playerNames[p] = "Joueur" + (p + 1);
+            playerSpells[p] = CLASS_SPELLS[p % CLASS_SPELLS.length];
+            sink.accept(join(fightId, playerNames[p], 8 + p, 1_000_000L + p, false));
+        }
+        String[] enemyNames = new String[enemies];
+        for (int e = 0; e < enemies; e++) {
+            enemyNames[e] = "Bouftou" + (e + 1);
+            sink.accept(join(fightId, enemyNames[e], 2801, -(e + 1), true));
+        }
+
+        boolean[] ko = new boolean[players];
+        for (int r = 0; r < rounds; r++) {
+            for (int p = 0; p < players; p++) {
+                if (ko[p]) {
+                    // Un allié relève parfois le joueur KO
+                    if (random.nextInt(3) == 0) {
+                        ko[p] = false;
+                        sink.accept(combat(playerNames[p] + " est ressuscité !"));
+                    }
+                    continue;
+                }
+                playerTurn(playerNames[p], playerSpells[p], enemyNames, sink);
+            }
+            for (String enemy : enemyNames) {
+                int target = random.nextInt(players);
+                sink.accept(combat(enemy + " lance le sort " + pick(ENEMY_SPELLS)));
+                sink.accept(damage(playerNames[target], 50 + random.nextInt(800), pick(ELEMENTS)));
+                if (!ko[target] && random.nextInt(40) == 0) {
+                    ko[target] = true;
+                    sink.accept(combat(playerNames[target] + " est KO !"));
+                }
+                if (random.nextInt(4) == 0) sink.accept(noise());
+            }
+        }
+        sink.accept(line("[FIGHT] End fight with id " + fightId));
+    }
+
+    private void playerTurn(String player, String[] spells, String[] enemyNames, Consumer<String> sink) {
+        int casts = 1 + random.nextInt(4);
+        for (int c = 0; c < casts; c++) {
+            String spell = pick(spells);
+            sink.accept(combat(player + " lance le sort " + spell + pick(EXCLUDED_TOKENS)));
+            if (random.nextInt(5) == 0) {
+                sink.accept(combat(player + ": +" + (1 + random.nextInt(2)) + " PA (" + spell + ")"));
+            }
+            int hits = 1 + random.nextInt(3);
+            for (int h = 0; h < hits; h++) {
+                sink.accept(damage(pick(enemyNames), 200 + random.nextInt(4000), pick(ELEMENTS)));
+            }
+            if (random.nextInt(4) == 0) {
+                sink.accept(combat(pick(enemyNames) + ": -" + formatValue(50 + random.nextInt(600))
+                        + " PV (" + pick(ELEMENTS) + ") (" + pick(BONUS_EFFECTS) + ")"));
+            }
+            if (random.nextInt(10) == 0) {
+                sink.accept(combat(pick(enemyNames) + ": -" + formatValue(50 + random.nextInt(600))
+                        + " PV (" + pick(ELEMENTS) + ") (" + pick(TRUE_INDIRECT) + ")"));
+            }
+            if (random.nextInt(3) == 0) sink.accept(noise());
+        }
+        sink.accept(combat((1 + random.nextInt(20)) + " secondes reportées pour le tour suivant"));
+    }
+
+    private String join(int fightId, String name, int breed, long id, boolean ai) {
+        return line("[_FL_] fightId=" + fightId + " " + name + " breed : " + breed + " [" + id
+                + "] isControlledByAI=" + ai + " obstacleId : -1 join the fight at {Point3 : (0, 0, 0)}");
+    }
+
+    private String damage(String target, int value, String element) {
+        return combat(target + ": -" + formatValue(value) + " PV (" + element + ")");
+    }
+
+    private String combat(String message) {
+        return line("[Information (combat)] " + message);
+    }
+
+    private String noise() {
+        return line(pick(NOISE));
+    }
+
+    /**
+     * Préfixe horodaté "INFO HH:mm:ss,SSS" ; l'horloge avance de 20 à 400 ms par ligne
+     * et repasse à zéro à minuit, comme le vrai log.
+     */
+    private String line(String message) {
+        clock = (clock + 20 + random.nextInt(380)) % 86_400_000L;
+        long h = clock / 3_600_000L;
+        long m = (clock / 60_000L) % 60;
+        long s = (clock / 1000L) % 60;
+        long ms = clock % 1000L;
+        return String.format(Locale.ROOT, "INFO %02d:%02d:%02d,%03d [AWT-EventQueue-0] (aSa:123) - %s", h, m, s, ms, message);
+    }
+
+    /** Séparateur de milliers en espace fine, comme le client du jeu */
+    private static String formatValue(int value) {
+        if (value < 1000) return Integer.toString(value);
+        return (value / 1000) + THIN + String.format(Locale.ROOT, "%03d", value % 1000);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,428 @@
+package com.wakfu;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.wakfu.data.SpellCostProvider;
+import com.wakfu.data.UserSettings;
+import com.wakfu.domain.actors.PlayerClass;
+import com.wakfu.domain.event.EventType;
+import com.wakfu.domain.model.FightChange;
+import com.wakfu.domain.model.FightModel;
+import com.wakfu.domain.model.PlayerStats;
+import com.wakfu.logging.Level;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
+import com.wakfu.metrics.Metrics;
+import com.wakfu.parser.MultiLogParser;
+import com.wakfu.service.DamageCalculator;
+import com.wakfu.service.EventProcessor;
+import com.wakfu.service.JournalQuery;
+import com.wakfu.service.LiveFeedServer;
+import com.wakfu.storage.AggregateStats;
+import com.wakfu.storage.FightHistoryIndex;
+import com.wakfu.storage.FightHistoryManager;
+import com.wakfu.storage.HistoryAggregate;
+import com.wakfu.storage.HistoryAnalyzer;
+import com.wakfu.storage.HistoryCompactor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point d'entrée sans interface : lecture des logs → {@link EventProcessor} → historique et
+ * métriques, sans charger JavaFX (aucune classe de {@code com.wakfu.ui} n'est référencée).
+ * Pour archiver les combats depuis une autre machine ou analyser des logs déjà écrits.
+ *
+ * <pre>
+ * java -cp WakMeter.jar com.wakfu.HeadlessMeter [options] [wakfu.log | dossier ...]
+ *
+ *   --replay        lit les fichiers une fois en entier puis s'arrête (sinon suit les logs)
+ *   --history       enregistre les combats dans l'historique (défaut : réglage utilisateur)
+ *   --out DIR       écrit chaque combat terminé dans DIR/fight-&lt;id&gt;.json
+ *   --stdout        écrit un résumé JSON par combat terminé sur la sortie standard
+ *   --metrics       affiche les métriques sur la sortie d'erreur à l'arrêt
+ *   --feed PORT     sert le flux en direct sur http://127.0.0.1:PORT/ (défaut : réglage utilisateur)
+ *   --query ID      affiche les dégâts du combat ID de l'historique, d'après son journal enregistré
+ *   --group DIMS    regroupement de --query (défaut : CASTER,SPELL ; voir JournalQuery.Dimension)
+ *   --stats JOUEUR  affiche les statistiques d'historique du joueur (sorts, Dégât/PA, derniers combats)
+ *   --class-stats   affiche les statistiques d'historique par classe
+ *   --leaderboard N classement des N meilleurs joueurs (dégâts, Dégât/PA) sur tout l'historique
+ * </pre>
+ *
+ * Sans fichier en argument, les dossiers configurés dans l'application sont utilisés.
+ * Avec {@code --query}, {@code --stats}, {@code --class-stats} ou {@code --leaderboard}, aucun log n'est lu : le résultat
+ * est écrit en JSON sur la sortie standard et le programme s'arrête.
+ */
+public final class HeadlessMeter {
+
+    private static final Logger LOG = Log.get("Headless");
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private boolean replay = false;
+    private Boolean history = null;
+    private File outDir = null;
+    private boolean stdout = false;
+    private boolean metrics = false;
+    private int feedPort = -1;
+    private long queryFightId = 0;
+    private String statsPlayer = null;
+    private boolean classStats = false;
+    private int leaderboardSize = 0;
+    private JournalQuery.Dimension[] queryGroups = { JournalQuery.Dimension.CASTER, JournalQuery.Dimension.SPELL };
+    private final List<Path> logFiles = new ArrayList<>();
+
+    private PrintStream summaryOut;
+    // Levé quand run() a fini d'écrire métriques et logs (attendu par le hook d'arrêt)
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private HeadlessMeter() {
+    }
+
+    public static void main(String[] args) {
+        HeadlessMeter meter = new HeadlessMeter();
+        if (!meter.parseArgs(args)) {
+            System.err.println("Usage: HeadlessMeter [--replay] [--history] [--out DIR] [--stdout] [--metrics] [--feed PORT] [--query ID [--group DIMS]] [--stats JOUEUR] [--class-stats] [--leaderboard N] [wakfu.log | dossier ...]");
+            System.exit(2);
+        }
+        int status = meter.run();
+        // En suivi, l'arrêt vient déjà de Ctrl+C : appeler exit() pendant les hooks bloquerait
+        if (status != 0 || meter.replay || meter.isReport()) System.exit(status);
+    }
+
+    private boolean parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--replay" -> replay = true;
+                case "--history" -> history = true;
+                case "--no-history" -> history = false;
+                case "--stdout" -> stdout = true;
+                case "--metrics" -> metrics = true;
+                case "--class-stats" -> classStats = true;
+                case "--leaderboard" -> {
+                    if (i + 1 >= args.length) return false;
+                    try {
+                        leaderboardSize = Integer.parseInt(args[++i]);
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                    if (leaderboardSize <= 0) return false;
+                }
+                case "--stats" -> {
+                    if (i + 1 >= args.length) return false;
+                    statsPlayer = args[++i];
+                }
+                case "--feed" -> {
+                    if (i + 1 >= args.length) return false;
+                    try {
+                        feedPort = Integer.parseInt(args[++i]);
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+                case "--query" -> {
+                    if (i + 1 >= args.length) return false;
+                    try {
+                        queryFightId = Long.parseLong(args[++i]);
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+                case "--group" -> {
+                    if (i + 1 >= args.length) return false;
+                    try {
+                        queryGroups = Arrays.stream(args[++i].split(","))
+                                .map(d -> JournalQuery.Dimension.valueOf(d.trim().toUpperCase()))
+                                .toArray(JournalQuery.Dimension[]::new);
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                }
+                case "--out" -> {
+                    if (i + 1 >= args.length) return false;
+                    outDir = new File(args[++i]);
+                }
+                default -> {
+                    if (args[i].startsWith("--")) return false;
+                    logFiles.add(toLogFile(Paths.get(args[i])));
+                }
+            }
+        }
+        if (logFiles.isEmpty()) {
+            UserSettings.loadLogFolders().forEach(folder -> logFiles.add(toLogFile(Paths.get(folder))));
+        }
+        return true;
+    }
+
+    private static Path toLogFile(Path path) {
+        return Files.isDirectory(path) ? path.resolve("wakfu.log") : path;
+    }
+
+    private int run() {
+        // Résumés sur stdout : les logs n'y laissent passer que les avertissements
+        Log.setRootLevel(stdout || isReport() ? Level.WARN : Level.parse(UserSettings.loadLogLevel(), Level.INFO));
+        summaryOut = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+        if (queryFightId != 0) return runQuery();
+        if (statsPlayer != null || classStats) return runStats();
+        if (leaderboardSize > 0) return runLeaderboard();
+        SpellCostProvider.preload();
+
+        List<Path> existing = logFiles.stream().filter(Files::exists).toList();
+        if (existing.isEmpty()) {
+            LOG.error("No wakfu.log found (%s)", logFiles);
+            Log.flush();
+            return 1;
+        }
+        if (outDir != null && !outDir.isDirectory() && !outDir.mkdirs()) {
+            LOG.error("Cannot create output directory %s", outDir.getAbsolutePath());
+            Log.flush();
+            return 1;
+        }
+
+        EventProcessor eventProcessor = new EventProcessor();
+        boolean historyEnabled = history != null ? history : UserSettings.loadHistoryEnabled().orElse(false);
+        eventProcessor.setHistoryEnabled(historyEnabled);
+        eventProcessor.setRoundDetailLimit(UserSettings.loadRoundDetailLimit());
+        eventProcessor.setDamageTakenTracking(UserSettings.loadTrackDamageTaken());
+        eventProcessor.addStatusListener(message -> LOG.debug("%s", message));
+        eventProcessor.addChangeListener(change -> {
+            if (change instanceof FightChange.FightEnded) onFightEnded(eventProcessor.getCurrentFight());
+        });
+        int historyDetailDays = UserSettings.loadHistoryDetailDays();
+        if (historyEnabled && !replay && historyDetailDays > 0) {
+            HistoryCompactor.compactAsync(historyDetailDays, UserSettings.loadHistoryDailyDays());
+        }
+
+        LiveFeedServer liveFeed = null;
+        int port = feedPort >= 0 ? feedPort : UserSettings.loadLiveFeedPort();
+        if (port > 0) {
+            liveFeed = new LiveFeedServer();
+            if (liveFeed.start(port)) eventProcessor.addModelListener(liveFeed::onModel);
+        }
+
+        MultiLogParser parser = new MultiLogParser(eventProcessor);
+        try {
+            if (replay) {
+                long lines = parser.parseFiles(existing);
+                LOG.info("Replayed %,d lines from %d file(s)", lines, existing.size());
+            } else {
+                existing.forEach(parser::addSource);
+                follow(parser);
+            }
+            return 0;
+        } catch (IOException e) {
+            LOG.error("Failed to read logs: %s", e.getMessage());
+            return 1;
+        } finally {
+            parser.stop();
+            if (liveFeed != null) liveFeed.stop();
+            // Combats terminés en fin de lecture : leur écriture se fait en arrière-plan
+            // (en rejeu, on laisse le temps d'une éventuelle reconstruction de l'index)
+            if (historyEnabled && !FightHistoryManager.awaitPendingSaves(replay ? 60 : 3, TimeUnit.SECONDS)) {
+                LOG.warn("History writes still pending at shutdown");
+            }
+            if (metrics) System.err.print(Metrics.dump());
+            Log.flush();
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Vrai si la commande affiche un rapport sur l'historique au lieu de lire des logs.
+     */
+    private boolean isReport() {
+        return queryFightId != 0 || statsPlayer != null || classStats || leaderboardSize > 0;
+    }
+
+    /**
+     * Statistiques de l'historique lues dans {@link FightHistoryIndex} (sans relire l'historique).
+     */
+    private int runStats() {
+        try {
+            ObjectNode root = MAPPER.createObjectNode();
+            if (statsPlayer != null) {
+                AggregateStats total = FightHistoryIndex.getPlayerTotal(statsPlayer);
+                if (total == null) {
+                    LOG.error("Player %s not found in history (known: %s)", statsPlayer,
+                            String.join(", ", FightHistoryIndex.getPlayerNames()));
+                    return 1;
+                }
+                root.put("player", statsPlayer);
+                putStats(root, total);
+                root.set("damageByElement", MAPPER.valueToTree(FightHistoryIndex.getPlayerDamageByElement(statsPlayer)));
+                Map<String, AggregateStats> recent = FightHistoryIndex.getRecentSpellStats(statsPlayer);
+                ObjectNode spells = root.putObject("spells");
+                bySpellDamage(FightHistoryIndex.getSpellStats(statsPlayer)).forEach(e -> {
+                    ObjectNode spell = spells.putObject(e.getKey());
+                    putStats(spell, e.getValue());
+                    // Sur les FightHistoryIndex.RECENT_WINDOW derniers combats du joueur
+                    AggregateStats last = recent.get(e.getKey());
+                    if (last != null) putStats(spell.putObject("recent"), last);
+                });
+            } else {
+                root.put("fights", FightHistoryIndex.getFightCount());
+                root.set("damageByElement", MAPPER.valueToTree(FightHistoryIndex.getDamageByElement()));
+                ObjectNode classes = root.putObject("classes");
+                FightHistoryIndex.getClassStats().forEach((name, total) -> {
+                    ObjectNode node = classes.putObject(name);
+                    putStats(node, total);
+                    ObjectNode spells = node.putObject("spells");
+                    bySpellDamage(FightHistoryIndex.getClassSpellStats(PlayerClass.valueOf(name)))
+                            .forEach(e -> putStats(spells.putObject(e.getKey()), e.getValue()));
+                });
+            }
+            summaryOut.println(MAPPER.writeValueAsString(root));
+            return 0;
+        } catch (IOException e) {
+            LOG.error("Failed to write stats: %s", e.getMessage());
+            return 1;
+        } finally {
+            Log.flush();
+        }
+    }
+
+    /**
+     * Classements de saison : l'historique complet est relu et agrégé en parallèle
+     * ({@link HistoryAnalyzer#analyze()}).
+     */
+    private int runLeaderboard() {
+        try {
+            HistoryAggregate aggregate = HistoryAnalyzer.analyze();
+            ObjectNode root = MAPPER.createObjectNode();
+            root.put("fights", aggregate.getFightCount());
+            putLeaderboard(root.putArray("damage"), aggregate.getDamageLeaderboard(leaderboardSize));
+            putLeaderboard(root.putArray("damagePerPa"), aggregate.getDamagePerPaLeaderboard(leaderboardSize));
+            summaryOut.println(MAPPER.writeValueAsString(root));
+            return 0;
+        } catch (IOException e) {
+            LOG.error("Failed to write leaderboard: %s", e.getMessage());
+            return 1;
+        } finally {
+            Log.flush();
+        }
+    }
+
+    private static void putLeaderboard(ArrayNode array, List<HistoryAggregate.PlayerAggregate> players) {
+        for (HistoryAggregate.PlayerAggregate player : players) {
+            ObjectNode node = array.addObject();
+            node.put("player", player.getName());
+            if (player.getPlayerClass() != null) node.put("class", player.getPlayerClass().name());
+            putStats(node, player.getTotal());
+        }
+    }
+
+    private static List<Map.Entry<String, AggregateStats>> bySpellDamage(Map<String, AggregateStats> spells) {
+        return spells.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, AggregateStats> e) -> e.getValue().damage).reversed())
+                .toList();
+    }
+
+    private static void putStats(ObjectNode node, AggregateStats stats) {
+        node.put("fights", stats.fights);
+        node.put("damage", stats.damage);
+        node.put("casts", stats.casts);
+        node.put("damagePerFight", Math.round(stats.getDamagePerFight()));
+        Double perPa = stats.getDamagePerPa();
+        if (perPa != null) node.put("damagePerPa", Math.round(perPa * 10) / 10.0);
+    }
+
+    /**
+     * Dégâts d'un combat enregistré, regroupés selon {@link #queryGroups}.
+     */
+    private int runQuery() {
+        try {
+            JournalQuery query = new DamageCalculator().query(queryFightId);
+            if (query == null) {
+                LOG.error("No saved journal for fight %d", queryFightId);
+                return 1;
+            }
+            for (JournalQuery.Row row : query.type(EventType.DAMAGE).groupBy(queryGroups).run().getRows()) {
+                ObjectNode line = MAPPER.createObjectNode();
+                for (int k = 0; k < queryGroups.length; k++) {
+                    line.put(queryGroups[k].name().toLowerCase(), row.keys()[k]);
+                }
+                line.put("damage", row.sum());
+                line.put("hits", row.count());
+                line.put("max", row.max());
+                summaryOut.println(MAPPER.writeValueAsString(line));
+            }
+            return 0;
+        } catch (IOException e) {
+            LOG.error("Failed to write query result: %s", e.getMessage());
+            return 1;
+        } finally {
+            Log.flush();
+        }
+    }
+
+    /**
+     * Suit les logs jusqu'à l'arrêt du processus (Ctrl+C).
+     */
+    private void follow(MultiLogParser parser) {
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            stopped.countDown();
+            // Laisser run() écrire les métriques et vider les logs
+            try { finished.await(5, TimeUnit.SECONDS); } catch (InterruptedException ignored) {}
+        }, "HeadlessShutdown"));
+        parser.start();
+        LOG.info("Watching %d log file(s)", parser.getSourceCount());
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Appelé une fois par combat terminé, sur le thread de lecture des logs.
+     */
+    private void onFightEnded(FightModel model) {
+        if (outDir != null) {
+            File file = new File(outDir, "fight-" + model.getFightId() + ".json");
+            try {
+                MAPPER.writeValue(file, model);
+            } catch (IOException e) {
+                LOG.error("Failed to write %s: %s", file.getAbsolutePath(), e.getMessage());
+            }
+        }
+        if (stdout) {
+            try {
+                summaryOut.println(MAPPER.writeValueAsString(summaryOf(model)));
+            } catch (IOException e) {
+                LOG.error("Failed to write fight summary: %s", e.getMessage());
+            }
+        }
+    }
+
+    private static ObjectNode summaryOf(FightModel model) {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("fightId", model.getFightId());
+        root.put("start", String.valueOf(model.getStartTime()));
+        root.put("end", String.valueOf(model.getEndTime()));
+        ObjectNode players = root.putObject("players");
+        model.getStatsByPlayer().values().stream()
+                .sorted(Comparator.comparingInt(PlayerStats::getTotalDamage).reversed())
+                .forEach(ps -> {
+                    ObjectNode p = players.putObject(ps.getPlayer().getName());
+                    p.put("damage", ps.getTotalDamage());
+                    p.put("bonusDamage", ps.getTotalBonusDamage());
+                    p.put("heal", ps.getTotalHeal());
+                    p.put("shield", ps.getTotalShield());
+                });
+        return root;
+    }
+}
@@ -2,41 +2,43 @@ package com.wakfu;
 
 import com.wakfu.data.UserSettings;
 import com.wakfu.data.MessageProvider;
-import com.wakfu.parser.LogParser;
+import com.wakfu.data.SpellCostProvider;
+import com.wakfu.logging.Level;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
+import com.wakfu.metrics.Metrics;
+import com.wakfu.parser.MultiLogParser;
 import com.wakfu.service.EventProcessor;
-import com.wakfu.parser.LogProcessor;
 import com.wakfu.service.DamageCalculator;
+import com.wakfu.service.LiveFeedServer;
+import com.wakfu.storage.FightHistoryManager;
+import com.wakfu.storage.HistoryCompactor;
 import com.wakfu.ui.UIManager;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
-import java.io.FileDescriptor;
-import java.io.FileOutputStream;
-import java.io.PrintStream;
-import java.io.UnsupportedEncodingException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class WakfuMeterApp extends Application {
 
-    private LogParser logParser;
+    private static final Logger LOG = Log.get("App");
+
+    private MultiLogParser logParser;
+    private LiveFeedServer liveFeed;
 
     @Override
     public void start(Stage primaryStage) {
-        // === Fix encodage UTF-8 pour la console ===
-        try {
-            System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8.name()));
-            System.setErr(new PrintStream(new FileOutputStream(FileDescriptor.err), true, StandardCharsets.UTF_8.name()));
-        } catch (UnsupportedEncodingException e) {
-            System.err.println("Warning: Could not set UTF-8 encoding for console");
-        }
+        // === Niveau des logs console (écrits en UTF-8 par un thread dédié) ===
+        Log.setRootLevel(Level.parse(UserSettings.loadLogLevel(), Level.INFO));
+        // Coûts des sorts lus hors du thread JavaFX, pendant la construction de l'interface
+        SpellCostProvider.preload();
 
         // === Initialisation des modules ===
         DamageCalculator damageCalculator = new DamageCalculator();
         EventProcessor eventProcessor = new EventProcessor();
-        LogProcessor logProcessor = new LogProcessor(eventProcessor);
         UIManager uiManager = new UIManager(primaryStage, damageCalculator);
 
         // Status listener -> UI
@@ -53,6 +55,17 @@ public class WakfuMeterApp extends Application {
         uiManager.setHistoryChecked(historyEnabled);
         eventProcessor.setHistoryEnabled(historyEnabled);
 
+        // Rounds détaillés : au-delà, les plus anciens sont réduits à leurs totaux
+        eventProcessor.setRoundDetailLimit(UserSettings.loadRoundDetailLimit());
+        // Dégâts subis par les joueurs / infligés par les ennemis (compteurs légers, actif par défaut)
+        eventProcessor.setDamageTakenTracking(UserSettings.loadTrackDamageTaken());
+
+        // Compaction de l'historique en arrière-plan, si l'utilisateur a fixé une durée de détail
+        int historyDetailDays = UserSettings.loadHistoryDetailDays();
+        if (historyEnabled && historyDetailDays > 0) {
+            HistoryCompactor.compactAsync(historyDetailDays, UserSettings.loadHistoryDailyDays());
+        }
+
         // Enregistrer le callback auto-reset AVANT de restaurer la valeur
         uiManager.setOnAutoResetChanged(enabled -> {
             if (enabled) {
@@ -82,84 +95,74 @@ public class WakfuMeterApp extends Application {
             });
         }
 
-        // Callback pour démarrer le parser quand un dossier est choisi
-        uiManager.setOnLogFolderSelected(path -> {
-            try {
-                Path logFile = Paths.get(path).resolve("wakfu.log");
-                if (!logFile.toFile().exists()) {
-                    uiManager.setAppStatus(MessageProvider.noLogFile());
-                    return;
-                }
-                if (logParser != null) logParser.stop();
-                logParser = new LogParser(logProcessor);
-                logParser.startRealtimeParsing(logFile, eventProcessor::onEvent);
-                uiManager.setAppStatus(MessageProvider.logsDetected());
-                uiManager.setAppStatus(MessageProvider.waitingCombat());
-            } catch (Exception e) {
-                uiManager.showError("Erreur", "Impossible de démarrer le parser: " + e.getMessage());
-                System.out.printf(e.getMessage());
-            }
-        });
+        // Restaurer l'overlay des barres (fenêtre toujours au premier plan)
+        uiManager.setOverlayChecked(UserSettings.loadOverlayEnabled());
+
+        // Callback pour (re)démarrer la lecture quand un dossier est choisi ou ajouté
+        uiManager.setOnLogFolderSelected(path -> startParsing(eventProcessor, uiManager));
 
         // === Inscription aux notifications du modèle ===
+        // Changements élémentaires : totaux du calculateur et joueurs touchés, tenus à jour au fil de l'eau
+        damageCalculator.follow(eventProcessor);
+        uiManager.follow(eventProcessor);
         eventProcessor.addModelListener(model -> {
             // Refresh calculator state then UI
             damageCalculator.refreshFromModel(model);
-            uiManager.refresh(model);
+            uiManager.refresh(model, Metrics.currentLineNanos());
         });
 
+        // Flux en direct local pour les overlays de stream (si un port est configuré)
+        int liveFeedPort = UserSettings.loadLiveFeedPort();
+        if (liveFeedPort > 0) {
+            liveFeed = new LiveFeedServer();
+            if (liveFeed.start(liveFeedPort)) eventProcessor.addModelListener(liveFeed::onModel);
+        }
+
         // L'auto-reset est géré via le hook onBattleStart ; ne pas réinitialiser à chaque update du modèle.
 
-        // Si un dossier de logs était sauvegardé, démarrer automatiquement
-        Optional<String> saved = UserSettings.loadLogFolder();
-        if (saved.isPresent()) {
-            uiManager.setOnLogFolderSelected(null); // éviter double-callback pendant démarrage
-            // démarrage direct
-            try {
-                Path logFile = Paths.get(saved.get()).resolve("wakfu.log");
-                if (!logFile.toFile().exists()) {
-                    uiManager.setAppStatus(MessageProvider.noLogFile());
-                } else {
-                    logParser = new LogParser(logProcessor);
-                    logParser.startRealtimeParsing(logFile, eventProcessor::onEvent);
-                    uiManager.setAppStatus(MessageProvider.logsDetected());
-                    uiManager.setAppStatus(MessageProvider.waitingCombat());
-                }
-            } catch (Exception e) {
-                uiManager.showError("Erreur", "Impossible de démarrer le parser: " + e.getMessage());
-                System.out.printf(e.getMessage());
-            }
-            uiManager.setOnLogFolderSelected(path -> {
-                try {
-                    Path logFile = Paths.get(path).resolve("wakfu.log");
-                    if (!logFile.toFile().exists()) {
-                        uiManager.setAppStatus(MessageProvider.noLogFile());
-                        return;
-                    }
-                    if (logParser != null) logParser.stop();
-                    logParser = new LogParser(logProcessor);
-                    logParser.startRealtimeParsing(logFile, eventProcessor::onEvent);
-                    uiManager.setAppStatus(MessageProvider.logsDetected());
-                    uiManager.setAppStatus(MessageProvider.waitingCombat());
-                } catch (Exception e) {
-                    uiManager.showError("Erreur", "Impossible de démarrer le parser: " + e.getMessage());
-                    System.out.printf(e.getMessage());
-                }
-            });
+        // Si des dossiers de logs étaient sauvegardés, démarrer automatiquement
+        if (!UserSettings.loadLogFolders().isEmpty()) {
+            startParsing(eventProcessor, uiManager);
         } else {
             uiManager.setAppStatus(MessageProvider.addLogPath());
         }
     }
 
+    /**
+     * (Re)démarre la lecture des wakfu.log de tous les dossiers configurés (un par client du jeu),
+     * sur un seul thread de lecture.
+     */
+    private void startParsing(EventProcessor eventProcessor, UIManager uiManager) {
+        try {
+            List<Path> logFiles = UserSettings.loadLogFolders().stream()
+                    .map(folder -> Paths.get(folder).resolve("wakfu.log"))
+                    .filter(logFile -> logFile.toFile().exists())
+                    .toList();
+            if (logFiles.isEmpty()) {
+                uiManager.setAppStatus(MessageProvider.noLogFile());
+                return;
+            }
+            if (logParser != null) logParser.stop();
+            logParser = new MultiLogParser(eventProcessor);
+            logFiles.forEach(logParser::addSource);
+            logParser.start();
+            uiManager.setAppStatus(MessageProvider.logsDetected());
+            uiManager.setAppStatus(MessageProvider.waitingCombat());
+        } catch (Exception e) {
+            uiManager.showError("Erreur", "Impossible de démarrer le parser: " + e.getMessage());
+            LOG.error("Impossible de démarrer le parser", e);
+        }
+    }
+
     @Override
     public void stop() {
         if (logParser != null) logParser.stop();
+        if (liveFeed != null) liveFeed.stop();
+        FightHistoryManager.awaitPendingSaves(3, TimeUnit.SECONDS);
+        Log.flush();
     }
 
-    public static void main(String[] args) throws UnsupportedEncodingException {
-        // Force System.out en UTF-8 (utiliser FileDescriptor.out pour conserver la sortie console)
-        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8));
-
+    public static void main(String[] args) {
         launch(args);
     }
 }
@@ -17,8 +17,11 @@ public class MessageProvider {
     public static String noLogFile() { return get("no.log.file"); }
     public static String appReady() { return get("app.ready"); }
     public static String logFolderSelected() { return get("log.folder.selected"); }
+    public static String logFolderAdded() { return get("log.folder.added"); }
     public static String historyCleared() { return get("history.cleared"); }
     public static String historyClearError() { return get("history.clear.error"); }
     public static String addLogPath() { return get("add.log.path"); }
+    public static String metricsExported() { return get("metrics.exported"); }
+    public static String metricsExportError() { return get("metrics.export.error"); }
 }
 
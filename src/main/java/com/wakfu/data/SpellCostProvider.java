@@ -1,56 +1,106 @@
 package com.wakfu.data;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.text.Normalizer;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 /**
  * Charge la ressource `data/SortsPA.json` et expose les coûts (PA) des sorts par classe.
  * Les clés sont normalisées (minuscules, sans accents) pour faciliter la recherche.
+ *
+ * <p>La ressource n'est lue qu'au premier besoin (ou par {@link #preload()} au démarrage) et
+ * indexée à plat par nom de sort normalisé : une recherche sans classe est une seule lecture
+ * de table. Les noms normalisés sont mémorisés, les logs répétant toujours les mêmes sorts.</p>
  */
 public class SpellCostProvider {
-    private static final Map<String, Map<String, Integer>> COSTS = new HashMap<>();
 
-    static {
-        try (InputStream is = SpellCostProvider.class.getResourceAsStream("/data/SortsPA.json")) {
-            if (is != null) {
-                ObjectMapper m = new ObjectMapper();
-                JsonNode root = m.readTree(is);
-                if (root.isArray() && !root.isEmpty()) {
-                    JsonNode first = root.get(0);
-                    Iterator<String> classNames = first.fieldNames();
-                    while (classNames.hasNext()) {
-                        String className = classNames.next();
-                        JsonNode spellsNode = first.get(className);
-                        Map<String, Integer> map = new HashMap<>();
-                        if (spellsNode != null && spellsNode.isObject()) {
-                            Iterator<String> spellNames = spellsNode.fieldNames();
-                            while (spellNames.hasNext()) {
-                                String spell = spellNames.next();
-                                JsonNode v = spellsNode.get(spell);
-                                if (v != null && v.isInt()) map.put(normalize(spell), v.asInt());
-                            }
+    private static final Logger LOG = Log.get("SpellCostProvider");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}");
+    // Au-delà, les noms sont normalisés sans être mémorisés
+    private static final int MAX_CACHED_NAMES = 4096;
+    private static final Map<String, String> NORMALIZED = new ConcurrentHashMap<>();
+
+    /**
+     * Sort indexé : classe (nom d'origine du fichier) et coût PA.
+     */
+    private record SpellEntry(String className, int cost) {}
+
+    /**
+     * Index chargé à la première utilisation de la classe (idiome du holder).
+     */
+    private static final class Index {
+        // Nom de sort normalisé → classe et coût ; en cas de doublon, la dernière classe du fichier l'emporte
+        static final Map<String, SpellEntry> SPELLS = new HashMap<>();
+        // Classe normalisée → sort normalisé → coût, pour les recherches dans une classe donnée
+        static final Map<String, Map<String, Integer>> COSTS = new LinkedHashMap<>();
+
+        static {
+            long start = System.nanoTime();
+            try (InputStream is = SpellCostProvider.class.getResourceAsStream("/data/SortsPA.json")) {
+                if (is != null) {
+                    load(is);
+                    LOG.debug("%d sorts indexés en %d ms", SPELLS.size(), (System.nanoTime() - start) / 1_000_000);
+                } else {
+                    LOG.warn("resource SortsPA.json introuvable");
+                }
+            } catch (Exception e) {
+                LOG.error("erreur lecture SortsPA.json: %s", e.getMessage());
+            }
+        }
+
+        /**
+         * Lecture en flux du premier objet du tableau : { classe: { sort: coût } }.
+         */
+        private static void load(InputStream is) throws IOException {
+            try (JsonParser p = new JsonFactory().createParser(is)) {
+                if (p.nextToken() != JsonToken.START_ARRAY || p.nextToken() != JsonToken.START_OBJECT) return;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String className = p.currentName();
+                    if (p.nextToken() != JsonToken.START_OBJECT) {
+                        p.skipChildren();
+                        continue;
+                    }
+                    Map<String, Integer> map = new HashMap<>();
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String spell = normalize(p.currentName());
+                        if (p.nextToken() != JsonToken.VALUE_NUMBER_INT) {
+                            p.skipChildren();
+                            continue;
                         }
-                        COSTS.put(normalize(className), map);
+                        int cost = p.getIntValue();
+                        map.put(spell, cost);
+                        SPELLS.put(spell, new SpellEntry(className, cost));
                     }
+                    COSTS.put(normalize(className), map);
                 }
-            } else {
-                System.err.println("[SpellCostProvider] resource SortsPA.json introuvable");
             }
-        } catch (Exception e) {
-            System.err.println("[SpellCostProvider] erreur lecture SortsPA.json: " + e.getMessage());
         }
     }
 
+    /**
+     * Lance le chargement de l'index sur un thread d'arrière-plan, pour que la première
+     * ligne de combat lue (ou le thread JavaFX) n'attende pas la lecture de la ressource.
+     */
+    public static void preload() {
+        Thread t = new Thread(() -> Index.SPELLS.size(), "SpellIndexLoader");
+        t.setDaemon(true);
+        t.start();
+    }
+
     /**
      * Retourne le coût PA pour un sort. Si `className` est fourni, on tente d'abord la recherche
-     * dans cette classe; si absent (ou si className==null), on parcourt toutes les classes et
-     * retourne le premier coût trouvé pour ce sort.
+     * dans cette classe; si absent (ou si className==null), on retourne le coût indexé pour ce sort.
      */
     public static Integer getCostFor(String className, String spellName) {
         if (spellName == null) return null;
@@ -58,15 +108,13 @@ public class SpellCostProvider {
 
         // Tentative par classe si fournie
         if (className != null) {
-            Map<String, Integer> m = COSTS.get(normalize(className));
-            if (m != null && m.containsKey(normSpell)) return m.get(normSpell);
+            Map<String, Integer> m = Index.COSTS.get(normalize(className));
+            Integer cost = m != null ? m.get(normSpell) : null;
+            if (cost != null) return cost;
         }
 
-        // Fallback : rechercher le sort parmi toutes les classes
-        for (Map<String, Integer> m : COSTS.values()) {
-            if (m.containsKey(normSpell)) return m.get(normSpell);
-        }
-        return null;
+        SpellEntry entry = Index.SPELLS.get(normSpell);
+        return entry != null ? entry.cost() : null;
     }
 
     /**
@@ -75,55 +123,23 @@ public class SpellCostProvider {
      */
     public static String getClassForSpell(String spellName) {
         if (spellName == null) return null;
-        String normSpell = normalize(spellName);
-
-        for (Map.Entry<String, Map<String, Integer>> entry : COSTS.entrySet()) {
-            if (entry.getValue().containsKey(normSpell)) {
-                // Retourner le nom de classe original (non normalisé)
-                return denormalize(entry.getKey());
-            }
-        }
-        return null;
+        SpellEntry entry = Index.SPELLS.get(normalize(spellName));
+        return entry != null ? entry.className() : null;
     }
 
     /**
      * Retourne la map complète des classes et sorts (pour débogage)
      */
     public static Map<String, Map<String, Integer>> getAllData() {
-        return new HashMap<>(COSTS);
+        return new HashMap<>(Index.COSTS);
     }
 
     private static String normalize(String s) {
         if (s == null) return null;
-        String n = Normalizer.normalize(s, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
-        return n.toLowerCase().trim();
-    }
-
-    /**
-     * Reconstruit le nom de classe original à partir du nom normalisé
-     */
-    private static String denormalize(String normalized) {
-        // Map des noms normalisés vers les noms originaux
-        Map<String, String> classNames = Map.ofEntries(
-            Map.entry("eliotrope", "Eliotrope"),
-            Map.entry("iop", "Iop"),
-            Map.entry("sram", "Sram"),
-            Map.entry("cra", "Cra"),
-            Map.entry("sacrieur", "Sacrieur"),
-            Map.entry("ecaflip", "Écaflip"),
-            Map.entry("ouginak", "Ouginak"),
-            Map.entry("feca", "Féca"),
-            Map.entry("osamodas", "Osamodas"),
-            Map.entry("enutrof", "Enutrof"),
-            Map.entry("xelor", "Xélor"),
-            Map.entry("eniripsa", "Eniripsa"),
-            Map.entry("sadida", "Sadida"),
-            Map.entry("pandawa", "Pandawa"),
-            Map.entry("roublard", "Roublard"),
-            Map.entry("zobal", "Zobal"),
-            Map.entry("steamer", "Steamer"),
-            Map.entry("huppermage", "Huppermage")
-        );
-        return classNames.getOrDefault(normalized, normalized);
+        String cached = NORMALIZED.get(s);
+        if (cached != null) return cached;
+        String n = MARKS.matcher(Normalizer.normalize(s, Normalizer.Form.NFD)).replaceAll("").toLowerCase().trim();
+        if (NORMALIZED.size() < MAX_CACHED_NAMES) NORMALIZED.putIfAbsent(s, n);
+        return n;
     }
 }
@@ -1,18 +1,25 @@
 package com.wakfu.data;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Utilitaire minimal pour sauvegarder/charger des paramètres utilisateur
  * dans un fichier JSON `user_settings.json` dans le répertoire courant.
  */
 public class UserSettings {
+    private static final Logger LOG = Log.get("UserSettings");
     private static final String FILE_NAME = "user_settings.json";
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
@@ -23,7 +30,7 @@ public class UserSettings {
             Settings s = MAPPER.readValue(p.toFile(), Settings.class);
             return Optional.ofNullable(s);
         } catch (IOException e) {
-            System.err.println("[UserSettings] Failed to read settings: " + e.getMessage());
+            LOG.warn("Failed to read settings: %s", e.getMessage());
             return Optional.empty();
         }
     }
@@ -34,7 +41,7 @@ public class UserSettings {
             MAPPER.writerWithDefaultPrettyPrinter().writeValue(p.toFile(), settings);
             return true;
         } catch (IOException e) {
-            System.err.println("[UserSettings] Failed to write settings: " + e.getMessage());
+            LOG.warn("Failed to write settings: %s", e.getMessage());
             return false;
         }
     }
@@ -50,6 +57,44 @@ public class UserSettings {
         return saveSettings(s);
     }
 
+    /**
+     * Dossiers de logs de tous les clients suivis : le dossier principal puis les dossiers ajoutés.
+     */
+    public static List<String> loadLogFolders() {
+        Set<String> folders = new LinkedHashSet<>();
+        loadSettings().ifPresent(s -> {
+            if (s.logFolder != null && !s.logFolder.isBlank()) folders.add(s.logFolder);
+            if (s.logFolders != null) {
+                s.logFolders.stream().filter(f -> f != null && !f.isBlank()).forEach(folders::add);
+            }
+        });
+        return new ArrayList<>(folders);
+    }
+
+    /**
+     * Remplace tous les dossiers suivis par un seul dossier principal.
+     */
+    public static boolean saveSingleLogFolder(String folderPath) {
+        Settings s = loadSettings().orElseGet(Settings::new);
+        s.logFolder = folderPath;
+        s.logFolders = new ArrayList<>();
+        return saveSettings(s);
+    }
+
+    /**
+     * Ajoute le dossier de logs d'un autre client (devient le dossier principal s'il n'y en a pas).
+     */
+    public static boolean addLogFolder(String folderPath) {
+        Settings s = loadSettings().orElseGet(Settings::new);
+        if (s.logFolder == null || s.logFolder.isBlank()) {
+            s.logFolder = folderPath;
+        } else {
+            if (s.logFolders == null) s.logFolders = new ArrayList<>();
+            if (!s.logFolder.equals(folderPath) && !s.logFolders.contains(folderPath)) s.logFolders.add(folderPath);
+        }
+        return saveSettings(s);
+    }
+
     public static Optional<Boolean> loadHistoryEnabled() {
         return loadSettings().map(s -> s.historyEnabled == null ? Boolean.FALSE : s.historyEnabled);
     }
@@ -70,9 +115,75 @@ public class UserSettings {
         return saveSettings(s);
     }
 
+    /**
+     * Nombre de jours pendant lesquels les combats de l'historique sont conservés en détail
+     * (0 = pas de compaction, par défaut : les combats plus anciens ne sont résumés que si
+     * l'utilisateur a choisi une durée).
+     */
+    public static int loadHistoryDetailDays() {
+        return loadSettings().map(s -> s.historyDetailDays).filter(d -> d != null && d > 0).orElse(0);
+    }
+
+    /**
+     * Au-delà de ce nombre de jours, les résumés journaliers sont regroupés par semaine.
+     */
+    public static int loadHistoryDailyDays() {
+        return loadSettings().map(s -> s.historyDailyDays).filter(d -> d != null && d >= 0).orElse(90);
+    }
+
+    /**
+     * Nombre de rounds gardés en détail pendant un combat (0 = illimité).
+     */
+    public static int loadRoundDetailLimit() {
+        return loadSettings().map(s -> s.roundDetailLimit).filter(n -> n != null && n >= 0).orElse(0);
+    }
+
+    /**
+     * Niveau minimal des messages de la console (TRACE, DEBUG, INFO, WARN, ERROR, OFF), tel
+     * qu'enregistré, ou null s'il est absent : à interpréter avec {@code Level.parse}.
+     */
+    public static String loadLogLevel() {
+        return loadSettings().map(s -> s.logLevel).orElse(null);
+    }
+
+    /**
+     * Enregistrement des dégâts subis par les joueurs et infligés par les ennemis (actif par défaut).
+     */
+    public static boolean loadTrackDamageTaken() {
+        return loadSettings().map(s -> s.trackDamageTaken == null ? Boolean.TRUE : s.trackDamageTaken).orElse(Boolean.TRUE);
+    }
+
+    /**
+     * Overlay des barres des joueurs, toujours au premier plan (désactivé par défaut).
+     */
+    public static boolean loadOverlayEnabled() {
+        return loadSettings().map(s -> s.overlayEnabled != null && s.overlayEnabled).orElse(Boolean.FALSE);
+    }
+
+    public static boolean saveOverlayEnabled(boolean enabled) {
+        Settings s = loadSettings().orElseGet(Settings::new);
+        s.overlayEnabled = enabled;
+        return saveSettings(s);
+    }
+
+    /**
+     * Port du flux en direct local pour les overlays de stream (0 = désactivé, par défaut).
+     */
+    public static int loadLiveFeedPort() {
+        return loadSettings().map(s -> s.liveFeedPort).filter(p -> p != null && p >= 0 && p <= 65535).orElse(0);
+    }
+
     public static class Settings {
         public String logFolder;
+        public List<String> logFolders = new ArrayList<>();
         public Boolean historyEnabled = Boolean.FALSE;
         public Boolean autoReset = Boolean.TRUE;
+        public Integer historyDetailDays = 0;
+        public Integer historyDailyDays = 90;
+        public Integer roundDetailLimit = 0;
+        public String logLevel = "INFO";
+        public Boolean trackDamageTaken = Boolean.TRUE;
+        public Boolean overlayEnabled = Boolean.FALSE;
+        public Integer liveFeedPort = 0;
     }
 }
@@ -19,6 +19,7 @@ public class BattleEvent extends LogEvent {
     private final BattleState state;
     private final String playerName;   // Nom du joueur concerné (si applicable)
     private final int roundNumber;     // Numéro du round (si applicable)
+    private final long fightId;        // Id du combat dans le log (0 si inconnu)
 
     // --- Constructeur générique (combat start/end) ---
     public BattleEvent(LocalDateTime timestamp, BattleState state) {
@@ -37,10 +38,16 @@ public class BattleEvent extends LogEvent {
 
     // --- Constructeur complet ---
     public BattleEvent(LocalDateTime timestamp, BattleState state, String playerName, int roundNumber) {
+        this(timestamp, state, playerName, roundNumber, 0);
+    }
+
+    // --- Constructeur avec id du combat (combat start/end) ---
+    public BattleEvent(LocalDateTime timestamp, BattleState state, String playerName, int roundNumber, long fightId) {
         super(timestamp);
         this.state = state;
         this.playerName = playerName;
         this.roundNumber = roundNumber;
+        this.fightId = fightId;
     }
 
     @Override
@@ -60,6 +67,10 @@ public class BattleEvent extends LogEvent {
         return roundNumber;
     }
 
+    public long getFightId() {
+        return fightId;
+    }
+
     @Override
     public String toString() {
         return "[BattleEvent] " + state +
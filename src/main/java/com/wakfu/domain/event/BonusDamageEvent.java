@@ -4,13 +4,18 @@ import com.wakfu.domain.actors.Fighter;
 import java.time.LocalDateTime;
 public class BonusDamageEvent extends LogEvent {
     private final Fighter caster;
+    private final Fighter target;
     private final String effectName;
     private final Element element;
     private final int value;
     private final String castId;
     public BonusDamageEvent(LocalDateTime timestamp, Fighter caster, String effectName, Element element, int value, String castId) {
+        this(timestamp, caster, null, effectName, element, value, castId);
+    }
+    public BonusDamageEvent(LocalDateTime timestamp, Fighter caster, Fighter target, String effectName, Element element, int value, String castId) {
         super(timestamp);
         this.caster = caster;
+        this.target = target;
         this.effectName = effectName;
         this.element = element;
         this.value = value;
@@ -19,6 +24,9 @@ public class BonusDamageEvent extends LogEvent {
     public Fighter getCaster() {
         return caster;
     }
+    public Fighter getTarget() {
+        return target;
+    }
     public String getEffectName() {
         return effectName;
     }
@@ -2,6 +2,10 @@ package com.wakfu.domain.event;
 
 public enum EventType {
     DAMAGE,
+    // Dégâts reçus par un joueur (lanceur : ennemi, ou null si la source est inconnue)
+    DAMAGE_TAKEN,
+    // Dégâts bonus d'un effet rattaché à un lancer (comptés à part des dégâts du sort)
+    BONUS_DAMAGE,
     HEAL,
     SHIELD,
     BUFF,
@@ -5,6 +5,8 @@ import java.time.LocalDateTime;
 public abstract class LogEvent {
 
     protected LocalDateTime timestamp;
+    // Heure de la ligne de log à l'origine de l'événement (ms depuis minuit, -1 = inconnue)
+    private long logMillis = -1;
 
     public LogEvent(LocalDateTime timestamp) {
         this.timestamp = timestamp;
@@ -14,5 +16,13 @@ public abstract class LogEvent {
         return timestamp;
     }
 
+    public long getLogMillis() {
+        return logMillis;
+    }
+
+    public void setLogMillis(long logMillis) {
+        this.logMillis = logMillis;
+    }
+
     public abstract LogEventType getEventType();
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.wakfu.domain.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matrice lanceur × cible × sort des dégâts d'un combat, mise à jour à chaque coup.
+ * Les noms sont convertis en ids denses ({@link IdInterner}) : chaque couple (lanceur, cible)
+ * possède un tableau de dégâts indexé par id de sort, et un total. Les tableaux ne grandissent
+ * qu'à l'apparition d'un nouveau combattant ou sort.
+ *
+ * <p>Sérialisée dans l'historique sous forme compacte : listes de noms et cellules non nulles
+ * {@code [lanceur, cible, sort, dégâts]}.</p>
+ */
+public class DamageMatrix {
+
+    private final IdInterner casters = new IdInterner();
+    private final IdInterner targets = new IdInterner();
+    private final IdInterner spells = new IdInterner();
+
+    private int casterCapacity = 8;
+    private int targetCapacity = 16;
+    // Par couple (lanceur, cible), index lanceur * targetCapacity + cible
+    private int[][] damageBySpell = new int[casterCapacity * targetCapacity][];
+    private int[] pairTotals = new int[casterCapacity * targetCapacity];
+
+    public synchronized void add(String caster, String target, String spell, int value) {
+        int c = casters.intern(caster);
+        int t = targets.intern(target);
+        int s = spells.intern(spell);
+        ensureCapacity(c, t);
+
+        int pair = c * targetCapacity + t;
+        int[] row = damageBySpell[pair];
+        if (row == null) {
+            row = damageBySpell[pair] = new int[Math.max(s + 1, spells.size())];
+        } else if (s >= row.length) {
+            row = damageBySpell[pair] = Arrays.copyOf(row, Math.max(s + 1, spells.size()));
+        }
+        row[s] += value;
+        pairTotals[pair] += value;
+    }
+
+    public synchronized int get(String caster, String target, String spell) {
+        int pair = pairIndex(caster, target);
+        int s = spells.idOf(spell);
+        if (pair < 0 || s == IdInterner.NONE) return 0;
+        int[] row = damageBySpell[pair];
+        return row != null && s < row.length ? row[s] : 0;
+    }
+
+    public synchronized int getTotal(String caster, String target) {
+        int pair = pairIndex(caster, target);
+        return pair < 0 ? 0 : pairTotals[pair];
+    }
+
+    /**
+     * Dégâts d'un lanceur par cible, du plus au moins touché.
+     */
+    public synchronized Map<String, Integer> getTargetTotals(String caster) {
+        int c = casters.idOf(caster);
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        if (c != IdInterner.NONE) {
+            for (int t = 0; t < targets.size(); t++) {
+                int total = pairTotals[c * targetCapacity + t];
+                if (total != 0) entries.add(Map.entry(targets.nameOf(t), total));
+            }
+        }
+        return sortedByValue(entries);
+    }
+
+    /**
+     * Dégâts d'un lanceur sur une cible, par sort, du plus au moins fort.
+     */
+    public synchronized Map<String, Integer> getSpellTotals(String caster, String target) {
+        int pair = pairIndex(caster, target);
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        int[] row = pair < 0 ? null : damageBySpell[pair];
+        if (row != null) {
+            for (int s = 0; s < row.length; s++) {
+                if (row[s] != 0) entries.add(Map.entry(spells.nameOf(s), row[s]));
+            }
+        }
+        return sortedByValue(entries);
+    }
+
+    /**
+     * Dégâts reçus par une cible, tous lanceurs confondus.
+     */
+    public synchronized int getTargetTotal(String target) {
+        int t = targets.idOf(target);
+        if (t == IdInterner.NONE) return 0;
+        int total = 0;
+        for (int c = 0; c < casters.size(); c++) total += pairTotals[c * targetCapacity + t];
+        return total;
+    }
+
+    public synchronized List<String> getCasters() {
+        return List.copyOf(casters.getNames());
+    }
+
+    public synchronized List<String> getTargets() {
+        return List.copyOf(targets.getNames());
+    }
+
+    public synchronized List<String> getSpells() {
+        return List.copyOf(spells.getNames());
+    }
+
+    /**
+     * Cellules non nulles {@code [lanceur, cible, sort, dégâts]} (ids des listes ci-dessus).
+     */
+    public synchronized List<int[]> getCells() {
+        List<int[]> cells = new ArrayList<>();
+        for (int c = 0; c < casters.size(); c++) {
+            for (int t = 0; t < targets.size(); t++) {
+                int[] row = damageBySpell[c * targetCapacity + t];
+                if (row == null) continue;
+                for (int s = 0; s < row.length; s++) {
+                    if (row[s] != 0) cells.add(new int[]{c, t, s, row[s]});
+                }
+            }
+        }
+        return cells;
+    }
+
+    public synchronized void clear() {
+        casters.clear();
+        targets.clear();
+        spells.clear();
+        Arrays.fill(damageBySpell, null);
+        Arrays.fill(pairTotals, 0);
+    }
+
+    private int pairIndex(String caster, String target) {
+        int c = casters.idOf(caster);
+        int t = targets.idOf(target);
+        return c == IdInterner.NONE || t == IdInterner.NONE ? -1 : c * targetCapacity + t;
+    }
+
+    private void ensureCapacity(int caster, int target) {
+        if (caster < casterCapacity && target < targetCapacity) return;
+        int newCasters = caster < casterCapacity ? casterCapacity : Math.max(casterCapacity * 2, caster + 1);
+        int newTargets = target < targetCapacity ? targetCapacity : Math.max(targetCapacity * 2, target + 1);
+        int[][] newDamage = new int[newCasters * newTargets][];
+        int[] newTotals = new int[newCasters * newTargets];
+        for (int c = 0; c < casterCapacity; c++) {
+            System.arraycopy(damageBySpell, c * targetCapacity, newDamage, c * newTargets, targetCapacity);
+            System.arraycopy(pairTotals, c * targetCapacity, newTotals, c * newTargets, targetCapacity);
+        }
+        casterCapacity = newCasters;
+        targetCapacity = newTargets;
+        damageBySpell = newDamage;
+        pairTotals = newTotals;
+    }
+
+    private static Map<String, Integer> sortedByValue(List<Map.Entry<String, Integer>> entries) {
+        entries.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        Map<String, Integer> out = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> e : entries) out.put(e.getKey(), e.getValue());
+        return out;
+    }
+}
@@ -0,0 +1,195 @@
+package com.wakfu.domain.model;
+
+/**
+ * Dégâts d'un joueur dans le temps, rangés par seconde de log dans des tampons circulaires de
+ * taille fixe : un niveau fin (1 s sur 10 min) et un niveau réduit (10 s sur 1 h). Chaque case
+ * garde aussi le cumul depuis le début du combat, si bien qu'une fenêtre glissante, un pic de
+ * burst ou les dégâts d'un tour se lisent par simple différence de cumuls, sans parcourir les coups.
+ *
+ * <p>Les heures sont en ms sur l'axe continu du combat ({@link FightModel#toLogTime(long)}).
+ * Un coup arrivé en retard (émis au lancer suivant) est rangé dans sa seconde d'origine ;
+ * au-delà de la fenêtre du niveau, il ne compte plus que dans le total.</p>
+ */
+public class DpsTimeSeries {
+
+    // Fenêtre du pic de burst, en secondes
+    public static final int BURST_WINDOW_S = 5;
+
+    private static final int FINE_BUCKET_MS = 1_000;
+    private static final int FINE_SIZE = 600;
+    private static final int COARSE_BUCKET_MS = 10_000;
+    private static final int COARSE_SIZE = 360;
+
+    private final Ring fine = new Ring(FINE_BUCKET_MS, FINE_SIZE);
+    private final Ring coarse = new Ring(COARSE_BUCKET_MS, COARSE_SIZE);
+
+    private long firstMillis = Long.MIN_VALUE;
+    private long total = 0;
+    private double peakBurstDps = 0;
+
+    // Tour en cours et dernier tour terminé (MIN_VALUE = aucun)
+    private long turnStartMillis = Long.MIN_VALUE;
+    private long lastTurnStart = Long.MIN_VALUE;
+    private long lastTurnEnd = Long.MIN_VALUE;
+
+    public synchronized void add(long millis, int value) {
+        if (firstMillis == Long.MIN_VALUE || millis < firstMillis) firstMillis = millis;
+        total += value;
+        long bucket = fine.bucketOf(millis);
+        fine.add(bucket, value);
+        coarse.add(coarse.bucketOf(millis), value);
+        updateBurst(bucket);
+    }
+
+    /**
+     * DPS sur les {@code windowSeconds} dernières secondes avant {@code nowMillis}, ramené à la
+     * durée écoulée depuis le premier coup si le combat est plus court que la fenêtre.
+     */
+    public synchronized double getRollingDps(long nowMillis, int windowSeconds) {
+        if (firstMillis == Long.MIN_VALUE || windowSeconds <= 0) return 0.0;
+        long elapsed = fine.bucketOf(nowMillis) - fine.bucketOf(firstMillis) + 1;
+        long window = Math.max(1, Math.min(windowSeconds, elapsed));
+        if (window < FINE_SIZE) {
+            long now = fine.bucketOf(nowMillis);
+            return (double) fine.sum(now - window, now) / window;
+        }
+        long now = coarse.bucketOf(nowMillis);
+        long buckets = Math.min(COARSE_SIZE - 1, (window * FINE_BUCKET_MS + COARSE_BUCKET_MS - 1) / COARSE_BUCKET_MS);
+        return (double) coarse.sum(now - buckets, now) * FINE_BUCKET_MS / (buckets * COARSE_BUCKET_MS);
+    }
+
+    /**
+     * Meilleur DPS sur {@value #BURST_WINDOW_S} secondes consécutives depuis le début du combat.
+     */
+    public synchronized double getPeakBurstDps() {
+        return peakBurstDps;
+    }
+
+    /**
+     * Dégâts entre deux heures, secondes de début et de fin comprises (niveau réduit si la
+     * période est sortie du niveau fin).
+     */
+    public synchronized long getDamageBetween(long fromMillis, long toMillis) {
+        if (toMillis < fromMillis) return 0;
+        long from = fine.bucketOf(fromMillis);
+        if (fine.retains(from)) return fine.sum(from - 1, fine.bucketOf(toMillis));
+        return coarse.sum(coarse.bucketOf(fromMillis) - 1, coarse.bucketOf(toMillis));
+    }
+
+    public synchronized void startTurn(long millis) {
+        turnStartMillis = millis;
+    }
+
+    public synchronized void endTurn(long millis) {
+        if (turnStartMillis == Long.MIN_VALUE) return;
+        lastTurnStart = turnStartMillis;
+        lastTurnEnd = Math.max(millis, turnStartMillis);
+        turnStartMillis = Long.MIN_VALUE;
+    }
+
+    /**
+     * DPS du dernier tour terminé ; les coups émis après la fin du tour mais datés dedans
+     * sont comptés.
+     */
+    public synchronized double getLastTurnDps() {
+        if (lastTurnStart == Long.MIN_VALUE) return 0.0;
+        long seconds = fine.bucketOf(lastTurnEnd) - fine.bucketOf(lastTurnStart) + 1;
+        return (double) getDamageBetween(lastTurnStart, lastTurnEnd) / seconds;
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    /**
+     * Copie les dégâts par seconde des {@code out.length} dernières secondes jusqu'à
+     * {@code nowMillis} (la plus ancienne en tête), pour une courbe.
+     */
+    public synchronized void copyRecent(long nowMillis, int[] out) {
+        long now = fine.bucketOf(nowMillis);
+        long first = now - out.length + 1;
+        for (int i = 0; i < out.length; i++) out[i] = fine.valueAt(first + i);
+    }
+
+    private void updateBurst(long bucket) {
+        // Seules les fenêtres contenant la seconde touchée et déjà closes par la tête changent
+        long last = Math.min(fine.head, bucket + BURST_WINDOW_S - 1);
+        for (long end = bucket; end <= last; end++) {
+            double dps = (double) fine.sum(end - BURST_WINDOW_S, end) / BURST_WINDOW_S;
+            if (dps > peakBurstDps) peakBurstDps = dps;
+        }
+    }
+
+    /**
+     * Tampon circulaire de cases de durée fixe. {@code cum[i]} est le cumul des dégâts jusqu'à
+     * la fin de la case, {@code head} la case la plus récente.
+     */
+    private static final class Ring {
+        private final int bucketMillis;
+        private final int size;
+        private final int[] values;
+        private final long[] cum;
+        private long head = Long.MIN_VALUE;
+
+        Ring(int bucketMillis, int size) {
+            this.bucketMillis = bucketMillis;
+            this.size = size;
+            this.values = new int[size];
+            this.cum = new long[size];
+        }
+
+        long bucketOf(long millis) {
+            return Math.floorDiv(millis, bucketMillis);
+        }
+
+        boolean retains(long bucket) {
+            return head != Long.MIN_VALUE && bucket > head - size;
+        }
+
+        void add(long bucket, int value) {
+            if (head == Long.MIN_VALUE) {
+                head = bucket;
+            } else if (bucket > head) {
+                advance(bucket);
+            } else if (!retains(bucket)) {
+                // Trop ancien pour ce niveau : décale seulement la base des cumuls
+                for (int i = 0; i < size; i++) cum[i] += value;
+                return;
+            }
+            values[slot(bucket)] += value;
+            for (long b = bucket; b <= head; b++) cum[slot(b)] += value;
+        }
+
+        private void advance(long bucket) {
+            long carry = cum[slot(head)];
+            long from = Math.max(head + 1, bucket - size + 1);
+            for (long b = from; b <= bucket; b++) {
+                values[slot(b)] = 0;
+                cum[slot(b)] = carry;
+            }
+            head = bucket;
+        }
+
+        /** Cumul jusqu'à la fin de la case {@code bucket}. */
+        long cumAt(long bucket) {
+            if (head == Long.MIN_VALUE) return 0;
+            if (bucket >= head) return cum[slot(head)];
+            long oldest = head - size + 1;
+            if (bucket < oldest) return cum[slot(oldest)] - values[slot(oldest)];
+            return cum[slot(bucket)];
+        }
+
+        /** Dégâts des cases {@code (from, to]}. */
+        long sum(long from, long to) {
+            return to <= from ? 0 : cumAt(to) - cumAt(from);
+        }
+
+        int valueAt(long bucket) {
+            return retains(bucket) && bucket <= head ? values[slot(bucket)] : 0;
+        }
+
+        private int slot(long bucket) {
+            return (int) Math.floorMod(bucket, (long) size);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.wakfu.domain.model;
+
+import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.event.EventType;
+
+/**
+ * Changement élémentaire du combat courant, émis par {@link FightModel} et l'EventProcessor
+ * ({@link FightModel#addChangeListener}) : chaque événement ne porte que ce qui a bougé, si
+ * bien qu'un abonné peut tenir ses propres totaux à jour sans relire le modèle.
+ *
+ * <p>Les événements sont émis sur le thread de lecture des logs, avant la notification
+ * globale du modèle ({@link FightModel#notifyListeners()}).</p>
+ */
+public sealed interface FightChange {
+
+    /**
+     * Modèle remis à zéro : les totaux tenus par les abonnés repartent de zéro.
+     */
+    record FightReset() implements FightChange {}
+
+    /**
+     * Nouveau combat, émis après {@link FightReset} une fois son id connu.
+     */
+    record FightStarted(long fightId) implements FightChange {}
+
+    /**
+     * Fin du combat, après son éventuelle sauvegarde dans l'historique.
+     */
+    record FightEnded(long fightId) implements FightChange {}
+
+    record RoundStarted(int round) implements FightChange {}
+
+    /**
+     * Début ({@code started}) ou fin du tour d'un joueur.
+     */
+    record TurnChanged(String player, boolean started) implements FightChange {}
+
+    /**
+     * Total d'un joueur pour un type ({@link EventType#DAMAGE}, {@link EventType#BONUS_DAMAGE},
+     * {@link EventType#HEAL}, {@link EventType#SHIELD} ou {@link EventType#DAMAGE_TAKEN}).
+     *
+     * @param delta montant ajouté par cet événement
+     * @param total nouveau total du joueur pour ce type
+     */
+    record PlayerStatChanged(String player, EventType type, int delta, int total) implements FightChange {}
+
+    /**
+     * Ligne d'un sort (ou d'un effet de dégâts bonus) d'un joueur.
+     *
+     * @param round numéro du round en cours (0 si aucun)
+     */
+    record SpellRowChanged(String player, String spell, EventType type, Element element,
+                           int delta, int round) implements FightChange {}
+}
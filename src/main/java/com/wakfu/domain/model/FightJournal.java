@@ -0,0 +1,207 @@
+package com.wakfu.domain.model;
+
+import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.event.EventType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Journal des événements d'un combat, en ajout seul, rangé en colonnes de types primitifs
+ * (heure, type, lanceur, cible, sort, valeur, élément, lancer, round) : chaque coup appliqué
+ * au modèle y reste, pour pouvoir ré-agréger n'importe quelle vue après coup.
+ *
+ * <p>Les noms sont des ids denses ({@link IdInterner}), lanceurs et cibles partageant la même
+ * table. Les colonnes ne sont jamais modifiées sous la taille déjà publiée et sont recopiées
+ * pour grandir : un {@link Columns} obtenu par {@link #snapshot()} reste donc valable pendant
+ * que le parseur continue d'écrire.</p>
+ *
+ * <p>{@link #dropRoundsBefore(int)} retire les plus anciennes lignes (rounds compactés par
+ * {@link FightModel}) : {@link Columns#offset()} compte alors les lignes retirées, et un lecteur
+ * incrémental suit sa position sur {@link Columns#total()} plutôt que sur la taille.</p>
+ */
+public class FightJournal {
+
+    public static final int NO_ID = IdInterner.NONE;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final IdInterner fighters = new IdInterner();
+    private final IdInterner spells = new IdInterner();
+
+    private int size = 0;
+    // Lignes retirées en tête depuis le début du combat
+    private int offset = 0;
+    // Incrémenté à chaque remise à zéro (nouveau combat)
+    private int generation = 0;
+    private long[] time;
+    private byte[] kind;
+    private int[] caster;
+    private int[] target;
+    private int[] spell;
+    private int[] value;
+    private byte[] element;
+    private int[] cast;
+    private int[] round;
+
+    // Les événements d'un même lancer arrivent d'un bloc : un compteur suffit à les numéroter
+    private String lastCastId;
+    private int castSeq = NO_ID;
+
+    public FightJournal() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Ajoute un événement.
+     *
+     * @param millis heure de log sur l'axe continu du combat ({@link FightModel#toLogTime(long)})
+     * @param casterName lanceur, ou null si inconnu
+     * @param castId identifiant du lancer d'origine, ou null
+     */
+    public synchronized void append(long millis, EventType type, String casterName, String targetName,
+                                    String spellName, int amount, Element elem, String castId, int roundNumber) {
+        if (size == time.length) grow();
+        int i = size;
+        time[i] = millis;
+        kind[i] = (byte) type.ordinal();
+        caster[i] = casterName != null ? fighters.intern(casterName) : NO_ID;
+        target[i] = targetName != null ? fighters.intern(targetName) : NO_ID;
+        spell[i] = spellName != null ? spells.intern(spellName) : NO_ID;
+        value[i] = amount;
+        element[i] = (byte) (elem != null ? elem : Element.INCONNU).ordinal();
+        cast[i] = castIndex(castId);
+        round[i] = roundNumber;
+        size = i + 1;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Retire les lignes des rounds antérieurs à {@code firstRound} (elles sont en tête, le
+     * journal étant écrit dans l'ordre des rounds). Les colonnes restantes sont recopiées dans
+     * de nouveaux tableaux, à la taille du contenu : les vues déjà distribuées restent valables.
+     */
+    public synchronized void dropRoundsBefore(int firstRound) {
+        int dropped = 0;
+        while (dropped < size && round[dropped] < firstRound) dropped++;
+        if (dropped == 0) return;
+        int kept = size - dropped;
+        int capacity = Math.max(INITIAL_CAPACITY, kept * 2);
+        time = Arrays.copyOfRange(time, dropped, dropped + capacity);
+        kind = Arrays.copyOfRange(kind, dropped, dropped + capacity);
+        caster = Arrays.copyOfRange(caster, dropped, dropped + capacity);
+        target = Arrays.copyOfRange(target, dropped, dropped + capacity);
+        spell = Arrays.copyOfRange(spell, dropped, dropped + capacity);
+        value = Arrays.copyOfRange(value, dropped, dropped + capacity);
+        element = Arrays.copyOfRange(element, dropped, dropped + capacity);
+        cast = Arrays.copyOfRange(cast, dropped, dropped + capacity);
+        round = Arrays.copyOfRange(round, dropped, dropped + capacity);
+        size = kept;
+        offset += dropped;
+    }
+
+    /**
+     * Numéro du contenu courant : change à chaque {@link #clear()}, pour qu'un lecteur
+     * incrémental sache qu'il doit repartir de zéro.
+     */
+    public synchronized int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Vue figée des colonnes : seuls les {@code size} premiers éléments sont significatifs.
+     */
+    public synchronized Columns snapshot() {
+        return new Columns(size, time, kind, caster, target, spell, value, element, cast, round,
+                List.copyOf(fighters.getNames()), List.copyOf(spells.getNames()), offset);
+    }
+
+    public synchronized void clear() {
+        fighters.clear();
+        spells.clear();
+        lastCastId = null;
+        castSeq = NO_ID;
+        // Nouveaux tableaux : les vues déjà distribuées ne doivent pas être réécrites
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+        offset = 0;
+        generation++;
+    }
+
+    private int castIndex(String castId) {
+        if (castId == null) return NO_ID;
+        if (!castId.equals(lastCastId)) {
+            lastCastId = castId;
+            castSeq++;
+        }
+        return castSeq;
+    }
+
+    private void allocate(int capacity) {
+        time = new long[capacity];
+        kind = new byte[capacity];
+        caster = new int[capacity];
+        target = new int[capacity];
+        spell = new int[capacity];
+        value = new int[capacity];
+        element = new byte[capacity];
+        cast = new int[capacity];
+        round = new int[capacity];
+    }
+
+    private void grow() {
+        int capacity = time.length * 2;
+        time = Arrays.copyOf(time, capacity);
+        kind = Arrays.copyOf(kind, capacity);
+        caster = Arrays.copyOf(caster, capacity);
+        target = Arrays.copyOf(target, capacity);
+        spell = Arrays.copyOf(spell, capacity);
+        value = Arrays.copyOf(value, capacity);
+        element = Arrays.copyOf(element, capacity);
+        cast = Arrays.copyOf(cast, capacity);
+        round = Arrays.copyOf(round, capacity);
+    }
+
+    /**
+     * Colonnes d'un journal : {@code kind} est l'ordinal d'{@link EventType}, {@code element}
+     * celui d'{@link Element}, lanceur / cible / sort des ids dans {@code fighters} / {@code spells}
+     * ({@link #NO_ID} si absent). {@code offset} est le nombre de lignes retirées avant la
+     * première ({@link #dropRoundsBefore(int)}).
+     */
+    public record Columns(int size, long[] time, byte[] kind, int[] caster, int[] target, int[] spell,
+                          int[] value, byte[] element, int[] cast, int[] round,
+                          List<String> fighters, List<String> spells, int offset) {
+
+        public static Columns empty() {
+            return new FightJournal().snapshot();
+        }
+
+        /**
+         * Nombre de lignes écrites depuis le début du combat, retirées comprises.
+         */
+        public int total() {
+            return offset + size;
+        }
+
+        public String fighterName(int id) {
+            return id == NO_ID ? null : fighters.get(id);
+        }
+
+        public String spellName(int id) {
+            return id == NO_ID ? null : spells.get(id);
+        }
+
+        public int fighterId(String name) {
+            int id = fighters.indexOf(name);
+            return id < 0 ? NO_ID : id;
+        }
+
+        public int spellId(String name) {
+            int id = spells.indexOf(name);
+            return id < 0 ? NO_ID : id;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.wakfu.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.wakfu.domain.actors.Player;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 /**
@@ -11,39 +16,65 @@ import java.util.function.Consumer;
  */
 public class FightModel {
 
+    private static final Logger LOG = Log.get("FightModel");
+
+    // Id du combat dans le log du jeu (0 si inconnu)
+    private long fightId;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
 
     private final Map<String, PlayerStats> statsByPlayer = new HashMap<>();
+    // Dégâts subis par joueur et infligés par ennemi, par nom de combattant
+    private final Map<String, FighterCounters> countersByFighter = new HashMap<>();
+    // Dégâts par lanceur, cible et sort
+    private final DamageMatrix damageMatrix = new DamageMatrix();
+    // Événements appliqués au modèle, en colonnes (non sérialisé en JSON) ; seulement ceux des
+    // rounds détaillés quand ils sont bornés
+    private final FightJournal journal = new FightJournal();
+    // Dégâts par seconde de log, par joueur (non sérialisés : lus via getDpsSeries)
+    private final Map<String, DpsTimeSeries> dpsByPlayer = new ConcurrentHashMap<>();
+    // Première et dernière heures de log du combat, sur l'axe continu (MIN_VALUE = aucune)
+    private long firstLogTime = Long.MIN_VALUE;
+    private long lastLogTime = Long.MIN_VALUE;
     private final List<RoundModel> rounds = new ArrayList<>();
+    // Rounds sortis de la fenêtre de détail, réduits à leurs totaux
+    private final RoundSummary compactedRounds = new RoundSummary();
+    // Nombre de rounds gardés en détail (0 = illimité)
+    private int roundDetailLimit = 0;
 
     private int currentRound = 1;
     private Player currentPlayerTurn;
 
     // Listeners pour notifier quand le modèle change
     private transient final List<Consumer<FightModel>> listeners = new ArrayList<>();
+    // Abonnés aux changements élémentaires (voir FightChange)
+    private transient final List<Consumer<? super FightChange>> changeListeners = new CopyOnWriteArrayList<>();
 
     public void startRound() {
         rounds.add(new RoundModel(currentRound++));
-        System.out.println("[FightModel] 🟣 Round started");
+        compactRounds();
+        LOG.debug("🟣 Round started");
+        if (hasChangeListeners()) fireChange(new FightChange.RoundStarted(currentRound - 1));
         notifyListeners();
     }
 
     public void endRound() {
-        System.out.println("[FightModel] 🔵 Round ended");
+        LOG.debug("🔵 Round ended");
         notifyListeners();
     }
 
     public void startTurn(Player player) {
         currentPlayerTurn = player;
-        System.out.println("[FightModel] ▶ Début du tour : " + player.getName());
+        LOG.trace("▶ Début du tour : %s", player.getName());
+        if (hasChangeListeners()) fireChange(new FightChange.TurnChanged(player.getName(), true));
         notifyListeners();
     }
 
     public void endTurn(Player player) {
         if (currentPlayerTurn != null && currentPlayerTurn.equals(player)) {
-            System.out.println("[FightModel] ⏹ Fin du tour : " + player.getName());
+            LOG.trace("⏹ Fin du tour : %s", player.getName());
             currentPlayerTurn = null;
+            if (hasChangeListeners()) fireChange(new FightChange.TurnChanged(player.getName(), false));
             notifyListeners();
         }
     }
@@ -52,6 +83,94 @@ public class FightModel {
         return statsByPlayer;
     }
 
+    /**
+     * Stats d'un joueur pour le combat, créées au premier événement. Quand les rounds sont
+     * bornés ({@link #setRoundDetailLimit}), seuls les derniers castIds de chaque sort sont
+     * retenus ; sinon tous, comme auparavant.
+     */
+    public PlayerStats getOrCreatePlayerStats(Player player) {
+        return statsByPlayer.computeIfAbsent(player.getName(), name -> {
+            PlayerStats stats = new PlayerStats(player);
+            if (roundDetailLimit > 0) stats.setCastIdLimit(SpellStats.RECENT_CAST_IDS);
+            return stats;
+        });
+    }
+
+    public Map<String, FighterCounters> getCountersByFighter() {
+        return countersByFighter;
+    }
+
+    public DamageMatrix getDamageMatrix() {
+        return damageMatrix;
+    }
+
+    @JsonIgnore
+    public FightJournal getJournal() {
+        return journal;
+    }
+
+    public FighterCounters getOrCreateCounters(String name, boolean enemy) {
+        return countersByFighter.computeIfAbsent(name, n -> new FighterCounters(n, enemy));
+    }
+
+    /**
+     * Ramène une heure de log (ms depuis minuit) sur l'axe continu du combat, qui peut passer
+     * minuit, et étend la durée connue du combat.
+     */
+    public synchronized long toLogTime(long msOfDay) {
+        if (lastLogTime == Long.MIN_VALUE) {
+            firstLogTime = lastLogTime = msOfDay;
+            return msOfDay;
+        }
+        long time = LogTime.unwrap(msOfDay, lastLogTime);
+        if (time > lastLogTime) lastLogTime = time;
+        if (time < firstLogTime) firstLogTime = time;
+        return time;
+    }
+
+    /**
+     * Range les dégâts d'un joueur dans sa série temporelle, à l'heure de log du coup.
+     */
+    public void recordDamage(String player, long msOfDay, int value) {
+        long time = toLogTime(msOfDay);
+        dpsByPlayer.computeIfAbsent(player, n -> new DpsTimeSeries()).add(time, value);
+    }
+
+    public void startTurnSeries(String player, long msOfDay) {
+        long time = toLogTime(msOfDay);
+        dpsByPlayer.computeIfAbsent(player, n -> new DpsTimeSeries()).startTurn(time);
+    }
+
+    public void endTurnSeries(String player, long msOfDay) {
+        long time = toLogTime(msOfDay);
+        DpsTimeSeries series = dpsByPlayer.get(player);
+        if (series != null) series.endTurn(time);
+    }
+
+    /**
+     * Série de dégâts d'un joueur, ou null s'il n'a encore rien infligé.
+     */
+    public DpsTimeSeries getDpsSeries(String player) {
+        return dpsByPlayer.get(player);
+    }
+
+    /**
+     * Dernière heure de log vue dans le combat, sur l'axe continu (MIN_VALUE = aucune).
+     */
+    @JsonIgnore
+    public synchronized long getLastLogTime() {
+        return lastLogTime;
+    }
+
+    /**
+     * Durée du combat d'après les heures de log (au moins une seconde).
+     */
+    @JsonIgnore
+    public synchronized double getFightSeconds() {
+        if (lastLogTime == Long.MIN_VALUE) return 1.0;
+        return Math.max(1.0, (lastLogTime - firstLogTime) / 1000.0);
+    }
+
     public List<RoundModel> getRounds() {
         return rounds;
     }
@@ -60,15 +179,78 @@ public class FightModel {
         return rounds.isEmpty() ? null : rounds.get(rounds.size() - 1);
     }
 
+    /**
+     * Totaux des rounds les plus anciens, compactés au-delà de {@link #getRoundDetailLimit()}.
+     */
+    public RoundSummary getCompactedRounds() {
+        return compactedRounds;
+    }
+
+    /**
+     * Nombre total de rounds joués, détaillés ou compactés.
+     */
+    public int getRoundCount() {
+        return compactedRounds.getRoundCount() + rounds.size();
+    }
+
+    public int getRoundDetailLimit() {
+        return roundDetailLimit;
+    }
+
+    /**
+     * Limite le nombre de rounds conservés en détail : les plus anciens sont réduits
+     * à leurs totaux pour que la mémoire reste constante quelle que soit la durée du combat.
+     *
+     * <p>Le journal ne garde alors que les événements des rounds détaillés : les requêtes
+     * ({@code JournalQuery}), la timeline et le journal enregistré en fin de combat ne couvrent
+     * que ces rounds. Les totaux du combat (stats des joueurs, matrice, séries de DPS) et ceux
+     * que les lecteurs du journal ont déjà cumulés restent complets.</p>
+     *
+     * @param limit nombre de rounds détaillés (0 = illimité)
+     */
+    public void setRoundDetailLimit(int limit) {
+        this.roundDetailLimit = Math.max(0, limit);
+        compactRounds();
+    }
+
+    private void compactRounds() {
+        if (roundDetailLimit <= 0) return;
+        // Le round courant reste toujours détaillé
+        if (rounds.size() <= Math.max(1, roundDetailLimit)) return;
+        while (rounds.size() > Math.max(1, roundDetailLimit)) {
+            compactedRounds.add(rounds.remove(0));
+        }
+        journal.dropRoundsBefore(rounds.get(0).getRoundNumber());
+    }
+
     public void reset() {
+        fightId = 0;
         statsByPlayer.clear();
+        countersByFighter.clear();
+        damageMatrix.clear();
+        dpsByPlayer.clear();
+        journal.clear();
+        synchronized (this) {
+            firstLogTime = Long.MIN_VALUE;
+            lastLogTime = Long.MIN_VALUE;
+        }
         rounds.clear();
+        compactedRounds.clear();
         currentRound = 1;
         currentPlayerTurn = null;
+        if (hasChangeListeners()) fireChange(new FightChange.FightReset());
         notifyListeners();
     }
 
     // Getters & setters
+    public long getFightId() {
+        return fightId;
+    }
+
+    public void setFightId(long fightId) {
+        this.fightId = fightId;
+    }
+
     public void setStartTime(LocalDateTime startTime) {
         this.startTime = startTime;
         notifyListeners();
@@ -97,12 +279,37 @@ public class FightModel {
         listeners.remove(listener);
     }
 
+    public void addChangeListener(Consumer<? super FightChange> listener) {
+        if (listener != null) changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(Consumer<? super FightChange> listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Vrai si au moins un abonné attend des {@link FightChange} : sinon, inutile de les créer.
+     */
+    public boolean hasChangeListeners() {
+        return !changeListeners.isEmpty();
+    }
+
+    public void fireChange(FightChange change) {
+        for (Consumer<? super FightChange> l : changeListeners) {
+            try {
+                l.accept(change);
+            } catch (Exception e) {
+                LOG.error("Change listener error: %s", e.getMessage());
+            }
+        }
+    }
+
     public void notifyListeners() {
         for (Consumer<FightModel> l : listeners) {
             try {
                 l.accept(this);
             } catch (Exception e) {
-                System.err.println("[FightModel] Listener error: " + e.getMessage());
+                LOG.error("Listener error: %s", e.getMessage());
             }
         }
     }
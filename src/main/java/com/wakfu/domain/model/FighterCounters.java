@@ -0,0 +1,99 @@
+package com.wakfu.domain.model;
+
+import com.wakfu.domain.abilities.Element;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Compteurs compacts d'un combattant côté défense : dégâts subis (joueurs) et dégâts infligés
+ * aux joueurs (ennemis). Un tableau d'entiers par élément, sans map ni objet par coup.
+ */
+public class FighterCounters {
+
+    private static final Element[] ELEMENTS = Element.values();
+
+    private final String name;
+    private final boolean enemy;
+    private final int[] takenByElement = new int[ELEMENTS.length];
+    private final int[] dealtByElement = new int[ELEMENTS.length];
+    private int totalTaken = 0;
+    private int totalDealt = 0;
+    private int hitsTaken = 0;
+    private int hitsDealt = 0;
+
+    public FighterCounters(String name, boolean enemy) {
+        this.name = name;
+        this.enemy = enemy;
+    }
+
+    public void addTaken(Element element, int value) {
+        takenByElement[ordinal(element)] += value;
+        totalTaken += value;
+        hitsTaken++;
+    }
+
+    public void addDealt(Element element, int value) {
+        dealtByElement[ordinal(element)] += value;
+        totalDealt += value;
+        hitsDealt++;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnemy() {
+        return enemy;
+    }
+
+    public int getTotalTaken() {
+        return totalTaken;
+    }
+
+    public int getTotalDealt() {
+        return totalDealt;
+    }
+
+    public int getHitsTaken() {
+        return hitsTaken;
+    }
+
+    public int getHitsDealt() {
+        return hitsDealt;
+    }
+
+    public int getTaken(Element element) {
+        return takenByElement[ordinal(element)];
+    }
+
+    public int getDealt(Element element) {
+        return dealtByElement[ordinal(element)];
+    }
+
+    /**
+     * Dégâts subis par élément (éléments non nuls uniquement).
+     */
+    public Map<Element, Integer> getTakenByElement() {
+        return toMap(takenByElement);
+    }
+
+    /**
+     * Dégâts infligés par élément (éléments non nuls uniquement).
+     */
+    public Map<Element, Integer> getDealtByElement() {
+        return toMap(dealtByElement);
+    }
+
+    private static int ordinal(Element element) {
+        return (element != null ? element : Element.INCONNU).ordinal();
+    }
+
+    private static Map<Element, Integer> toMap(int[] values) {
+        Map<Element, Integer> map = new EnumMap<>(Element.class);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != 0) map.put(ELEMENTS[i], values[i]);
+        }
+        return map;
+    }
+}
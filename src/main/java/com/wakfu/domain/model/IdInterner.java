@@ -0,0 +1,53 @@
+package com.wakfu.domain.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Attribue à chaque nom (combattant, sort) un id entier dense, dans l'ordre d'apparition,
+ * pour indexer des tableaux plutôt que des maps par nom.
+ */
+public class IdInterner {
+
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    public int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        int next = names.size();
+        ids.put(name, next);
+        names.add(name);
+        return next;
+    }
+
+    /**
+     * Id déjà attribué à ce nom, ou {@link #NONE}.
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : NONE;
+    }
+
+    public String nameOf(int id) {
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public List<String> getNames() {
+        return Collections.unmodifiableList(names);
+    }
+
+    public void clear() {
+        ids.clear();
+        names.clear();
+    }
+}
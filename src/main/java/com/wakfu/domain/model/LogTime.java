@@ -0,0 +1,24 @@
+package com.wakfu.domain.model;
+
+/**
+ * Heures de log du jeu : les lignes ne portent que l'heure du jour (ms depuis minuit).
+ * Pour comparer ou soustraire des heures de part et d'autre de minuit, on les ramène sur
+ * un axe continu à partir d'une heure de référence déjà vue.
+ */
+public final class LogTime {
+
+    public static final long DAY_MS = 86_400_000L;
+
+    private LogTime() {}
+
+    /**
+     * Ramène une heure de log (ms depuis minuit) sur l'axe continu le plus proche de
+     * {@code reference}, pour qu'un passage à minuit ne remette pas les lignes en tête.
+     */
+    public static long unwrap(long msOfDay, long reference) {
+        long key = msOfDay + Math.floorDiv(reference, DAY_MS) * DAY_MS;
+        if (key - reference > DAY_MS / 2) key -= DAY_MS;
+        else if (reference - key > DAY_MS / 2) key += DAY_MS;
+        return key;
+    }
+}
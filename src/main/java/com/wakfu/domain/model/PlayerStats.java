@@ -14,23 +14,35 @@ public class PlayerStats {
     private final Player player;
     private final Map<String, SpellStats> spells = new LinkedHashMap<>();
     private final Map<String, BonusEffectStats> bonusEffects = new LinkedHashMap<>();
+    // Soins et armures par sort (les montants sont rangés par élément comme les dégâts)
+    private final Map<String, SpellStats> healSpells = new LinkedHashMap<>();
+    private final Map<String, SpellStats> shieldSpells = new LinkedHashMap<>();
 
     private int totalDamage = 0;
     private int totalBonusDamage = 0;
     private int totalHeal = 0;
     private int totalShield = 0;
+    // Voir SpellStats#SpellStats(String, int)
+    private int castIdLimit = 0;
 
     public PlayerStats(Player player) {
         this.player = player;
     }
 
+    /**
+     * Borne la mémoire de déduplication des casts des sorts créés ensuite (0 = illimitée).
+     */
+    public void setCastIdLimit(int castIdLimit) {
+        this.castIdLimit = castIdLimit;
+    }
+
     public void addDamage(CombatEvent event) {
         int val = event.getValue();
         Element element = event.getElement();
         totalDamage += val;
 
         spells
-            .computeIfAbsent(event.getAbility().getName(), SpellStats::new)
+            .computeIfAbsent(event.getAbility().getName(), name -> new SpellStats(name, castIdLimit))
             .addDamage(element, val, event.getBaseCost(), event.getPaRegained(), event.getCastId());
     }
 
@@ -44,10 +56,19 @@ public class PlayerStats {
 
     public void addHeal(CombatEvent event) {
         totalHeal += event.getValue();
+        addToSpell(healSpells, event);
     }
 
     public void addShield(CombatEvent event) {
         totalShield += event.getValue();
+        addToSpell(shieldSpells, event);
+    }
+
+    private void addToSpell(Map<String, SpellStats> bySpell, CombatEvent event) {
+        String spellName = event.getAbility() != null ? event.getAbility().getName() : "Inconnu";
+        bySpell
+            .computeIfAbsent(spellName, name -> new SpellStats(name, castIdLimit))
+            .addDamage(event.getElement(), event.getValue(), event.getBaseCost(), event.getPaRegained(), event.getCastId());
     }
 
     public int getTotalDamage() {
@@ -58,6 +79,14 @@ public class PlayerStats {
         return Collections.unmodifiableMap(spells);
     }
 
+    public Map<String, SpellStats> getHealSpells() {
+        return Collections.unmodifiableMap(healSpells);
+    }
+
+    public Map<String, SpellStats> getShieldSpells() {
+        return Collections.unmodifiableMap(shieldSpells);
+    }
+
     public Map<String, BonusEffectStats> getBonusEffects() {
         return Collections.unmodifiableMap(bonusEffects);
     }
@@ -66,6 +95,13 @@ public class PlayerStats {
         return player;
     }
 
+    /**
+     * Id de combattant du joueur (lu dans le log), clé stable d'un personnage d'un combat à l'autre.
+     */
+    public long getPlayerId() {
+        return player != null ? player.getId() : -1;
+    }
+
     public int getTotalBonusDamage() {
         return totalBonusDamage;
     }
@@ -0,0 +1,115 @@
+package com.wakfu.domain.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Totaux cumulés des rounds compactés d'un combat (rounds sortis de la fenêtre de détail).
+ * Ne conserve que des vecteurs de totaux par joueur et par sort : sa taille ne dépend que
+ * du nombre de joueurs et de sorts, pas du nombre de rounds.
+ */
+public class RoundSummary {
+
+    private int firstRound = -1;
+    private int lastRound = -1;
+    private int roundCount = 0;
+    private final Map<String, PlayerTotals> totalsByPlayer = new LinkedHashMap<>();
+
+    /**
+     * Ajoute les totaux d'un round détaillé au résumé.
+     */
+    public void add(RoundModel round) {
+        if (firstRound < 0) firstRound = round.getRoundNumber();
+        lastRound = round.getRoundNumber();
+        roundCount++;
+
+        for (Map.Entry<String, PlayerStats> e : round.getPlayerStatsByRound().entrySet()) {
+            PlayerStats stats = e.getValue();
+            PlayerTotals totals = totalsByPlayer.computeIfAbsent(e.getKey(), n -> new PlayerTotals());
+            totals.damage += stats.getTotalDamage();
+            totals.bonusDamage += stats.getTotalBonusDamage();
+            totals.heal += stats.getTotalHeal();
+            totals.shield += stats.getTotalShield();
+            stats.getSpells().forEach((name, spell) -> {
+                totals.damageBySpell.merge(name, spell.getTotal(), Integer::sum);
+                totals.castsBySpell.merge(name, spell.getCastCount(), Integer::sum);
+            });
+            stats.getHealSpells().forEach((name, spell) -> totals.healBySpell.merge(name, spell.getTotal(), Integer::sum));
+            stats.getShieldSpells().forEach((name, spell) -> totals.shieldBySpell.merge(name, spell.getTotal(), Integer::sum));
+        }
+    }
+
+    public void clear() {
+        firstRound = -1;
+        lastRound = -1;
+        roundCount = 0;
+        totalsByPlayer.clear();
+    }
+
+    public boolean isEmpty() {
+        return roundCount == 0;
+    }
+
+    public int getFirstRound() {
+        return firstRound;
+    }
+
+    public int getLastRound() {
+        return lastRound;
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    public Map<String, PlayerTotals> getTotalsByPlayer() {
+        return Collections.unmodifiableMap(totalsByPlayer);
+    }
+
+    /**
+     * Totaux d'un joueur sur les rounds compactés.
+     */
+    public static class PlayerTotals {
+        private int damage;
+        private int bonusDamage;
+        private int heal;
+        private int shield;
+        private final Map<String, Integer> damageBySpell = new LinkedHashMap<>();
+        private final Map<String, Integer> castsBySpell = new LinkedHashMap<>();
+        private final Map<String, Integer> healBySpell = new LinkedHashMap<>();
+        private final Map<String, Integer> shieldBySpell = new LinkedHashMap<>();
+
+        public int getDamage() {
+            return damage;
+        }
+
+        public int getBonusDamage() {
+            return bonusDamage;
+        }
+
+        public int getHeal() {
+            return heal;
+        }
+
+        public int getShield() {
+            return shield;
+        }
+
+        public Map<String, Integer> getDamageBySpell() {
+            return Collections.unmodifiableMap(damageBySpell);
+        }
+
+        public Map<String, Integer> getCastsBySpell() {
+            return Collections.unmodifiableMap(castsBySpell);
+        }
+
+        public Map<String, Integer> getHealBySpell() {
+            return Collections.unmodifiableMap(healBySpell);
+        }
+
+        public Map<String, Integer> getShieldBySpell() {
+            return Collections.unmodifiableMap(shieldBySpell);
+        }
+    }
+}
@@ -3,20 +3,33 @@ package com.wakfu.domain.model;
 import com.wakfu.domain.abilities.Element;
 
 import java.util.EnumMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 public class SpellStats {
+    // Les événements d'un même cast arrivent groupés : en mémoire bornée, seuls les derniers castIds sont retenus
+    public static final int RECENT_CAST_IDS = 16;
+
     private final String name;
     private final Map<Element, Integer> damageByElement = new EnumMap<>(Element.class);
     private int castCount = 0;
     private Integer baseCost = null;  // Coût de base du sort (depuis SortsPA.json)
     private int totalPARegained = 0;  // Total des PA regagnés pour ce sort
-    private final Set<String> processedCastIds = new HashSet<>();  // Pour éviter de compter plusieurs fois le même cast
+    private final Set<String> processedCastIds = new LinkedHashSet<>();  // Pour éviter de compter plusieurs fois le même cast
+    private final int castIdLimit;  // Nombre de castIds retenus (0 = tous)
 
     public SpellStats(String name) {
+        this(name, 0);
+    }
+
+    /**
+     * @param castIdLimit nombre de castIds retenus pour la déduplication (0 = illimité)
+     */
+    public SpellStats(String name, int castIdLimit) {
         this.name = name;
+        this.castIdLimit = Math.max(0, castIdLimit);
     }
 
     public void addDamage(Element element, int value) {
@@ -34,6 +47,11 @@ public class SpellStats {
         if (castId != null && !processedCastIds.contains(castId)) {
             castCount++;
             processedCastIds.add(castId);
+            if (castIdLimit > 0 && processedCastIds.size() > castIdLimit) {
+                Iterator<String> oldest = processedCastIds.iterator();
+                oldest.next();
+                oldest.remove();
+            }
 
             // Enregistrer le baseCost si fourni (normalement constant pour un sort)
             if (baseCost != null && this.baseCost == null) {
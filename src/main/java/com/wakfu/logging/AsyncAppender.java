@@ -0,0 +1,110 @@
+package com.wakfu.logging;
+
+import com.wakfu.metrics.Counter;
+import com.wakfu.metrics.Metrics;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Appender asynchrone : les threads appelants déposent les messages dans un tampon circulaire
+ * borné (sans jamais bloquer, un message est abandonné si le tampon est plein) et un thread
+ * dédié les formate puis les écrit par lots sur la console, avec un seul flush par lot.
+ */
+final class AsyncAppender {
+
+    static final int DEFAULT_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final Counter DROPPED = Metrics.counter("logging.dropped");
+
+    private final ArrayBlockingQueue<LogRecord> ring;
+    private final PrintStream out;
+    private final PrintStream err;
+    // Messages acceptés pas encore écrits : dans le tampon ou dans le lot en cours d'écriture
+    private final AtomicInteger unwritten = new AtomicInteger();
+
+    AsyncAppender(int capacity) {
+        this(capacity,
+                new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)), false, StandardCharsets.UTF_8),
+                new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.err)), false, StandardCharsets.UTF_8));
+    }
+
+    AsyncAppender(int capacity, PrintStream out, PrintStream err) {
+        this.ring = new ArrayBlockingQueue<>(capacity);
+        this.out = out;
+        this.err = err;
+
+        Thread writer = new Thread(this::drainLoop, "WakfuLogWriter");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "WakfuLogFlush"));
+    }
+
+    void append(LogRecord record) {
+        unwritten.incrementAndGet();
+        if (!ring.offer(record)) {
+            unwritten.decrementAndGet();
+            DROPPED.inc();
+        }
+    }
+
+    /**
+     * Attend (au plus une seconde) que les messages en attente soient écrits, y compris le lot
+     * que le thread d'écriture a déjà retiré du tampon.
+     */
+    void flush() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (unwritten.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        out.flush();
+        err.flush();
+    }
+
+    private void drainLoop() {
+        List<LogRecord> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(ring.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            ring.drainTo(batch, BATCH_SIZE - 1);
+            for (LogRecord record : batch) write(record);
+            out.flush();
+            err.flush();
+            unwritten.addAndGet(-batch.size());
+            batch.clear();
+        }
+    }
+
+    private void write(LogRecord record) {
+        PrintStream target = record.level.ordinal() >= Level.WARN.ordinal() ? err : out;
+        target.print(TIME_FORMAT.format(Instant.ofEpochMilli(record.timestamp)));
+        target.print(' ');
+        target.print(record.level.name());
+        target.print(" [");
+        target.print(record.logger);
+        target.print("] ");
+        target.println(record.message());
+        if (record.error != null) record.error.printStackTrace(target);
+    }
+}
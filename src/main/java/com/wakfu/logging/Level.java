@@ -0,0 +1,25 @@
+package com.wakfu.logging;
+
+/**
+ * Niveaux de log, du plus verbeux au plus sévère.
+ */
+public enum Level {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /**
+     * Convertit un texte (insensible à la casse) en niveau, ou retourne {@code fallback}.
+     */
+    public static Level parse(String raw, Level fallback) {
+        if (raw == null || raw.isBlank()) return fallback;
+        try {
+            return Level.valueOf(raw.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.wakfu.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Point d'entrée du logging interne : loggers nommés, niveaux configurables et
+ * un appender asynchrone unique. Niveau racine INFO par défaut : les traces du parser
+ * (une par ligne de log) sont en TRACE / DEBUG et donc désactivées.
+ */
+public final class Log {
+
+    private static final Map<String, Logger> LOGGERS = new ConcurrentHashMap<>();
+    private static volatile Level rootLevel = Level.INFO;
+    private static volatile AsyncAppender appender;
+
+    private Log() {}
+
+    public static Logger get(String name) {
+        return LOGGERS.computeIfAbsent(name, Logger::new);
+    }
+
+    public static Level getRootLevel() {
+        return rootLevel;
+    }
+
+    public static void setRootLevel(Level level) {
+        if (level != null) rootLevel = level;
+    }
+
+    /**
+     * Niveau propre à un logger (null = revenir au niveau racine).
+     */
+    public static void setLevel(String name, Level level) {
+        get(name).setLevel(level);
+    }
+
+    /**
+     * Attend que les messages en attente soient écrits (fin d'application, export).
+     */
+    public static void flush() {
+        if (appender != null) appender.flush();
+    }
+
+    static AsyncAppender appender() {
+        AsyncAppender current = appender;
+        if (current == null) {
+            synchronized (Log.class) {
+                current = appender;
+                if (current == null) {
+                    current = new AsyncAppender(AsyncAppender.DEFAULT_CAPACITY);
+                    appender = current;
+                }
+            }
+        }
+        return current;
+    }
+}
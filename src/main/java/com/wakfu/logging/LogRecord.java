@@ -0,0 +1,31 @@
+package com.wakfu.logging;
+
+/**
+ * Message en attente dans l'appender : le formatage n'a lieu que sur le thread d'écriture.
+ */
+final class LogRecord {
+    final long timestamp;
+    final Level level;
+    final String logger;
+    final String format;
+    final Object[] args;
+    final Throwable error;
+
+    LogRecord(long timestamp, Level level, String logger, String format, Object[] args, Throwable error) {
+        this.timestamp = timestamp;
+        this.level = level;
+        this.logger = logger;
+        this.format = format;
+        this.args = args;
+        this.error = error;
+    }
+
+    String message() {
+        if (args == null || args.length == 0) return format;
+        try {
+            return String.format(format, args);
+        } catch (RuntimeException e) {
+            return format;
+        }
+    }
+}
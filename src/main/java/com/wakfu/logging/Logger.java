@@ -0,0 +1,68 @@
+package com.wakfu.logging;
+
+/**
+ * Logger nommé (le nom apparaît entre crochets, ex. "[Parser]").
+ * Les messages sont des formats {@link String#format} : le test de niveau est fait à l'appel,
+ * mais le formatage est différé au thread d'écriture de l'appender. Les arguments doivent donc
+ * être immuables (chaînes, nombres, copies de collections).
+ */
+public final class Logger {
+
+    private final String name;
+    // null = niveau racine de {@link Log}
+    private volatile Level level;
+
+    Logger(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void setLevel(Level level) {
+        this.level = level;
+    }
+
+    public boolean isEnabled(Level target) {
+        Level effective = level != null ? level : Log.getRootLevel();
+        return target.ordinal() >= effective.ordinal();
+    }
+
+    public boolean isTraceEnabled() {
+        return isEnabled(Level.TRACE);
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public void trace(String format, Object... args) {
+        log(Level.TRACE, format, args, null);
+    }
+
+    public void debug(String format, Object... args) {
+        log(Level.DEBUG, format, args, null);
+    }
+
+    public void info(String format, Object... args) {
+        log(Level.INFO, format, args, null);
+    }
+
+    public void warn(String format, Object... args) {
+        log(Level.WARN, format, args, null);
+    }
+
+    public void error(String format, Object... args) {
+        log(Level.ERROR, format, args, null);
+    }
+
+    public void error(String message, Throwable error) {
+        log(Level.ERROR, message, null, error);
+    }
+
+    private void log(Level target, String format, Object[] args, Throwable error) {
+        if (!isEnabled(target)) return;
+        Log.appender().append(new LogRecord(System.currentTimeMillis(), target, name, format, args, error));
+    }
+}
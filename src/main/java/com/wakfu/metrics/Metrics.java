@@ -0,0 +1,116 @@
+package com.wakfu.metrics;
+
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Registre global des métriques internes (compteurs, jauges, histogrammes de latence).
+ * Les composants récupèrent leurs métriques une fois (champs statiques) puis les mettent
+ * à jour sans recherche par nom sur le chemin chaud.
+ * Consultable dans le panneau de diagnostic, ou exportable dans 'wakfu_metrics.txt'.
+ */
+public final class Metrics {
+
+    public static final File DUMP_FILE = new File("wakfu_metrics.txt");
+    private static final Logger LOG = Log.get("Metrics");
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, LongSupplier> GAUGES = new ConcurrentSkipListMap<>();
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentSkipListMap<>();
+
+    // Instant (System.nanoTime) de lecture de la ligne en cours de traitement, par thread
+    private static final ThreadLocal<long[]> CURRENT_LINE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private Metrics() {}
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /**
+     * Déclare (ou remplace) une jauge lue à la demande.
+     */
+    public static void gauge(String name, LongSupplier supplier) {
+        if (supplier != null) GAUGES.put(name, supplier);
+    }
+
+    public static LatencyHistogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    /**
+     * Début (ou fin, avec 0) du traitement d'une ligne de log par le thread courant.
+     */
+    public static void markLineRead(long nanos) {
+        CURRENT_LINE_NANOS.get()[0] = nanos;
+    }
+
+    /**
+     * Instant de lecture de la ligne à l'origine de l'événement que le thread courant traite
+     * (pour un lancer, la ligne de son premier coup), ou 0 hors traitement (thread JavaFX, ...).
+     */
+    public static long currentLineNanos() {
+        return CURRENT_LINE_NANOS.get()[0];
+    }
+
+    /**
+     * Valeurs courantes formatées, triées par nom.
+     */
+    public static Map<String, String> snapshot() {
+        Map<String, String> out = new LinkedHashMap<>();
+        COUNTERS.forEach((name, c) -> out.put(name, String.format(Locale.ROOT, "%,d", c.get())));
+        GAUGES.forEach((name, g) -> {
+            try {
+                out.put(name, String.format(Locale.ROOT, "%,d", g.getAsLong()));
+            } catch (Exception e) {
+                out.put(name, "n/a");
+            }
+        });
+        HISTOGRAMS.forEach((name, h) -> out.put(name, String.format(Locale.ROOT,
+                "n=%,d mean=%s p50=%s p99=%s max=%s", h.getCount(), formatNanos((long) h.getMean()),
+                formatNanos(h.percentile(0.50)), formatNanos(h.percentile(0.99)), formatNanos(h.getMax()))));
+        return out;
+    }
+
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# WakMeter metrics ").append(LocalDateTime.now()).append('\n');
+        snapshot().forEach((name, value) -> sb.append(name).append(" = ").append(value).append('\n'));
+        return sb.toString();
+    }
+
+    public static boolean dumpTo(File file) {
+        try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            writer.print(dump());
+            return true;
+        } catch (IOException e) {
+            LOG.warn("Failed to write %s: %s", file.getAbsolutePath(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Remet à zéro compteurs et histogrammes (les jauges reflètent un état courant).
+     */
+    public static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+        HISTOGRAMS.values().forEach(LatencyHistogram::reset);
+    }
+
+    static String formatNanos(long nanos) {
+        if (nanos < 10_000) return nanos + "ns";
+        if (nanos < 10_000_000) return String.format(Locale.ROOT, "%.1fµs", nanos / 1e3);
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1e6);
+    }
+}
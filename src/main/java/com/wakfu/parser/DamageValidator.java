@@ -4,23 +4,44 @@ import com.wakfu.domain.abilities.Ability;
 import com.wakfu.domain.abilities.Element;
 import com.wakfu.domain.actors.Fighter;
 import com.wakfu.domain.actors.Player;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
 
 import java.util.regex.Matcher;
 
 public class DamageValidator {
 
+    private static final Logger LOG = Log.get("Parser");
+
     public static boolean shouldIgnoreDamage(Fighter caster, Fighter target, String reason) {
         if (caster.getType() != Fighter.FighterType.PLAYER) {
             return true;
         }
 
         if (caster instanceof Player && caster.getName().equals(target.getName())) {
-            System.out.printf("[Parser] IGNORED (%s): %s → %s%n", reason, caster.getName(), target.getName());
+            LOG.trace("IGNORED (%s): %s → %s", reason, caster.getName(), target.getName());
             return true;
         }
 
         if (caster instanceof Player && target instanceof Player && !caster.getName().equals(target.getName())) {
-            System.out.printf("[Parser] IGNORED (%s): %s → %s%n", reason, caster.getName(), target.getName());
+            LOG.trace("IGNORED (%s): %s → %s", reason, caster.getName(), target.getName());
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Soins et armures : seuls ceux lancés par un joueur sur un allié (lui-même compris)
+     * sont comptés ; une cible inconnue du registre est considérée comme alliée (invocation).
+     */
+    public static boolean shouldIgnoreSupport(Fighter caster, Fighter target, String reason) {
+        if (caster == null || caster.getType() != Fighter.FighterType.PLAYER) {
+            return true;
+        }
+
+        if (target != null && target.isControlledByAI()) {
+            LOG.trace("IGNORED (%s): %s → %s", reason, caster.getName(), target.getName());
             return true;
         }
 
@@ -55,7 +76,7 @@ public class DamageValidator {
                 String cleaned = s.replaceAll("[^0-9]", "");
                 return cleaned.isEmpty() ? 0 : Integer.parseInt(cleaned);
             } catch (Exception e) {
-                System.err.println("[Parser] Invalid number: " + s);
+                LOG.warn("Invalid number: %s", s);
                 return 0;
             }
         }
@@ -0,0 +1,148 @@
+package com.wakfu.parser;
+
+import com.wakfu.domain.actors.Fighter;
+import com.wakfu.domain.event.BattleEvent;
+import com.wakfu.domain.event.BonusDamageEvent;
+import com.wakfu.domain.event.CombatEvent;
+import com.wakfu.domain.event.LogEvent;
+import com.wakfu.domain.model.LogTime;
+import com.wakfu.metrics.Counter;
+import com.wakfu.metrics.Metrics;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Étage placé entre les {@link LogProcessor} de plusieurs clients et l'EventProcessor :
+ * quand deux clients assistent au même combat, chaque événement est présent dans les deux logs
+ * et ne doit être compté qu'une fois.
+ *
+ * <p>Un événement est identifié par l'id du combat et son contenu (lanceur, cible, valeur,
+ * élément ; état et round/joueur pour les événements de combat). Il est considéré comme un
+ * doublon si une autre source a déjà transmis le même événement à moins de {@code windowMs}
+ * d'heure de log, et que cette entrée n'a pas encore été appariée avec la source courante :
+ * chaque entrée retient les sources qui l'ont vue, si bien que la copie de chaque client
+ * supplémentaire est écartée. Deux coups identiques d'une même source restent deux coups
+ * distincts. Les entrées sont oubliées dès qu'elles sortent de la fenêtre (et au-delà de
+ * {@value #MAX_ENTRIES} entrées), ce qui borne la mémoire ; chaque décision coûte O(1) en
+ * moyenne.</p>
+ */
+public class EventDeduplicator {
+
+    public static final long DEFAULT_WINDOW_MS = 3_000;
+    private static final int MAX_ENTRIES = 65_536;
+
+    private static final Counter FORWARDED = Metrics.counter("dedup.events.forwarded");
+    private static final Counter DROPPED = Metrics.counter("dedup.events.dropped");
+
+    private final long windowMs;
+    // Événements transmis encore dans la fenêtre, par clé puis par ordre d'arrivée
+    private final Map<String, ArrayDeque<Seen>> seenByKey = new HashMap<>();
+    private final ArrayDeque<Seen> byArrival = new ArrayDeque<>();
+    // Heure de log (continue, sans retour à zéro à minuit) du dernier événement reçu
+    private long latestMillis = Long.MIN_VALUE;
+
+    public EventDeduplicator() {
+        this(DEFAULT_WINDOW_MS);
+    }
+
+    public EventDeduplicator(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * @param sourceId  source (client) qui a produit l'événement
+     * @param fightId   id du combat, 0 si inconnu (l'événement est alors toujours transmis)
+     * @param logMillis heure de log de l'événement, en ms depuis minuit
+     * @return true si l'événement doit être transmis, false si c'est un doublon
+     */
+    public synchronized boolean accept(int sourceId, long fightId, long logMillis, LogEvent event) {
+        String key = fightId > 0 ? keyOf(fightId, event) : null;
+        if (key == null) {
+            FORWARDED.inc();
+            return true;
+        }
+
+        long millis = latestMillis == Long.MIN_VALUE ? logMillis : LogTime.unwrap(logMillis, latestMillis);
+        latestMillis = Math.max(latestMillis, millis);
+        evictBefore(latestMillis - windowMs);
+
+        ArrayDeque<Seen> sameKey = seenByKey.get(key);
+        if (sameKey != null) {
+            for (Seen seen : sameKey) {
+                if (!seen.sources.get(sourceId) && Math.abs(seen.millis - millis) <= windowMs) {
+                    // Même événement vu par un autre client : l'entrée reste pour les clients suivants
+                    seen.sources.set(sourceId);
+                    DROPPED.inc();
+                    return false;
+                }
+            }
+        }
+
+        Seen seen = new Seen(key, sourceId, millis);
+        seenByKey.computeIfAbsent(key, k -> new ArrayDeque<>(2)).addLast(seen);
+        byArrival.addLast(seen);
+        FORWARDED.inc();
+        return true;
+    }
+
+    public synchronized void clear() {
+        seenByKey.clear();
+        byArrival.clear();
+        latestMillis = Long.MIN_VALUE;
+    }
+
+    public synchronized int size() {
+        return byArrival.size();
+    }
+
+    private void evictBefore(long limit) {
+        while (!byArrival.isEmpty()
+                && (byArrival.peekFirst().millis < limit || byArrival.size() > MAX_ENTRIES)) {
+            Seen oldest = byArrival.pollFirst();
+            ArrayDeque<Seen> sameKey = seenByKey.get(oldest.key);
+            if (sameKey == null) continue;
+            // Presque toujours en tête : les entrées d'une même clé arrivent dans l'ordre
+            if (sameKey.peekFirst() == oldest) sameKey.pollFirst();
+            else sameKey.remove(oldest);
+            if (sameKey.isEmpty()) seenByKey.remove(oldest.key);
+        }
+    }
+
+    /**
+     * Clé de déduplication, ou null pour un événement qui n'est jamais dédupliqué.
+     */
+    static String keyOf(long fightId, LogEvent event) {
+        if (event instanceof CombatEvent c) {
+            return fightId + "|" + c.getType() + "|" + nameOf(c.getCaster()) + "|" + nameOf(c.getTarget())
+                    + "|" + c.getValue() + "|" + c.getElement();
+        }
+        if (event instanceof BonusDamageEvent b) {
+            return fightId + "|BONUS|" + nameOf(b.getCaster()) + "|" + b.getEffectName()
+                    + "|" + b.getValue() + "|" + b.getElement();
+        }
+        if (event instanceof BattleEvent b) {
+            return fightId + "|" + b.getState() + "|" + b.getPlayerName() + "|" + b.getRoundNumber();
+        }
+        return null;
+    }
+
+    private static String nameOf(Fighter fighter) {
+        return fighter != null ? fighter.getName() : "";
+    }
+
+    private static final class Seen {
+        final String key;
+        final long millis;
+        // Source qui a transmis l'événement, puis celles dont la copie a été écartée
+        final BitSet sources = new BitSet(4);
+
+        Seen(String key, int sourceId, long millis) {
+            this.key = key;
+            this.millis = millis;
+            sources.set(sourceId);
+        }
+    }
+}
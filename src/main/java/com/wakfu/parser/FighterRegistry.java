@@ -6,35 +6,95 @@ import com.wakfu.domain.actors.Player;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Combattants du combat en cours, indexés par leur id de combattant (clé primaire, lue dans
+ * les lignes d'entrée en combat) et par nom (les lignes de combat ne donnent que le nom).
+ */
 public class FighterRegistry {
-    private final Map<String, Fighter> fighters = new HashMap<>();
-    
+    public static final long UNKNOWN_ID = -1;
+    // Ids attribués aux combattants vus sans ligne d'entrée (jamais en conflit avec ceux du jeu)
+    private static final long LOCAL_ID_BASE = Long.MIN_VALUE;
+
+    private final Map<Long, Fighter> fightersById = new HashMap<>();
+    private final Map<String, Fighter> fightersByName = new HashMap<>();
+    // Joueurs partagés entre les registres de plusieurs clients, par id (null = registre autonome)
+    private final Map<Long, Fighter> sharedPlayers;
+    private long nextLocalId = LOCAL_ID_BASE;
+
+    public FighterRegistry() {
+        this(null);
+    }
+
+    /**
+     * @param sharedPlayers joueurs communs à plusieurs sources de log : un même personnage vu
+     *                      par deux clients correspond alors au même objet {@link Player}
+     */
+    public FighterRegistry(Map<Long, Fighter> sharedPlayers) {
+        this.sharedPlayers = sharedPlayers;
+    }
+
+    /**
+     * Combattant de ce nom et de cet id. Deux combattants de même nom mais d'ids différents
+     * (deux monstres identiques) restent distincts ; le nom désigne alors le dernier vu.
+     */
     public Fighter getOrCreate(String name, boolean isAI, long id) {
-        return fighters.computeIfAbsent(name, n -> 
-            isAI ? new com.wakfu.domain.actors.Enemy(name, id, name) 
-                 : new Player(name, id, Fighter.FighterType.PLAYER)
-        );
+        Fighter known = fightersByName.get(name);
+        if (known != null && (id == UNKNOWN_ID || known.getId() == id)) return known;
+
+        Fighter fighter = id != UNKNOWN_ID ? fightersById.get(id) : null;
+        if (fighter == null) fighter = create(name, isAI, id);
+        // Un combattant déjà vu sans id (avant sa ligne d'entrée) est remplacé par sa version identifiée
+        if (known != null && isLocalId(known.getId())) fightersById.remove(known.getId());
+        register(fighter);
+        return fighter;
     }
-    
+
     public Fighter getOrCreateEnemy(String name) {
-        return fighters.computeIfAbsent(name, n -> 
-            new com.wakfu.domain.actors.Enemy(n, -1, n)
-        );
+        Fighter known = fightersByName.get(name);
+        if (known != null) return known;
+        Fighter enemy = new com.wakfu.domain.actors.Enemy(name, nextLocalId++, name);
+        register(enemy);
+        return enemy;
     }
-    
+
     public Fighter get(String name) {
-        return fighters.get(name);
+        return fightersByName.get(name);
+    }
+
+    public Fighter getById(long id) {
+        return fightersById.get(id);
     }
-    
+
     public void clear() {
-        fighters.clear();
+        fightersById.clear();
+        fightersByName.clear();
     }
-    
+
     public int countActivePlayers(java.util.Set<String> koPlayers) {
-        return (int) fighters.values().stream()
+        return (int) fightersById.values().stream()
                 .filter(f -> f.getType() == Fighter.FighterType.PLAYER)
                 .filter(f -> !koPlayers.contains(f.getName()))
                 .count();
     }
-}
 
+    /**
+     * Id attribué localement, faute d'id lu dans le log.
+     */
+    public static boolean isLocalId(long id) {
+        return id == UNKNOWN_ID || (id >= LOCAL_ID_BASE && id < LOCAL_ID_BASE + Integer.MAX_VALUE);
+    }
+
+    private Fighter create(String name, boolean isAI, long id) {
+        long fighterId = id != UNKNOWN_ID ? id : nextLocalId++;
+        if (isAI) return new com.wakfu.domain.actors.Enemy(name, fighterId, name);
+        if (sharedPlayers != null && id != UNKNOWN_ID) {
+            return sharedPlayers.computeIfAbsent(id, k -> new Player(name, k, Fighter.FighterType.PLAYER));
+        }
+        return new Player(name, fighterId, Fighter.FighterType.PLAYER);
+    }
+
+    private void register(Fighter fighter) {
+        fightersById.put(fighter.getId(), fighter);
+        fightersByName.put(fighter.getName(), fighter);
+    }
+}
@@ -0,0 +1,76 @@
+package com.wakfu.parser;
+
+/**
+ * Tri des lignes de log par simple lecture de mots-clés, avant toute regex : chaque ligne
+ * n'est ensuite confrontée qu'au seul motif de sa catégorie (deux pour les dégâts, direct
+ * puis indirect). Les lignes de combat "Cible: [signe] valeur unité (...)" sont départagées
+ * par l'unité (PV, PA, Armure) et, pour les PV, par le signe (+ = soin).
+ */
+public final class LineClassifier {
+
+    public enum LineType {
+        START_COMBAT,
+        END_COMBAT,
+        PLAYER_JOIN,
+        PLAYER_KO,
+        PLAYER_REVIVED,
+        TURN_END,
+        CAST_SPELL,
+        PA_GAIN,
+        DAMAGE,
+        HEAL,
+        SHIELD,
+        OTHER
+    }
+
+    private static final String COMBAT_TAG = "[Information (combat)]";
+
+    private LineClassifier() {}
+
+    public static LineType classify(String line) {
+        int combat = line.indexOf(COMBAT_TAG);
+        if (combat < 0) {
+            if (line.contains("CREATION DU COMBAT")) return LineType.START_COMBAT;
+            if (line.contains("[FIGHT]") && line.contains("End fight with id")) return LineType.END_COMBAT;
+            if (line.contains("fightId=") && line.contains(" breed")) return LineType.PLAYER_JOIN;
+            return LineType.OTHER;
+        }
+
+        int from = combat + COMBAT_TAG.length();
+        if (line.indexOf(" lance le sort", from) >= 0) return LineType.CAST_SPELL;
+        if (line.indexOf(" est KO", from) >= 0) return LineType.PLAYER_KO;
+        if (line.indexOf(" est ressuscité", from) >= 0) return LineType.PLAYER_REVIVED;
+        if (line.indexOf("pour le tour suivant", from) >= 0) return LineType.TURN_END;
+
+        int colon = line.indexOf(':', from);
+        return colon < 0 ? LineType.OTHER : classifyValue(line, colon + 1);
+    }
+
+    /**
+     * Lit "[signe] chiffres unité" à partir de {@code i} (les séparateurs de milliers du jeu
+     * sont des espaces, éventuellement insécables).
+     */
+    private static LineType classifyValue(String line, int i) {
+        int n = line.length();
+        i = skipSpaces(line, i);
+        if (i >= n) return LineType.OTHER;
+
+        char sign = line.charAt(i);
+        boolean plus = sign == '+';
+        if (plus || sign == '-' || sign == '−' || sign == '–') i = skipSpaces(line, i + 1);
+
+        int digits = i;
+        while (i < n && (Character.isDigit(line.charAt(i)) || Character.isSpaceChar(line.charAt(i)))) i++;
+        if (i == digits) return LineType.OTHER;
+
+        if (line.startsWith("PV", i)) return plus ? LineType.HEAL : LineType.DAMAGE;
+        if (line.startsWith("PA", i)) return LineType.PA_GAIN;
+        if (line.startsWith("Armure", i)) return LineType.SHIELD;
+        return LineType.OTHER;
+    }
+
+    private static int skipSpaces(String line, int i) {
+        while (i < line.length() && Character.isSpaceChar(line.charAt(i))) i++;
+        return i;
+    }
+}
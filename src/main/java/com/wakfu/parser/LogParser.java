@@ -2,9 +2,14 @@ package com.wakfu.parser;
 
 import com.wakfu.domain.actors.*;
 import com.wakfu.domain.event.*;
+import com.wakfu.metrics.Counter;
+import com.wakfu.metrics.Metrics;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.function.Consumer;
@@ -14,12 +19,18 @@ import java.util.function.Consumer;
  */
 public class LogParser {
 
+    private static final Logger LOG = Log.get("Parser");
+    private static final Counter LINES_READ = Metrics.counter("parser.lines.read");
+
     private volatile boolean running = false;
     private Thread watchThread;
     private final LogProcessor processor;
+    // Octets écrits dans le log mais pas encore lus
+    private volatile long backlogBytes = 0;
 
     public LogParser(LogProcessor processor) {
         this.processor = processor;
+        Metrics.gauge("parser.backlog.bytes", () -> backlogBytes);
     }
 
 
@@ -37,9 +48,28 @@ public class LogParser {
         if (watchThread != null && watchThread.isAlive()) watchThread.interrupt();
     }
 
+    /**
+     * Traite un fichier de log complet de façon synchrone, depuis le début
+     * (relecture d'un log archivé, mesures de débit).
+     *
+     * @return nombre de lignes lues
+     */
+    public long parseFile(Path logFilePath) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(logFilePath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LINES_READ.inc();
+                processor.processLine(line.trim());
+                count++;
+            }
+        }
+        return count;
+    }
+
     private void watchFile(Path logFilePath, Consumer<LogEvent> onEvent) {
         try (RandomAccessFile raf = new RandomAccessFile(logFilePath.toFile(), "r")) {
-            System.out.println("[Parser] Watching log in UTF-8: " + logFilePath);
+            LOG.info("Watching log in UTF-8: %s", logFilePath);
             long filePointer = raf.length(); // commence à la fin
 
             while (running) {
@@ -50,16 +80,19 @@ public class LogParser {
                     raf.seek(filePointer);
                     String line;
                     while ((line = raf.readLine()) != null) {
+                        LINES_READ.inc();
+                        backlogBytes = fileLength - raf.getFilePointer();
                         String utf8Line = new String(line.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8);
                         // Le LogProcessor gère l'EventProcessor en interne désormais
                         processor.processLine(utf8Line.trim());
                     }
                     filePointer = raf.getFilePointer();
                 }
+                backlogBytes = Math.max(0, raf.length() - filePointer);
                 Thread.sleep(300);
             }
         } catch (IOException | InterruptedException e) {
-            System.err.println("[Parser] Error: " + e.getMessage());
+            LOG.error("Error: %s", e.getMessage());
         }
     }
 
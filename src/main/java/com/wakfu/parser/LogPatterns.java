@@ -12,12 +12,15 @@ public final class LogPatterns {
     /** Début du combat */
     public static final Pattern START_COMBAT = Pattern.compile("CREATION DU COMBAT");
 
+    /** Id du combat (lignes de création et d'entrée des combattants) */
+    public static final Pattern FIGHT_ID = Pattern.compile("fightId=(\\d+)");
+
     /** Fin du combat */
     public static final Pattern END_COMBAT = Pattern.compile("\\[FIGHT\\]\\s+End fight with id");
 
     /** Entrée d’un combattant */
     public static final Pattern PLAYER_JOIN = Pattern.compile(
-            "fightId=\\d+\\s+([^\\[]+)\\s+breed\\s*:\\s*\\d+\\s*\\[(-?\\d+)\\]\\s*isControlledByAI=(true|false)"
+            "fightId=(\\d+)\\s+([^\\[]+)\\s+breed\\s*:\\s*\\d+\\s*\\[(-?\\d+)\\]\\s*isControlledByAI=(true|false)"
     );
 
     /** Lancement de sort */
@@ -10,6 +10,11 @@ import com.wakfu.domain.event.BattleEvent;
 import com.wakfu.domain.event.CombatEvent;
 import com.wakfu.domain.event.EventType;
 import com.wakfu.domain.event.LogEvent;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
+import com.wakfu.metrics.Counter;
+import com.wakfu.metrics.LatencyHistogram;
+import com.wakfu.metrics.Metrics;
 import com.wakfu.service.EventProcessor;
 
 import java.time.LocalDateTime;
@@ -19,14 +24,26 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class LogProcessor {
+    private static final Logger LOG = Log.get("Parser");
+
     private boolean inCombat = false;
     private final EventProcessor eventProcessor;
     private final FighterRegistry fighterRegistry;
     private final TurnTracker turnTracker;
     private final SpellCastAggregator spellCastAggregator;
 
+    // Déduplication entre clients (null = source unique)
+    private EventDeduplicator deduplicator;
+    private int sourceId;
+    private long currentFightId = 0;
+    // Heure de log de la dernière ligne horodatée (ms depuis minuit, -1 = aucune)
+    private volatile long currentLineMillis = -1;
+
     private final Map<String, Ability> lastAbilityByCaster = new HashMap<>();
     private final Map<String, Long> lastCastTime = new HashMap<>();
+    // Dernier ennemi à avoir lancé un sort : source des dégâts reçus par les joueurs
+    private Fighter lastEnemyCaster;
+    private long lastEnemyCastTime;
 
     private static final long RECENT_CAST_WINDOW_MS = 5_000;
     private static final long STICKY_CAST_WINDOW_MS = 10_000;
@@ -37,129 +54,247 @@ public class LogProcessor {
     private static final DateTimeFormatter TIME_FORMAT =
             DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
 
+    // === Métriques ===
+    private static final Counter LINES_PROCESSED = Metrics.counter("parser.lines.processed");
+    private static final Counter LINES_DROPPED = Metrics.counter("parser.lines.dropped");
+    private static final Counter LINES_UNMATCHED = Metrics.counter("parser.lines.unmatched");
+    private static final Counter HIT_START_COMBAT = Metrics.counter("parser.pattern.START_COMBAT");
+    private static final Counter HIT_END_COMBAT = Metrics.counter("parser.pattern.END_COMBAT");
+    private static final Counter HIT_PLAYER_JOIN = Metrics.counter("parser.pattern.PLAYER_JOIN");
+    private static final Counter HIT_PLAYER_KO = Metrics.counter("parser.pattern.PLAYER_KO");
+    private static final Counter HIT_PLAYER_REVIVED = Metrics.counter("parser.pattern.PLAYER_REVIVED");
+    private static final Counter HIT_TURN_END = Metrics.counter("parser.pattern.TURN_END");
+    private static final Counter HIT_CAST_SPELL = Metrics.counter("parser.pattern.CAST_SPELL");
+    private static final Counter HIT_PA_GAIN = Metrics.counter("parser.pattern.PA_GAIN");
+    private static final Counter HIT_DAMAGE_DIRECT = Metrics.counter("parser.pattern.DAMAGE_DIRECT");
+    private static final Counter HIT_DAMAGE_INDIRECT = Metrics.counter("parser.pattern.DAMAGE_INDIRECT");
+    private static final Counter HIT_HEAL = Metrics.counter("parser.pattern.HEAL");
+    private static final Counter HIT_SHIELD = Metrics.counter("parser.pattern.SHIELD");
+    private static final LatencyHistogram LINE_LATENCY = Metrics.histogram("parser.line.latency");
+
     public LogProcessor(EventProcessor eventProcessor) {
+        this(eventProcessor, new FighterRegistry());
+    }
+
+    /**
+     * @param fighterRegistry registre propre à cette source de log (un par client du jeu)
+     */
+    public LogProcessor(EventProcessor eventProcessor, FighterRegistry fighterRegistry) {
         this.eventProcessor = eventProcessor;
-        this.fighterRegistry = new FighterRegistry();
-        this.turnTracker = new TurnTracker(eventProcessor, fighterRegistry);
+        this.fighterRegistry = fighterRegistry;
+        this.turnTracker = new TurnTracker(this::process, fighterRegistry);
         this.spellCastAggregator = new SpellCastAggregator(this::emitCombatEventsFromSpellCast);
     }
 
+    /**
+     * Fait passer les événements de cette source par un étage de déduplication partagé avec
+     * les autres clients qui observent éventuellement le même combat.
+     */
+    public void setDeduplicator(EventDeduplicator deduplicator, int sourceId) {
+        this.deduplicator = deduplicator;
+        this.sourceId = sourceId;
+    }
+
     private void emitCombatEventsFromSpellCast(SpellCastEvent spellCast) {
-        if (spellCast == null || !spellCast.hasDamage()) {
+        if (spellCast == null || !(spellCast.hasDamage() || spellCast.hasHeal() || spellCast.hasShield())) {
             return;
         }
 
-        System.out.printf("[Parser] Émission SpellCast: %s par %s - %d dégâts totaux, %d bonus, %d PA regagnés (castId: %s)%n",
-                spellCast.getAbility().getName(),
-                spellCast.getCaster().getName(),
-                spellCast.getTotalDamage(),
-                spellCast.getTotalBonusDamage(),
-                spellCast.getTotalPaRegained(),
-                spellCast.getCastId());
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Émission SpellCast: %s par %s - %d dégâts totaux, %d bonus, %d soins, %d armure, %d PA regagnés (castId: %s)",
+                    spellCast.getAbility().getName(),
+                    spellCast.getCaster().getName(),
+                    spellCast.getTotalDamage(),
+                    spellCast.getTotalBonusDamage(),
+                    spellCast.getTotalHeal(),
+                    spellCast.getTotalShield(),
+                    spellCast.getTotalPaRegained(),
+                    spellCast.getCastId());
+        }
+
+        // Pendant l'émission, la ligne "en cours" est celle du premier coup : la latence jusqu'à
+        // l'UI est mesurée depuis sa lecture, que le lancer soit émis au lancer suivant ou par le délai
+        long lineNanos = Metrics.currentLineNanos();
+        if (spellCast.getFirstHitNanos() != 0) Metrics.markLineRead(spellCast.getFirstHitNanos());
+        try {
+            emitInstances(spellCast, EventType.DAMAGE, spellCast.getDamageInstances());
+            emitInstances(spellCast, EventType.HEAL, spellCast.getHealInstances());
+            emitInstances(spellCast, EventType.SHIELD, spellCast.getShieldInstances());
 
-        for (SpellCastEvent.DamageInstance damage : spellCast.getDamageInstances()) {
+            // Les bonus ne sont rattachés qu'à un lancer qui a fait des dégâts
+            if (!spellCast.hasDamage()) {
+                return;
+            }
+
+            // Émettre les bonus damages
+            for (SpellCastEvent.BonusDamageInstance bonus : spellCast.getBonusDamageInstances()) {
+                com.wakfu.domain.event.BonusDamageEvent bonusEvent = new com.wakfu.domain.event.BonusDamageEvent(
+                    spellCast.getTimestamp(),
+                    spellCast.getCaster(),
+                    bonus.getTarget(),
+                    bonus.getEffectName(),
+                    bonus.getElement(),
+                    bonus.getValue(),
+                    spellCast.getCastId()
+                );
+                bonusEvent.setLogMillis(bonus.getLogMillis());
+
+                process(bonusEvent);
+            }
+        } finally {
+            Metrics.markLineRead(lineNanos);
+        }
+    }
+
+    private void emitInstances(SpellCastEvent spellCast, EventType type, List<SpellCastEvent.DamageInstance> instances) {
+        for (SpellCastEvent.DamageInstance instance : instances) {
             CombatEvent event = new CombatEvent(
                 spellCast.getTimestamp(),
                 spellCast.getCaster(),
-                damage.getTarget(),
+                instance.getTarget(),
                 spellCast.getAbility(),
-                EventType.DAMAGE,
-                damage.getValue(),
-                damage.getElement(),
+                type,
+                instance.getValue(),
+                instance.getElement(),
                 spellCast.getBaseCost(),
                 spellCast.getTotalPaRegained(),
                 spellCast.getCastId()
             );
-
+            event.setLogMillis(instance.getLogMillis());
             process(event);
         }
-
-        // Émettre les bonus damages
-        for (SpellCastEvent.BonusDamageInstance bonus : spellCast.getBonusDamageInstances()) {
-            com.wakfu.domain.event.BonusDamageEvent bonusEvent = new com.wakfu.domain.event.BonusDamageEvent(
-                spellCast.getTimestamp(),
-                spellCast.getCaster(),
-                bonus.getEffectName(),
-                bonus.getElement(),
-                bonus.getValue(),
-                spellCast.getCastId()
-            );
-
-            process(bonusEvent);
-        }
     }
 
+    /**
+     * Transmet un événement à l'EventProcessor. L'heure retenue pour la déduplication est celle
+     * de la ligne qui déclenche l'émission : un lancer est émis au lancer suivant (ou à la fin du
+     * combat), ce qui arrive au même moment dans les logs de tous les clients.
+     */
     public void process(LogEvent event) {
         if (event == null) return;
+        if (event.getLogMillis() < 0) event.setLogMillis(currentLineMillis);
+        if (deduplicator != null && !deduplicator.accept(sourceId, currentFightId, currentLineMillis, event)) return;
         eventProcessor.onEvent(event);
     }
 
     public void processLine(String line) {
+        long start = System.nanoTime();
+        Metrics.markLineRead(start);
+        LINES_PROCESSED.inc();
+        try {
+            dispatchLine(line);
+        } finally {
+            Metrics.markLineRead(0);
+            LINE_LATENCY.recordSince(start);
+        }
+    }
+
+    private void dispatchLine(String line) {
         if (line.isEmpty()) return;
-        if (PatternExclusions.shouldIgnore(line)) return;
+        if (PatternExclusions.shouldIgnore(line)) {
+            LINES_DROPPED.inc();
+            return;
+        }
         line = PatternExclusions.clean(line);
 
-        long tsNow = extractLogMillis(line);
-
-        if (LogPatterns.START_COMBAT.matcher(line).find()) {
+        // Une ligne sans horodatage garde l'heure de la précédente
+        long tsNow = extractLogMillis(line, currentLineMillis >= 0
+                ? currentLineMillis : java.time.LocalTime.now().toSecondOfDay() * 1000L);
+        currentLineMillis = tsNow;
+
+        // Une seule regex par ligne : celle de la catégorie donnée par le tri par mots-clés
+        LineClassifier.LineType type = LineClassifier.classify(line);
+        if (type == LineClassifier.LineType.START_COMBAT) {
+            HIT_START_COMBAT.inc();
+            Matcher mFight = LogPatterns.FIGHT_ID.matcher(line);
+            currentFightId = mFight.find() ? Long.parseLong(mFight.group(1)) : 0;
             handleCombatStart();
             return;
         }
 
-        if (LogPatterns.END_COMBAT.matcher(line).find()) {
+        if (type == LineClassifier.LineType.END_COMBAT) {
+            HIT_END_COMBAT.inc();
             handleCombatEnd();
             return;
         }
 
         if (!inCombat) return;
 
-        Matcher mJoin = LogPatterns.PLAYER_JOIN.matcher(line);
-        if (mJoin.find()) {
-            handlePlayerJoin(mJoin);
-            return;
-        }
-
-        Matcher mKO = LogPatterns.PLAYER_KO.matcher(line);
-        if (mKO.find()) {
-            handlePlayerKO(mKO);
-            return;
-        }
-
-        Matcher mRevived = LogPatterns.PLAYER_REVIVED.matcher(line);
-        if (mRevived.find()) {
-            handlePlayerRevived(mRevived);
-            return;
-        }
-
-        Matcher mTurnEnd = LogPatterns.TURN_END.matcher(line);
-        if (mTurnEnd.find()) {
-            handleTurnEnd(mTurnEnd);
-            return;
-        }
-
-        Matcher mCast = LogPatterns.CAST_SPELL.matcher(line);
-        if (mCast.find()) {
-            handleSpellCast(mCast, tsNow);
-            return;
-        }
-
-        Matcher mPaGain = LogPatterns.PA_GAIN.matcher(line);
-        if (mPaGain.find()) {
-            handlePaGain(mPaGain);
-            return;
-        }
-
-        Matcher mDirect = LogPatterns.DAMAGE_DIRECT.matcher(line);
-        if (mDirect.find()) {
-            handleDirectDamage(mDirect, tsNow);
-            return;
+        Matcher m;
+        switch (type) {
+            case PLAYER_JOIN -> {
+                if ((m = LogPatterns.PLAYER_JOIN.matcher(line)).find()) {
+                    HIT_PLAYER_JOIN.inc();
+                    handlePlayerJoin(m);
+                    return;
+                }
+            }
+            case PLAYER_KO -> {
+                if ((m = LogPatterns.PLAYER_KO.matcher(line)).find()) {
+                    HIT_PLAYER_KO.inc();
+                    handlePlayerKO(m);
+                    return;
+                }
+            }
+            case PLAYER_REVIVED -> {
+                if ((m = LogPatterns.PLAYER_REVIVED.matcher(line)).find()) {
+                    HIT_PLAYER_REVIVED.inc();
+                    handlePlayerRevived(m);
+                    return;
+                }
+            }
+            case TURN_END -> {
+                if ((m = LogPatterns.TURN_END.matcher(line)).find()) {
+                    HIT_TURN_END.inc();
+                    handleTurnEnd(m);
+                    return;
+                }
+            }
+            case CAST_SPELL -> {
+                if ((m = LogPatterns.CAST_SPELL.matcher(line)).find()) {
+                    HIT_CAST_SPELL.inc();
+                    handleSpellCast(m, tsNow);
+                    return;
+                }
+            }
+            case PA_GAIN -> {
+                if ((m = LogPatterns.PA_GAIN.matcher(line)).find()) {
+                    HIT_PA_GAIN.inc();
+                    handlePaGain(m);
+                    return;
+                }
+            }
+            case DAMAGE -> {
+                if ((m = LogPatterns.DAMAGE_DIRECT.matcher(line)).find()) {
+                    HIT_DAMAGE_DIRECT.inc();
+                    handleDirectDamage(m, tsNow);
+                    return;
+                }
+                if ((m = LogPatterns.DAMAGE_INDIRECT.matcher(line)).find()) {
+                    HIT_DAMAGE_INDIRECT.inc();
+                    handleIndirectDamage(m, tsNow);
+                    return;
+                }
+            }
+            case HEAL -> {
+                if ((m = LogPatterns.HEAL.matcher(line)).find()) {
+                    HIT_HEAL.inc();
+                    handleHeal(m, tsNow);
+                    return;
+                }
+            }
+            case SHIELD -> {
+                if ((m = LogPatterns.SHIELD.matcher(line)).find()) {
+                    HIT_SHIELD.inc();
+                    handleShield(m, tsNow);
+                    return;
+                }
+            }
+            default -> {
+            }
         }
 
-        Matcher mIndirect = LogPatterns.DAMAGE_INDIRECT.matcher(line);
-        if (mIndirect.find()) {
-            handleIndirectDamage(mIndirect, tsNow);
-            return;
-        }
+        LINES_UNMATCHED.inc();
     }
 
     private void handleCombatStart() {
@@ -167,25 +302,27 @@ public class LogProcessor {
         fighterRegistry.clear();
         lastAbilityByCaster.clear();
         lastCastTime.clear();
+        lastEnemyCaster = null;
         turnTracker.reset();
         spellCastAggregator.reset();
-        process(new BattleEvent(LocalDateTime.now(), BattleEvent.BattleState.START));
-        System.out.println("[Parser] >>> Combat started <<<");
+        process(new BattleEvent(LocalDateTime.now(), BattleEvent.BattleState.START, null, 0, currentFightId));
+        LOG.info(">>> Combat started <<<");
     }
 
     private void handleCombatEnd() {
         spellCastAggregator.flushCurrentSpellCast();
         inCombat = false;
-        process(new BattleEvent(LocalDateTime.now(), BattleEvent.BattleState.END));
-        System.out.println("[Parser] <<< Combat ended >>>");
+        process(new BattleEvent(LocalDateTime.now(), BattleEvent.BattleState.END, null, 0, currentFightId));
+        LOG.info("<<< Combat ended >>>");
     }
 
     private void handlePlayerJoin(Matcher matcher) {
-        String name = matcher.group(1).trim();
-        long id = Long.parseLong(matcher.group(2));
-        boolean isAI = Boolean.parseBoolean(matcher.group(3));
+        if (currentFightId == 0) currentFightId = Long.parseLong(matcher.group(1));
+        String name = matcher.group(2).trim();
+        long id = Long.parseLong(matcher.group(3));
+        boolean isAI = Boolean.parseBoolean(matcher.group(4));
         Fighter fighter = fighterRegistry.getOrCreate(name, isAI, id);
-        System.out.printf("[Parser] Fighter detected: %s [%s, id=%d]%n", name, fighter.getType(), id);
+        LOG.debug("Fighter detected: %s [%s, id=%d]", name, fighter.getType(), id);
     }
 
     private void handlePlayerKO(Matcher matcher) {
@@ -201,7 +338,7 @@ public class LogProcessor {
     private void handleTurnEnd(Matcher matcher) {
         String seconds = matcher.group(1);
         turnTracker.endCurrentTurn();
-        System.out.printf("[Parser] Tour terminé (%s secondes reportées)%n", seconds);
+        LOG.trace("Tour terminé (%s secondes reportées)", seconds);
     }
 
     private void handleSpellCast(Matcher matcher, long tsNow) {
@@ -210,12 +347,14 @@ public class LogProcessor {
 
         Fighter caster = fighterRegistry.get(casterName);
         if (caster != null && caster.getType() != Fighter.FighterType.PLAYER) {
+            lastEnemyCaster = caster;
+            lastEnemyCastTime = tsNow;
             return;
         }
 
         String mapped = SpecialCase.specialSpell(spellName);
         if (mapped != null) {
-            System.out.printf("[Parser] SpecialCase mapping: %s -> %s%n", spellName, mapped);
+            LOG.debug("SpecialCase mapping: %s -> %s", spellName, mapped);
             spellName = mapped;
         }
 
@@ -240,7 +379,7 @@ public class LogProcessor {
         );
 
         spellCastAggregator.startNewSpellCast(spellCastEvent);
-        System.out.printf("[Parser] %s lance %s%n", casterName, spellName);
+        LOG.trace("%s lance %s", casterName, spellName);
     }
 
     private void handlePaGain(Matcher matcher) {
@@ -250,7 +389,7 @@ public class LogProcessor {
         Fighter fighter = fighterRegistry.get(playerName);
         if (fighter != null && fighter.getType() == Fighter.FighterType.PLAYER) {
             spellCastAggregator.addPaRegainToCurrentSpell(paGain);
-            System.out.printf("[Parser] %s regagne %d PA%n", playerName, paGain);
+            if (LOG.isTraceEnabled()) LOG.trace("%s regagne %d PA", playerName, paGain);
         }
     }
 
@@ -260,6 +399,11 @@ public class LogProcessor {
         Fighter caster = findRecentCaster(tsNow);
         Fighter target = fighterRegistry.getOrCreateEnemy(damageInfo.getTargetName());
 
+        if (target.getType() == Fighter.FighterType.PLAYER) {
+            emitDamageTaken(findEnemySource(tsNow), target, damageInfo.getValue(), damageInfo.getElement());
+            return;
+        }
+
         if (DamageValidator.shouldIgnoreDamage(caster, target, "direct damage")) {
             return;
         }
@@ -273,13 +417,16 @@ public class LogProcessor {
         SpellCastEvent.DamageInstance damage = new SpellCastEvent.DamageInstance(
             target,
             damageInfo.getValue(),
-            damageInfo.getElement()
+            damageInfo.getElement(),
+            tsNow
         );
 
         spellCastAggregator.addDamageToCurrentSpell(damage);
 
-        System.out.printf("[Parser] DIRECT: %s → %s %d (%s)%n",
-                caster.getName(), target.getName(), damageInfo.getValue(), damageInfo.getElement());
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("DIRECT: %s → %s %d (%s)",
+                    caster.getName(), target.getName(), damageInfo.getValue(), damageInfo.getElement());
+        }
     }
 
     private void handleIndirectDamage(Matcher matcher, long tsNow) {
@@ -306,12 +453,18 @@ public class LogProcessor {
 
         String mapped = SpecialCase.specialSpell(effectName);
         if (mapped != null) {
-            System.out.printf("[Parser] SpecialCase mapping (indirect): %s -> %s%n", effectName, mapped);
+            LOG.debug("SpecialCase mapping (indirect): %s -> %s", effectName, mapped);
             effectName = mapped;
         }
 
         Fighter target = fighterRegistry.getOrCreateEnemy(targetName);
 
+        if (target.getType() == Fighter.FighterType.PLAYER) {
+            // Poison, glyphe... : la source n'est pas identifiable
+            emitDamageTaken(null, target, value, element);
+            return;
+        }
+
         if (isTrueIndirect) {
             // Dégâts vraiment indirects -> créer un SpellCastEvent séparé pour le joueur virtuel "Indirect"
             Fighter indirectCaster = fighterRegistry.getOrCreate("Indirect", false, -999);
@@ -320,7 +473,7 @@ public class LogProcessor {
                 return;
             }
 
-            System.out.printf("[Parser] TRUE INDIRECT: %s %d (%s) [caster: Indirect]%n", effectName, value, element);
+            if (LOG.isTraceEnabled()) LOG.trace("TRUE INDIRECT: %s %d (%s) [caster: Indirect]", effectName, value, element);
 
             // Créer une ability pour l'effet indirect
             Ability indirectAbility = new Ability(effectName, "Effet indirect", element, DamageSourceType.INDIRECT);
@@ -334,7 +487,8 @@ public class LogProcessor {
             );
 
             // Ajouter les dégâts à ce spell cast
-            indirectSpellCast.addDamage(target, value, element);
+            indirectSpellCast.markHitRead(Metrics.currentLineNanos());
+            indirectSpellCast.addDamage(target, value, element, tsNow);
 
             // Émettre immédiatement cet événement (pas besoin d'attendre un timeout)
             emitCombatEventsFromSpellCast(indirectSpellCast);
@@ -346,11 +500,72 @@ public class LogProcessor {
                 return;
             }
 
-            System.out.printf("[Parser] REASSIGNED AS DIRECT (BONUS): %s %d (%s)%n", effectName, value, element);
-            spellCastAggregator.addBonusDamageToCurrentSpell(effectName, target, value, element);
+            if (LOG.isTraceEnabled()) LOG.trace("REASSIGNED AS DIRECT (BONUS): %s %d (%s)", effectName, value, element);
+            spellCastAggregator.addBonusDamageToCurrentSpell(effectName, target, value, element, tsNow);
         }
     }
 
+    private void handleHeal(Matcher matcher, long tsNow) {
+        String targetName = matcher.group(1).trim();
+        int value = parseIntSafe(matcher.group(2));
+        Element element = Element.fromString(matcher.group(3));
+
+        Fighter caster = findRecentCaster(tsNow);
+        Fighter target = supportTarget(targetName);
+        if (DamageValidator.shouldIgnoreSupport(caster, target, "heal")) {
+            return;
+        }
+
+        spellCastAggregator.addHealToCurrentSpell(target, value, element);
+        if (LOG.isTraceEnabled()) LOG.trace("HEAL: %s → %s +%d (%s)", caster.getName(), targetName, value, element);
+    }
+
+    private void handleShield(Matcher matcher, long tsNow) {
+        String targetName = matcher.group(1).trim();
+        int value = parseIntSafe(matcher.group(2));
+        Element element = Element.fromString(matcher.group(3));
+
+        Fighter caster = findRecentCaster(tsNow);
+        Fighter target = supportTarget(targetName);
+        if (DamageValidator.shouldIgnoreSupport(caster, target, "shield")) {
+            return;
+        }
+
+        spellCastAggregator.addShieldToCurrentSpell(target, value, element);
+        if (LOG.isTraceEnabled()) LOG.trace("SHIELD: %s → %s %d", caster.getName(), targetName, value);
+    }
+
+    /**
+     * Cible d'un soin ou d'une armure : un allié qui n'est pas forcément passé par une ligne
+     * d'entrée (invocation) ne doit pas être enregistré comme ennemi.
+     */
+    private Fighter supportTarget(String targetName) {
+        Fighter target = fighterRegistry.get(targetName);
+        return target != null ? target : new Player(targetName, FighterRegistry.UNKNOWN_ID, Fighter.FighterType.PLAYER);
+    }
+
+    /**
+     * Dégâts reçus par un joueur, émis immédiatement (pas d'agrégation par lancer côté ennemi).
+     */
+    private void emitDamageTaken(Fighter source, Fighter target, int value, Element element) {
+        process(new CombatEvent(LocalDateTime.now(), source, target, null, EventType.DAMAGE_TAKEN, value, element));
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("TAKEN: %s → %s %d (%s)", source != null ? source.getName() : "?", target.getName(), value, element);
+        }
+    }
+
+    /**
+     * Ennemi dont le lancer est plus récent que celui de tout joueur, dans la fenêtre des
+     * lancers récents ; null si les derniers dégâts viennent d'un joueur (tir allié).
+     */
+    private Fighter findEnemySource(long tsNow) {
+        if (lastEnemyCaster == null || tsNow - lastEnemyCastTime > RECENT_CAST_WINDOW_MS) return null;
+        for (long playerCast : lastCastTime.values()) {
+            if (playerCast > lastEnemyCastTime) return null;
+        }
+        return lastEnemyCaster;
+    }
+
     private Fighter findRecentCaster(long tsNow) {
         Optional<String> caster = lastCastTime.entrySet().stream()
                 .filter(e -> tsNow - e.getValue() <= RECENT_CAST_WINDOW_MS)
@@ -378,7 +593,7 @@ public class LogProcessor {
                 com.wakfu.domain.actors.PlayerClass playerClass =
                         com.wakfu.domain.actors.PlayerClass.fromString(detectedClass);
                 player.setPlayerClass(playerClass);
-                System.out.printf("[Parser] Classe détectée pour %s: %s%n", player.getName(), detectedClass);
+                LOG.debug("Classe détectée pour %s: %s", player.getName(), detectedClass);
             }
         }
     }
@@ -392,20 +607,31 @@ public class LogProcessor {
             String cleaned = s.replaceAll("[^0-9]", "");
             return cleaned.isEmpty() ? 0 : Integer.parseInt(cleaned);
         } catch (Exception e) {
-            System.err.println("[Parser] Invalid number: " + s);
+            LOG.warn("Invalid number: %s", s);
             return 0;
         }
     }
 
-    private long extractLogMillis(String line) {
+    /**
+     * Heure du log (ms depuis minuit) lue dans le préfixe "INFO HH:mm:ss,SSS",
+     * ou l'heure système si la ligne n'en a pas.
+     */
+    public static long extractLogMillis(String line) {
+        return extractLogMillis(line, System.currentTimeMillis());
+    }
+
+    /**
+     * Heure du log (ms depuis minuit), ou {@code fallback} si la ligne n'est pas horodatée.
+     */
+    public static long extractLogMillis(String line, long fallback) {
         Matcher m = TIME_PREFIX.matcher(line);
-        if (!m.find()) return System.currentTimeMillis();
+        if (!m.find()) return fallback;
         try {
             String formatted = m.group(1) + "." + m.group(2);
             var lt = java.time.LocalTime.parse(formatted, TIME_FORMAT);
             return lt.toSecondOfDay() * 1000L + lt.getNano() / 1_000_000L;
         } catch (Exception e) {
-            return System.currentTimeMillis();
+            return fallback;
         }
     }
 }
@@ -0,0 +1,277 @@
+package com.wakfu.parser;
+
+import com.wakfu.domain.actors.Fighter;
+import com.wakfu.domain.model.LogTime;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
+import com.wakfu.metrics.Counter;
+import com.wakfu.metrics.Metrics;
+import com.wakfu.service.EventProcessor;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Lit en temps réel les wakfu.log de plusieurs clients du jeu (un dossier de logs par compte)
+ * et les fusionne en un seul flux ordonné par heure de log vers le même {@link EventProcessor}.
+ * Un seul thread d'E/S interroge tous les fichiers ; chaque source garde son propre
+ * {@link LogProcessor} (registre des combattants, tours, sort en cours), les joueurs étant
+ * partagés entre sources pour qu'un même personnage ne donne qu'un seul {@code Player}.
+ * Un combat observé par plusieurs clients n'est compté qu'une fois grâce à un
+ * {@link EventDeduplicator} commun.
+ */
+public class MultiLogParser {
+
+    private static final Logger LOG = Log.get("Parser");
+    private static final Counter LINES_READ = Metrics.counter("parser.lines.read");
+
+    private static final long POLL_INTERVAL_MS = 300;
+    // Octets lus au plus par source et par passage (le reste est lu au passage suivant, sans pause)
+    private static final int MAX_READ_BYTES = 256 * 1024;
+
+    private final EventProcessor eventProcessor;
+    private final Map<Long, Fighter> sharedPlayers = new ConcurrentHashMap<>();
+    private final EventDeduplicator deduplicator = new EventDeduplicator();
+    private final List<Source> sources = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running = false;
+    private Thread ioThread;
+
+    public MultiLogParser(EventProcessor eventProcessor) {
+        this.eventProcessor = eventProcessor;
+        Metrics.gauge("parser.backlog.bytes", this::backlogBytes);
+        Metrics.gauge("parser.sources", sources::size);
+    }
+
+    /**
+     * Ajoute un wakfu.log à suivre. Peut être appelé avant ou pendant la lecture ;
+     * la lecture d'une nouvelle source commence à la fin du fichier.
+     */
+    public void addSource(Path logFilePath) {
+        for (Source s : sources) {
+            if (s.logFile.equals(logFilePath)) return;
+        }
+        sources.add(new Source(logFilePath, newProcessor(deduplicator, sources.size())));
+    }
+
+    public int getSourceCount() {
+        return sources.size();
+    }
+
+    // === Lecture des fichiers en temps réel ===
+    public void start() {
+        if (running) return;
+        running = true;
+        ioThread = new Thread(this::tailLoop, "WakfuLogTailer");
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (ioThread != null && ioThread.isAlive()) ioThread.interrupt();
+    }
+
+    /**
+     * Traite plusieurs fichiers de log complets de façon synchrone, fusionnés par heure de log
+     * (relecture de logs archivés de plusieurs clients).
+     *
+     * @return nombre de lignes lues
+     */
+    public long parseFiles(List<Path> logFiles) throws IOException {
+        List<Source> batch = new ArrayList<>();
+        List<BufferedReader> readers = new ArrayList<>();
+        EventDeduplicator batchDeduplicator = new EventDeduplicator();
+        try {
+            for (Path file : logFiles) {
+                batch.add(new Source(file, newProcessor(batchDeduplicator, batch.size())));
+                readers.add(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+            }
+            long reference = Long.MIN_VALUE;
+            long count = 0;
+            while (true) {
+                // Une ligne d'avance par source suffit à choisir la plus ancienne
+                for (int i = 0; i < batch.size(); i++) {
+                    Source source = batch.get(i);
+                    if (!source.pending.isEmpty()) continue;
+                    String line = readers.get(i).readLine();
+                    if (line == null) continue;
+                    if (reference == Long.MIN_VALUE) reference = LogProcessor.extractLogMillis(line, 0);
+                    LINES_READ.inc();
+                    source.enqueue(line, reference);
+                    count++;
+                }
+                if (!dispatchOldest(batch)) return count;
+            }
+        } finally {
+            for (BufferedReader reader : readers) {
+                try { reader.close(); } catch (IOException ignored) {}
+            }
+        }
+    }
+
+    private LogProcessor newProcessor(EventDeduplicator dedup, int sourceId) {
+        LogProcessor processor = new LogProcessor(eventProcessor, new FighterRegistry(sharedPlayers));
+        processor.setDeduplicator(dedup, sourceId);
+        return processor;
+    }
+
+    private void tailLoop() {
+        try {
+            while (running) {
+                long reference = LocalTime.now().toSecondOfDay() * 1000L;
+                boolean backlog = false;
+                for (Source source : sources) {
+                    try {
+                        backlog |= source.poll(reference);
+                    } catch (IOException e) {
+                        LOG.error("Error reading %s: %s", source.logFile, e.getMessage());
+                        source.close();
+                    }
+                }
+                while (running && dispatchOldest(sources)) {
+                    // Lignes de toutes les sources, dans l'ordre de leur heure de log
+                }
+                if (!backlog) Thread.sleep(POLL_INTERVAL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sources.forEach(Source::close);
+        }
+    }
+
+    /**
+     * Transmet au processeur de sa source la ligne en attente la plus ancienne, toutes sources
+     * confondues ; à heure égale, l'ordre des sources est conservé.
+     *
+     * @return false s'il n'y avait plus aucune ligne en attente
+     */
+    private static boolean dispatchOldest(List<Source> candidates) {
+        Source oldest = null;
+        for (Source source : candidates) {
+            PendingLine head = source.pending.peekFirst();
+            if (head != null && (oldest == null || head.key < oldest.pending.peekFirst().key)) {
+                oldest = source;
+            }
+        }
+        if (oldest == null) return false;
+        oldest.processor.processLine(oldest.pending.pollFirst().text);
+        return true;
+    }
+
+    private long backlogBytes() {
+        long total = 0;
+        for (Source source : sources) total += source.backlogBytes;
+        return total;
+    }
+
+    private record PendingLine(long key, String text) {}
+
+    /**
+     * Un wakfu.log suivi : position de lecture, ligne incomplète en cours d'écriture
+     * et lignes lues pas encore transmises.
+     */
+    private static final class Source {
+        final Path logFile;
+        final LogProcessor processor;
+        final ArrayDeque<PendingLine> pending = new ArrayDeque<>();
+        // Fin de ligne pas encore écrite par le jeu, complétée au passage suivant
+        private final ByteArrayOutputStream partial = new ByteArrayOutputStream();
+        private FileChannel channel;
+        private ByteBuffer buffer;
+        private long position;
+        // Heure continue de la dernière ligne (MIN_VALUE = aucune)
+        private long lastKey = Long.MIN_VALUE;
+        volatile long backlogBytes;
+
+        Source(Path logFile, LogProcessor processor) {
+            this.logFile = logFile;
+            this.processor = processor;
+        }
+
+        /**
+         * Lit les lignes complètes ajoutées depuis le passage précédent.
+         *
+         * @return true s'il reste des octets à lire
+         */
+        boolean poll(long reference) throws IOException {
+            if (channel == null) {
+                if (!Files.exists(logFile)) return false;
+                channel = FileChannel.open(logFile, StandardOpenOption.READ);
+                buffer = ByteBuffer.allocate(MAX_READ_BYTES);
+                position = channel.size(); // commence à la fin
+                partial.reset();
+                LOG.info("Watching log in UTF-8: %s", logFile);
+            }
+
+            long length = channel.size();
+            if (length < position) {
+                position = length; // reset si le log est recréé
+                partial.reset();
+            }
+            if (length > position) {
+                buffer.clear();
+                buffer.limit((int) Math.min(length - position, MAX_READ_BYTES));
+                int read = channel.read(buffer, position);
+                if (read > 0) {
+                    position += read;
+                    splitLines(buffer.array(), read, reference);
+                }
+            }
+            backlogBytes = Math.max(0, length - position);
+            return backlogBytes > 0;
+        }
+
+        private void splitLines(byte[] bytes, int length, long reference) {
+            int start = 0;
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] != '\n') continue;
+                String line;
+                if (partial.size() > 0) {
+                    partial.write(bytes, start, i - start);
+                    line = partial.toString(StandardCharsets.UTF_8);
+                    partial.reset();
+                } else {
+                    line = new String(bytes, start, i - start, StandardCharsets.UTF_8);
+                }
+                LINES_READ.inc();
+                enqueue(line, reference);
+                start = i + 1;
+            }
+            partial.write(bytes, start, length - start);
+        }
+
+        void enqueue(String line, long reference) {
+            String trimmed = line.trim();
+            long base = lastKey != Long.MIN_VALUE ? lastKey : reference;
+            long millis = LogProcessor.extractLogMillis(trimmed, -1);
+            // Une ligne sans horodatage suit la précédente
+            long key = millis < 0 ? base : LogTime.unwrap(millis, base);
+            lastKey = key;
+            pending.addLast(new PendingLine(key, trimmed));
+        }
+
+        void close() {
+            if (channel != null) {
+                try { channel.close(); } catch (IOException ignored) {}
+                channel = null;
+            }
+            backlogBytes = 0;
+        }
+    }
+}
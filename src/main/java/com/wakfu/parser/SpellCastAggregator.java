@@ -1,19 +1,40 @@
 package com.wakfu.parser;
 import com.wakfu.domain.actors.Fighter;
 import com.wakfu.domain.abilities.Element;
-import java.util.Timer;
-import java.util.TimerTask;
+import com.wakfu.metrics.Counter;
+import com.wakfu.metrics.Metrics;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 public class SpellCastAggregator {
     private static final long EMISSION_DELAY_MS = 3000;
+    // Un seul thread partagé pour toutes les émissions différées (au lieu d'un Timer par ligne de dégâts)
+    private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+    private static final Counter CASTS_STARTED = Metrics.counter("aggregator.casts.started");
+    private static final Counter CASTS_EMITTED = Metrics.counter("aggregator.casts.emitted");
+    // Lancers émis par le délai d'inactivité plutôt que par le lancer suivant ou la fin du combat
+    private static final Counter CASTS_DELAYED = Metrics.counter("aggregator.casts.delayed");
+    private static final Counter HITS_ADDED = Metrics.counter("aggregator.hits.added");
     private SpellCastEvent currentSpellCast;
-    private Timer emissionTimer;
+    private ScheduledFuture<?> emissionTask;
     private final Consumer<SpellCastEvent> eventEmitter;
     public SpellCastAggregator(Consumer<SpellCastEvent> eventEmitter) {
         this.eventEmitter = eventEmitter;
     }
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "WakfuSpellCastEmitter");
+            t.setDaemon(true);
+            return t;
+        });
+        // Les reports annulés à chaque ligne ne doivent pas s'accumuler dans la file
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
     public void startNewSpellCast(SpellCastEvent spellCastEvent) {
         flushCurrentSpellCast();
+        CASTS_STARTED.inc();
         this.currentSpellCast = spellCastEvent;
         scheduleEmission();
     }
@@ -25,13 +46,36 @@ public class SpellCastAggregator {
     }
     public void addDamageToCurrentSpell(SpellCastEvent.DamageInstance damage) {
         if (currentSpellCast != null) {
-            currentSpellCast.addDamage(damage.getTarget(), damage.getValue(), damage.getElement());
+            currentSpellCast.markHitRead(Metrics.currentLineNanos());
+            currentSpellCast.addDamage(damage.getTarget(), damage.getValue(), damage.getElement(), damage.getLogMillis());
+            HITS_ADDED.inc();
             rescheduleEmission();
         }
     }
     public void addBonusDamageToCurrentSpell(String effectName, Fighter target, int value, Element element) {
+        addBonusDamageToCurrentSpell(effectName, target, value, element, -1);
+    }
+    public void addBonusDamageToCurrentSpell(String effectName, Fighter target, int value, Element element, long logMillis) {
+        if (currentSpellCast != null) {
+            currentSpellCast.markHitRead(Metrics.currentLineNanos());
+            currentSpellCast.addBonusDamage(effectName, target, value, element, logMillis);
+            HITS_ADDED.inc();
+            rescheduleEmission();
+        }
+    }
+    public void addHealToCurrentSpell(Fighter target, int value, Element element) {
+        if (currentSpellCast != null) {
+            currentSpellCast.markHitRead(Metrics.currentLineNanos());
+            currentSpellCast.addHeal(target, value, element);
+            HITS_ADDED.inc();
+            rescheduleEmission();
+        }
+    }
+    public void addShieldToCurrentSpell(Fighter target, int value, Element element) {
         if (currentSpellCast != null) {
-            currentSpellCast.addBonusDamage(effectName, target, value, element);
+            currentSpellCast.markHitRead(Metrics.currentLineNanos());
+            currentSpellCast.addShield(target, value, element);
+            HITS_ADDED.inc();
             rescheduleEmission();
         }
     }
@@ -48,30 +92,29 @@ public class SpellCastAggregator {
     }
     private void scheduleEmission() {
         cancelTimer();
-        emissionTimer = new Timer(true);
-        emissionTimer.schedule(new TimerTask() {
-            public void run() {
-                synchronized (SpellCastAggregator.this) {
-                    if (currentSpellCast != null) {
-                        emitSpellCast(currentSpellCast);
-                        currentSpellCast = null;
-                    }
+        emissionTask = SCHEDULER.schedule(() -> {
+            synchronized (SpellCastAggregator.this) {
+                if (currentSpellCast != null) {
+                    CASTS_DELAYED.inc();
+                    emitSpellCast(currentSpellCast);
+                    currentSpellCast = null;
                 }
             }
-        }, EMISSION_DELAY_MS);
+        }, EMISSION_DELAY_MS, TimeUnit.MILLISECONDS);
     }
     private void rescheduleEmission() {
         scheduleEmission();
     }
     private void cancelTimer() {
-        if (emissionTimer != null) {
-            emissionTimer.cancel();
-            emissionTimer = null;
+        if (emissionTask != null) {
+            emissionTask.cancel(false);
+            emissionTask = null;
         }
     }
     private void emitSpellCast(SpellCastEvent spellCast) {
+        CASTS_EMITTED.inc();
         if (eventEmitter != null) {
             eventEmitter.accept(spellCast);
         }
     }
-}
\ No newline at end of file
+}
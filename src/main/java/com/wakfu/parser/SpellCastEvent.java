@@ -18,6 +18,11 @@ public class SpellCastEvent {
     private int totalPaRegained = 0;
     private final List<DamageInstance> damageInstances = new ArrayList<>();
     private final List<BonusDamageInstance> bonusDamageInstances = new ArrayList<>();
+    // Soins et armures du lancer (même structure que les dégâts : cible, valeur, élément)
+    private final List<DamageInstance> healInstances = new ArrayList<>();
+    private final List<DamageInstance> shieldInstances = new ArrayList<>();
+    // Instant de lecture (System.nanoTime) de la ligne du premier coup, 0 = inconnu
+    private long firstHitNanos = 0;
 
     public SpellCastEvent(LocalDateTime timestamp, Fighter caster, Ability ability, Integer baseCost) {
         this.castId = UUID.randomUUID().toString();
@@ -27,16 +32,43 @@ public class SpellCastEvent {
         this.baseCost = baseCost;
     }
     
+    /**
+     * Retient l'instant de lecture de la ligne d'un coup, s'il est le premier du lancer.
+     */
+    public void markHitRead(long nanos) {
+        if (firstHitNanos == 0) firstHitNanos = nanos;
+    }
+
+    public long getFirstHitNanos() {
+        return firstHitNanos;
+    }
+
     public void addPaRegain(int paAmount) {
         this.totalPaRegained += paAmount;
     }
     
     public void addDamage(Fighter target, int value, Element element) {
-        damageInstances.add(new DamageInstance(target, value, element));
+        addDamage(target, value, element, -1);
+    }
+
+    public void addDamage(Fighter target, int value, Element element, long logMillis) {
+        damageInstances.add(new DamageInstance(target, value, element, logMillis));
     }
     
     public void addBonusDamage(String effectName, Fighter target, int value, Element element) {
-        bonusDamageInstances.add(new BonusDamageInstance(effectName, target, value, element));
+        addBonusDamage(effectName, target, value, element, -1);
+    }
+
+    public void addBonusDamage(String effectName, Fighter target, int value, Element element, long logMillis) {
+        bonusDamageInstances.add(new BonusDamageInstance(effectName, target, value, element, logMillis));
+    }
+
+    public void addHeal(Fighter target, int value, Element element) {
+        healInstances.add(new DamageInstance(target, value, element));
+    }
+
+    public void addShield(Fighter target, int value, Element element) {
+        shieldInstances.add(new DamageInstance(target, value, element));
     }
 
     public String getCastId() {
@@ -87,15 +119,46 @@ public class SpellCastEvent {
         return !bonusDamageInstances.isEmpty();
     }
 
+    public List<DamageInstance> getHealInstances() {
+        return healInstances;
+    }
+
+    public List<DamageInstance> getShieldInstances() {
+        return shieldInstances;
+    }
+
+    public int getTotalHeal() {
+        return healInstances.stream().mapToInt(DamageInstance::getValue).sum();
+    }
+
+    public int getTotalShield() {
+        return shieldInstances.stream().mapToInt(DamageInstance::getValue).sum();
+    }
+
+    public boolean hasHeal() {
+        return !healInstances.isEmpty();
+    }
+
+    public boolean hasShield() {
+        return !shieldInstances.isEmpty();
+    }
+
     public static class DamageInstance {
         private final Fighter target;
         private final int value;
         private final Element element;
+        // Heure de la ligne de dégâts (ms depuis minuit, -1 = inconnue)
+        private final long logMillis;
         
         public DamageInstance(Fighter target, int value, Element element) {
+            this(target, value, element, -1);
+        }
+
+        public DamageInstance(Fighter target, int value, Element element, long logMillis) {
             this.target = target;
             this.value = value;
             this.element = element;
+            this.logMillis = logMillis;
         }
         
         public Fighter getTarget() {
@@ -109,6 +172,10 @@ public class SpellCastEvent {
         public Element getElement() {
             return element;
         }
+
+        public long getLogMillis() {
+            return logMillis;
+        }
     }
 
     public static class BonusDamageInstance {
@@ -116,12 +183,18 @@ public class SpellCastEvent {
         private final Fighter target;
         private final int value;
         private final Element element;
+        private final long logMillis;
 
         public BonusDamageInstance(String effectName, Fighter target, int value, Element element) {
+            this(effectName, target, value, element, -1);
+        }
+
+        public BonusDamageInstance(String effectName, Fighter target, int value, Element element, long logMillis) {
             this.effectName = effectName;
             this.target = target;
             this.value = value;
             this.element = element;
+            this.logMillis = logMillis;
         }
 
         public String getEffectName() {
@@ -139,6 +212,10 @@ public class SpellCastEvent {
         public Element getElement() {
             return element;
         }
+
+        public long getLogMillis() {
+            return logMillis;
+        }
     }
 }
 
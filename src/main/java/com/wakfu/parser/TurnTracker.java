@@ -1,12 +1,19 @@
 package com.wakfu.parser;
 
 import com.wakfu.domain.event.BattleEvent;
-import com.wakfu.service.EventProcessor;
+import com.wakfu.domain.event.LogEvent;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class TurnTracker {
+    private static final Logger LOG = Log.get("Parser");
+    private static final Logger ROUND_LOG = Log.get("Round");
+    private static final Logger TURN_LOG = Log.get("Turn");
+
     private String currentPlayerTurn;
     private int roundNumber = 1;
     private final Set<String> playersThisRound = new HashSet<>();
@@ -18,33 +25,34 @@ public class TurnTracker {
 
     private static final int MIN_PLAYERS_FOR_ROUND = 2;
 
-    private final EventProcessor eventProcessor;
+    // Émission des événements de round / tour (via le LogProcessor de la source)
+    private final Consumer<LogEvent> emitter;
     private final FighterRegistry fighterRegistry;
 
-    public TurnTracker(EventProcessor eventProcessor, FighterRegistry fighterRegistry) {
-        this.eventProcessor = eventProcessor;
+    public TurnTracker(Consumer<LogEvent> emitter, FighterRegistry fighterRegistry) {
+        this.emitter = emitter;
         this.fighterRegistry = fighterRegistry;
     }
 
     public void markPlayerKO(String playerName) {
         playersKO.add(playerName);
-        System.out.printf("[Parser] %s est KO (ne jouera plus ce combat)%n", playerName);
+        LOG.debug("%s est KO (ne jouera plus ce combat)", playerName);
 
         if (playerName.equals(currentPlayerTurn)) {
-            System.out.printf("[Parser] Tour de %s terminé (KO)%n", currentPlayerTurn);
+            LOG.trace("Tour de %s terminé (KO)", currentPlayerTurn);
             currentPlayerTurn = null;
         }
     }
 
     public void revivePlayer(String playerName) {
         if (playersKO.remove(playerName)) {
-            System.out.printf("[Parser] %s est ressuscité (peut rejouer)%n", playerName);
+            LOG.debug("%s est ressuscité (peut rejouer)", playerName);
         }
     }
 
     public void endCurrentTurn() {
         if (currentPlayerTurn != null) {
-            System.out.printf("[Parser] Tour de %s terminé%n", currentPlayerTurn);
+            LOG.trace("Tour de %s terminé", currentPlayerTurn);
             currentPlayerTurn = null;
         }
     }
@@ -54,7 +62,7 @@ public class TurnTracker {
         lastActivityTime = currentTime;
 
         if (playersKO.contains(playerName)) {
-            System.out.printf("[Parser] IGNORED cast from KO player: %s%n", playerName);
+            LOG.trace("IGNORED cast from KO player: %s", playerName);
             return;
         }
 
@@ -62,15 +70,15 @@ public class TurnTracker {
             if (playersThisRound.isEmpty()) {
                 firstPlayerThisRound = playerName;
                 turnOrderThisRound.clear();
-                eventProcessor.process(new BattleEvent(LocalDateTime.now(),
+                emitter.accept(new BattleEvent(LocalDateTime.now(),
                         BattleEvent.BattleState.ROUND_START, roundNumber));
-                System.out.println("[Round] >>> ROUND " + roundNumber + " START <<<");
+                ROUND_LOG.debug(">>> ROUND %d START <<<", roundNumber);
             }
 
             if (currentPlayerTurn != null && !currentPlayerTurn.equals(playerName)) {
-                eventProcessor.process(new BattleEvent(LocalDateTime.now(),
+                emitter.accept(new BattleEvent(LocalDateTime.now(),
                         BattleEvent.BattleState.END_TURN, currentPlayerTurn));
-                System.out.println("[Turn] <<< " + currentPlayerTurn + " END TURN <<<");
+                TURN_LOG.trace("<<< %s END TURN <<<", currentPlayerTurn);
             }
 
             currentPlayerTurn = playerName;
@@ -78,9 +86,9 @@ public class TurnTracker {
             turnOrderThisRound.add(playerName);
             lastTurnStartTime = currentTime;
 
-            eventProcessor.process(new BattleEvent(LocalDateTime.now(),
+            emitter.accept(new BattleEvent(LocalDateTime.now(),
                     BattleEvent.BattleState.START_TURN, playerName));
-            System.out.println("[Turn] >>> " + playerName + " START TURN <<<");
+            TURN_LOG.trace(">>> %s START TURN <<<", playerName);
 
             checkRoundEnd(playerName);
         }
@@ -111,11 +119,14 @@ public class TurnTracker {
         }
 
         if (shouldEndRound) {
-            eventProcessor.process(new BattleEvent(LocalDateTime.now(),
+            emitter.accept(new BattleEvent(LocalDateTime.now(),
                     BattleEvent.BattleState.ROUND_END, roundNumber));
-            System.out.println("[Round] <<< ROUND " + roundNumber + " END (" + endReason + ") <<<");
-            System.out.println("[Round] Players who played: " + playersThisRound);
-            System.out.println("[Round] Turn order: " + turnOrderThisRound);
+            ROUND_LOG.debug("<<< ROUND %d END (%s) <<<", roundNumber, endReason);
+            if (ROUND_LOG.isDebugEnabled()) {
+                // Copies : les messages sont formatés plus tard, sur le thread du logger
+                ROUND_LOG.debug("Players who played: %s", List.copyOf(playersThisRound));
+                ROUND_LOG.debug("Turn order: %s", List.copyOf(turnOrderThisRound));
+            }
 
             roundNumber++;
             playersThisRound.clear();
@@ -1,30 +1,130 @@
 package com.wakfu.service;
 
+import com.wakfu.domain.model.DpsTimeSeries;
+import com.wakfu.domain.model.FightChange;
+import com.wakfu.domain.model.FightJournal;
 import com.wakfu.domain.model.FightModel;
 import com.wakfu.domain.model.PlayerStats;
 import com.wakfu.domain.model.SpellStats;
 import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.event.EventType;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
+import com.wakfu.storage.FightJournalStore;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
- * Classe utilitaire stateless permettant de calculer et agréger
- * les statistiques du modèle de combat pour l'affichage ou l'analyse.
+ * Calcule et agrège les statistiques du modèle de combat pour l'affichage ou l'analyse.
+ * Les requêtes portent sur le journal du combat ; pour le combat suivi ({@link #follow}),
+ * le total et la répartition par élément des dégâts sont tenus à jour au fil des événements.
  */
 public class DamageCalculator {
 
+    private static final Logger LOG = Log.get("DamageCalculator");
+    private static final Element[] ELEMENTS = Element.values();
+
     // État cache optionnel (peut être nul)
     private FightModel lastModel;
 
+    // Combat suivi (voir follow) : ses dégâts sont cumulés au fil des FightChange
+    private FightModel followed;
+    // Génération du journal et nombre de ses lignes déjà cumulées
+    private int followedGeneration = -1;
+    private int followedRows = 0;
+    private long followedDamage;
+    private final long[] followedDamageByElement = new long[ELEMENTS.length];
+    private final int[] followedHitsByElement = new int[ELEMENTS.length];
+
+    /**
+     * Requête sur le journal des événements du combat (vue figée au moment de l'appel).
+     */
+    public JournalQuery query(FightModel fight) {
+        return JournalQuery.over(fight != null ? fight.getJournal().snapshot() : null);
+    }
+
+    /**
+     * Requête sur le journal enregistré d'un combat de l'historique ({@link FightJournalStore}),
+     * ou null si ce combat n'a pas de journal enregistré.
+     */
+    public JournalQuery query(long fightId) {
+        FightJournal.Columns columns = FightJournalStore.read(fightId);
+        return columns != null ? JournalQuery.over(columns) : null;
+    }
+
+    /**
+     * Suit le combat courant de l'EventProcessor : total et répartition par élément de ses
+     * dégâts sont ensuite tenus à jour à chaque {@link FightChange} au lieu d'être recalculés
+     * depuis le journal à chaque rafraîchissement.
+     *
+     * <p>Chaque changement cumule les lignes du journal ajoutées depuis le précédent : une ligne
+     * n'est comptée qu'une fois, même si elle est écrite pendant l'abonnement.</p>
+     */
+    public void follow(EventProcessor processor) {
+        FightModel fight = processor.getCurrentFight();
+        processor.addChangeListener(this::onChange);
+        synchronized (this) {
+            followed = fight;
+            clearFollowed();
+            catchUp();
+        }
+    }
+
+    private synchronized void onChange(FightChange change) {
+        if (followed == null) return;
+        switch (change) {
+            case FightChange.FightReset reset -> catchUp();
+            case FightChange.SpellRowChanged row when row.type() == EventType.DAMAGE -> catchUp();
+            default -> { }
+        }
+    }
+
+    /**
+     * Cumule les dégâts des lignes du journal pas encore lues (tout le journal s'il a été vidé).
+     */
+    private void catchUp() {
+        FightJournal journal = followed.getJournal();
+        FightJournal.Columns columns;
+        int generation;
+        synchronized (journal) {
+            columns = journal.snapshot();
+            generation = journal.getGeneration();
+        }
+        if (generation != followedGeneration || columns.total() < followedRows) {
+            clearFollowed();
+            followedGeneration = generation;
+        }
+        byte damage = (byte) EventType.DAMAGE.ordinal();
+        byte[] kind = columns.kind();
+        byte[] element = columns.element();
+        int[] value = columns.value();
+        // Position suivie sur le total écrit : des lignes anciennes ont pu être retirées du journal
+        for (int i = Math.max(0, followedRows - columns.offset()); i < columns.size(); i++) {
+            if (kind[i] != damage) continue;
+            followedDamage += value[i];
+            followedDamageByElement[element[i]] += value[i];
+            followedHitsByElement[element[i]]++;
+        }
+        followedRows = columns.total();
+    }
+
+    private void clearFollowed() {
+        followedRows = 0;
+        followedDamage = 0;
+        Arrays.fill(followedDamageByElement, 0);
+        Arrays.fill(followedHitsByElement, 0);
+    }
+
     /**
      * Calcule les dégâts totaux infligés par tous les joueurs.
      */
     public int getTotalDamage(FightModel fight) {
         if (fight == null) return 0;
-        return fight.getStatsByPlayer().values().stream()
-                .mapToInt(PlayerStats::getTotalDamage)
-                .sum();
+        synchronized (this) {
+            if (fight == followed) return (int) followedDamage;
+        }
+        return (int) query(fight).type(EventType.DAMAGE).run().getTotal();
     }
 
     /**
@@ -44,14 +144,17 @@ public class DamageCalculator {
         Map<Element, Integer> result = new EnumMap<>(Element.class);
 
         if (fight == null) return result;
-
-        fight.getStatsByPlayer().values().forEach(stats -> {
-            stats.getSpells().values().forEach(spell -> {
-                spell.getDamageByElement().forEach((element, dmg) ->
-                        result.merge(element, dmg, Integer::sum)
-                );
-            });
-        });
+        synchronized (this) {
+            if (fight == followed) {
+                for (Element e : ELEMENTS) {
+                    if (followedHitsByElement[e.ordinal()] > 0) result.put(e, (int) followedDamageByElement[e.ordinal()]);
+                }
+                return result;
+            }
+        }
+
+        query(fight).type(EventType.DAMAGE).groupBy(JournalQuery.Dimension.ELEMENT).run().getRows()
+                .forEach(row -> result.put(Element.valueOf(row.keys()[0]), (int) row.sum()));
 
         return result;
     }
@@ -80,20 +183,28 @@ public class DamageCalculator {
     }
 
     /**
-     * Calcule le DPS moyen d’un joueur (simple approximation).
+     * Calcule le DPS moyen d’un joueur : dégâts totaux sur la durée du combat d'après
+     * les heures de log.
      */
     public double getPlayerDps(PlayerStats player, FightModel fight) {
-        if (fight == null || player == null || fight.getRounds().isEmpty()) return 0.0;
-        int totalDamage = player.getTotalDamage();
-        int totalRounds = fight.getRounds().size();
-        return totalRounds > 0 ? (double) totalDamage / totalRounds : totalDamage;
+        if (fight == null || player == null) return 0.0;
+        return player.getTotalDamage() / fight.getFightSeconds();
+    }
+
+    /**
+     * DPS d’un joueur sur les {@code windowSeconds} dernières secondes de log du combat.
+     */
+    public double getRollingDps(PlayerStats player, FightModel fight, int windowSeconds) {
+        if (fight == null || player == null) return 0.0;
+        DpsTimeSeries series = fight.getDpsSeries(player.getPlayer().getName());
+        return series == null ? 0.0 : series.getRollingDps(fight.getLastLogTime(), windowSeconds);
     }
 
     // === Méthodes pour s'intégrer à la chaîne d'events ===
     public void refreshFromModel(FightModel model) {
         this.lastModel = model; // conserve le modèle si utile
-        // calculs paresseux possibles ici, mais on laisse DamageCalculator stateless pour l'instant
-        System.out.println("[DamageCalculator] Models refreshed");
+        // Les totaux du combat suivi sont déjà à jour (voir follow) : rien à recalculer ici
+        LOG.trace("Models refreshed");
     }
 
 
@@ -5,14 +5,23 @@ import com.wakfu.domain.event.BattleEvent;
 import com.wakfu.domain.event.CombatEvent;
 import com.wakfu.domain.event.LogEvent;
 import com.wakfu.data.MessageProvider;
+import com.wakfu.domain.model.FightChange;
 import com.wakfu.domain.model.FightModel;
+import com.wakfu.domain.model.FighterCounters;
 import com.wakfu.domain.model.PlayerStats;
+import com.wakfu.metrics.Counter;
+import com.wakfu.metrics.LatencyHistogram;
+import com.wakfu.metrics.Metrics;
 import com.wakfu.storage.FightHistoryManager;
 
 import java.util.function.Consumer;
 
 public class EventProcessor {
 
+    private static final Counter EVENTS_PROCESSED = Metrics.counter("events.processed");
+    // Inclut la notification des listeners (calculateur, UI)
+    private static final LatencyHistogram EVENT_LATENCY = Metrics.histogram("events.process.latency");
+
     private final FightModel currentFight = new FightModel();
 
     // Hook pour que l'UI/DamageCalculator s'abonne au modèle
@@ -24,6 +33,17 @@ public class EventProcessor {
         currentFight.removeListener(listener);
     }
 
+    /**
+     * Abonnement aux changements élémentaires du combat courant (voir {@link FightChange}).
+     */
+    public void addChangeListener(Consumer<? super FightChange> listener) {
+        currentFight.addChangeListener(listener);
+    }
+
+    public void removeChangeListener(Consumer<? super FightChange> listener) {
+        currentFight.removeChangeListener(listener);
+    }
+
     // Status listener pour messages texte destinés à l'UI
     private Consumer<String> statusListener;
 
@@ -48,11 +68,31 @@ public class EventProcessor {
         return historyEnabled;
     }
 
+    // Enregistrement des dégâts subis par les joueurs / infligés par les ennemis
+    private volatile boolean damageTakenTracking = true;
+
+    public void setDamageTakenTracking(boolean enabled) {
+        this.damageTakenTracking = enabled;
+    }
+
+    public boolean isDamageTakenTracking() {
+        return damageTakenTracking;
+    }
+
+    /**
+     * Nombre de rounds conservés en détail dans le combat courant (0 = illimité).
+     */
+    public void setRoundDetailLimit(int limit) {
+        currentFight.setRoundDetailLimit(limit);
+    }
+
     public void onEvent(LogEvent event) {
         process(event);
     }
 
     public void process(LogEvent event) {
+        long start = System.nanoTime();
+        EVENTS_PROCESSED.inc();
         if (event instanceof BattleEvent) {
             handleBattleEvent((BattleEvent) event);
         } else if (event instanceof CombatEvent) {
@@ -60,6 +100,7 @@ public class EventProcessor {
         } else if (event instanceof com.wakfu.domain.event.BonusDamageEvent) {
             handleBonusDamageEvent((com.wakfu.domain.event.BonusDamageEvent) event);
         }
+        EVENT_LATENCY.recordSince(start);
     }
 
     // Hook appelé au démarrage d'un combat (START) pour permettre à l'UI/damageCalculator
@@ -73,7 +114,9 @@ public class EventProcessor {
         switch (event.getState()) {
             case START: {
                 currentFight.reset();
+                currentFight.setFightId(event.getFightId());
                 currentFight.setStartTime(event.getTimestamp());
+                currentFight.toLogTime(logMillisOf(event));
                 // Signaler le status avant le reset hook
                 fireStatus(MessageProvider.combatInProgress());
                 // Appeler le hook de démarrage de combat (si configuré) afin que l'UI et
@@ -81,17 +124,24 @@ public class EventProcessor {
                 if (onBattleStart != null) {
                     try { onBattleStart.run(); } catch (Exception ignored) {}
                 }
+                if (currentFight.hasChangeListeners()) {
+                    currentFight.fireChange(new FightChange.FightStarted(currentFight.getFightId()));
+                }
                 // Après le reset des composants, notifier les listeners du modèle
                 currentFight.notifyListeners();
                 break;
             }
             case END: {
                 currentFight.setEndTime(event.getTimestamp());
+                currentFight.toLogTime(logMillisOf(event));
                 currentFight.notifyListeners();
                 // Sauvegarde automatique du combat uniquement si activée
                 if (historyEnabled) {
                     try { FightHistoryManager.saveFight(currentFight); } catch (Exception ignored) {}
                 }
+                if (currentFight.hasChangeListeners()) {
+                    currentFight.fireChange(new FightChange.FightEnded(currentFight.getFightId()));
+                }
                 fireStatus(MessageProvider.waitingCombat());
                 break;
             }
@@ -106,6 +156,7 @@ public class EventProcessor {
             case START_TURN: {
                 if (event.getPlayerName() != null) {
                     Player p = new Player(event.getPlayerName(), -1, Player.FighterType.PLAYER);
+                    currentFight.startTurnSeries(p.getName(), logMillisOf(event));
                     currentFight.startTurn(p);
                 }
                 break;
@@ -113,6 +164,7 @@ public class EventProcessor {
             case END_TURN: {
                 if (event.getPlayerName() != null) {
                     Player p = new Player(event.getPlayerName(), -1, Player.FighterType.PLAYER);
+                    currentFight.endTurnSeries(p.getName(), logMillisOf(event));
                     currentFight.endTurn(p);
                 }
                 break;
@@ -121,13 +173,17 @@ public class EventProcessor {
     }
 
     private void handleCombatEvent(CombatEvent event) {
+        if (event.getType() == com.wakfu.domain.event.EventType.DAMAGE_TAKEN) {
+            handleDamageTaken(event);
+            return;
+        }
+
         // caster may be NPC; only process if caster is Player
         if (event.getCaster() instanceof Player) {
             Player caster = (Player) event.getCaster();
 
             // Récupère ou crée le PlayerStats correspondant au niveau du combat
-            PlayerStats stats = currentFight.getStatsByPlayer()
-                    .computeIfAbsent(caster.getName(), name -> new PlayerStats(caster));
+            PlayerStats stats = currentFight.getOrCreatePlayerStats(caster);
 
             // Également update les stats du round courant si un round est actif
             com.wakfu.domain.model.RoundModel currentRound = currentFight.getCurrentRoundModel();
@@ -140,14 +196,22 @@ public class EventProcessor {
                 case DAMAGE:
                     stats.addDamage(event);
                     if (roundStats != null) roundStats.addDamage(event);
+                    recordInMatrix(caster, event.getTarget(), event.getAbility() != null ? event.getAbility().getName() : "Inconnu", event.getValue());
+                    currentFight.recordDamage(caster.getName(), logMillisOf(event), event.getValue());
+                    recordInJournal(event);
+                    fireStatChange(caster.getName(), event, stats.getTotalDamage());
                     break;
                 case HEAL:
                     stats.addHeal(event);
                     if (roundStats != null) roundStats.addHeal(event);
+                    recordInJournal(event);
+                    fireStatChange(caster.getName(), event, stats.getTotalHeal());
                     break;
                 case SHIELD:
                     stats.addShield(event);
                     if (roundStats != null) roundStats.addShield(event);
+                    recordInJournal(event);
+                    fireStatChange(caster.getName(), event, stats.getTotalShield());
                     break;
                 default:
                     break;
@@ -158,12 +222,66 @@ public class EventProcessor {
         }
     }
 
+    /**
+     * Émet le nouveau total du joueur et la ligne de sort touchée par l'événement.
+     */
+    private void fireStatChange(String player, CombatEvent event, int total) {
+        if (!currentFight.hasChangeListeners()) return;
+        currentFight.fireChange(new FightChange.PlayerStatChanged(player, event.getType(), event.getValue(), total));
+        currentFight.fireChange(new FightChange.SpellRowChanged(player,
+                event.getAbility() != null ? event.getAbility().getName() : "Inconnu",
+                event.getType(), event.getElement(), event.getValue(), currentFight.getRoundCount()));
+    }
+
+    private void recordInMatrix(Player caster, com.wakfu.domain.actors.Fighter target, String spellName, int value) {
+        if (target == null) return;
+        currentFight.getDamageMatrix().add(caster.getName(), target.getName(), spellName, value);
+    }
+
+    private void recordInJournal(CombatEvent event) {
+        currentFight.getJournal().append(
+                currentFight.toLogTime(logMillisOf(event)),
+                event.getType(),
+                event.getCaster() != null ? event.getCaster().getName() : null,
+                event.getTarget() != null ? event.getTarget().getName() : null,
+                event.getAbility() != null ? event.getAbility().getName() : "Inconnu",
+                event.getValue(),
+                event.getElement(),
+                event.getCastId(),
+                currentFight.getRoundCount());
+    }
+
+    /**
+     * Heure de log de l'événement (ms depuis minuit), à défaut celle de son horodatage.
+     */
+    private static long logMillisOf(LogEvent event) {
+        if (event.getLogMillis() >= 0 || event.getTimestamp() == null) return Math.max(0, event.getLogMillis());
+        return event.getTimestamp().toLocalTime().toNanoOfDay() / 1_000_000L;
+    }
+
+    private void handleDamageTaken(CombatEvent event) {
+        if (!damageTakenTracking || event.getTarget() == null) return;
+
+        FighterCounters taken = currentFight.getOrCreateCounters(event.getTarget().getName(), false);
+        taken.addTaken(event.getElement(), event.getValue());
+        if (event.getCaster() != null && event.getCaster().isControlledByAI()) {
+            currentFight.getOrCreateCounters(event.getCaster().getName(), true)
+                    .addDealt(event.getElement(), event.getValue());
+        }
+        recordInJournal(event);
+        if (currentFight.hasChangeListeners()) {
+            currentFight.fireChange(new FightChange.PlayerStatChanged(event.getTarget().getName(),
+                    event.getType(), event.getValue(), taken.getTotalTaken()));
+        }
+
+        currentFight.notifyListeners();
+    }
+
     private void handleBonusDamageEvent(com.wakfu.domain.event.BonusDamageEvent event) {
         if (event.getCaster() instanceof Player) {
             Player caster = (Player) event.getCaster();
 
-            PlayerStats stats = currentFight.getStatsByPlayer()
-                    .computeIfAbsent(caster.getName(), name -> new PlayerStats(caster));
+            PlayerStats stats = currentFight.getOrCreatePlayerStats(caster);
 
             com.wakfu.domain.model.RoundModel currentRound = currentFight.getCurrentRoundModel();
             PlayerStats roundStats = null;
@@ -172,9 +290,28 @@ public class EventProcessor {
             }
 
             stats.addBonusDamage(event.getEffectName(), event.getElement(), event.getValue());
+            recordInMatrix(caster, event.getTarget(), event.getEffectName(), event.getValue());
+            currentFight.recordDamage(caster.getName(), logMillisOf(event), event.getValue());
+            currentFight.getJournal().append(
+                    currentFight.toLogTime(logMillisOf(event)),
+                    com.wakfu.domain.event.EventType.BONUS_DAMAGE,
+                    caster.getName(),
+                    event.getTarget() != null ? event.getTarget().getName() : null,
+                    event.getEffectName(),
+                    event.getValue(),
+                    event.getElement(),
+                    event.getCastId(),
+                    currentFight.getRoundCount());
             if (roundStats != null) {
                 roundStats.addBonusDamage(event.getEffectName(), event.getElement(), event.getValue());
             }
+            if (currentFight.hasChangeListeners()) {
+                currentFight.fireChange(new FightChange.PlayerStatChanged(caster.getName(),
+                        com.wakfu.domain.event.EventType.BONUS_DAMAGE, event.getValue(), stats.getTotalBonusDamage()));
+                currentFight.fireChange(new FightChange.SpellRowChanged(caster.getName(), event.getEffectName(),
+                        com.wakfu.domain.event.EventType.BONUS_DAMAGE, event.getElement(), event.getValue(),
+                        currentFight.getRoundCount()));
+            }
 
             currentFight.notifyListeners();
         }
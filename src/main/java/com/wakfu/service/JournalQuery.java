@@ -0,0 +1,399 @@
+package com.wakfu.service;
+
+import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.event.EventType;
+import com.wakfu.domain.model.FightJournal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Requête ad hoc sur le journal d'un combat : filtres, regroupement sur une ou plusieurs
+ * dimensions et agrégats somme / nombre / maximum, par exemple « dégâts par élément et par
+ * round du joueur X sur la cible Y ».
+ *
+ * <p>L'exécution parcourt les colonnes par blocs : chaque filtre réduit un vecteur de sélection
+ * d'indices en une boucle serrée sur sa seule colonne, puis les clés de groupe sont composées
+ * dimension par dimension et les agrégats cumulés dans des tableaux denses (ou une table si le
+ * nombre de groupes possibles est trop grand).</p>
+ *
+ * <pre>
+ * JournalQuery.over(model.getJournal().snapshot())
+ *         .type(EventType.DAMAGE).caster("X").target("Y")
+ *         .groupBy(Dimension.ELEMENT, Dimension.ROUND)
+ *         .run();
+ * </pre>
+ */
+public class JournalQuery {
+
+    public enum Dimension { CASTER, TARGET, SPELL, ELEMENT, ROUND, TYPE, TIME }
+
+    // Libellé des lanceurs / cibles / sorts absents du journal
+    public static final String UNKNOWN = "Inconnu";
+
+    private static final int BATCH = 4096;
+    // Au-delà, les groupes sont cumulés dans une table plutôt que dans des tableaux denses
+    private static final int MAX_DENSE_GROUPS = 1 << 20;
+    private static final Element[] ELEMENTS = Element.values();
+    private static final EventType[] TYPES = EventType.values();
+
+    private final FightJournal.Columns columns;
+    private final List<Filter> filters = new ArrayList<>();
+    private Dimension[] groupBy = new Dimension[0];
+    private long timeBucketMillis = 1_000;
+
+    private JournalQuery(FightJournal.Columns columns) {
+        this.columns = columns != null ? columns : FightJournal.Columns.empty();
+    }
+
+    public static JournalQuery over(FightJournal.Columns columns) {
+        return new JournalQuery(columns);
+    }
+
+    // === Filtres (cumulés en ET ; plusieurs valeurs d'un même filtre en OU) ===
+
+    public JournalQuery type(EventType... types) {
+        boolean[] allowed = new boolean[TYPES.length];
+        for (EventType t : types) allowed[t.ordinal()] = true;
+        filters.add(new ByteIn(Dimension.TYPE, allowed));
+        return this;
+    }
+
+    public JournalQuery element(Element... elements) {
+        boolean[] allowed = new boolean[ELEMENTS.length];
+        for (Element e : elements) allowed[e.ordinal()] = true;
+        filters.add(new ByteIn(Dimension.ELEMENT, allowed));
+        return this;
+    }
+
+    public JournalQuery caster(String... names) {
+        filters.add(new IdIn(Dimension.CASTER, idSet(names, columns.fighters())));
+        return this;
+    }
+
+    public JournalQuery target(String... names) {
+        filters.add(new IdIn(Dimension.TARGET, idSet(names, columns.fighters())));
+        return this;
+    }
+
+    public JournalQuery spell(String... names) {
+        filters.add(new IdIn(Dimension.SPELL, idSet(names, columns.spells())));
+        return this;
+    }
+
+    /**
+     * Rounds compris entre {@code from} et {@code to} inclus.
+     */
+    public JournalQuery rounds(int from, int to) {
+        filters.add(new RoundRange(from, to));
+        return this;
+    }
+
+    /**
+     * Événements dont l'heure (axe continu du combat) est dans {@code [fromMillis, toMillis]}.
+     */
+    public JournalQuery between(long fromMillis, long toMillis) {
+        filters.add(new TimeRange(fromMillis, toMillis));
+        return this;
+    }
+
+    public JournalQuery groupBy(Dimension... dimensions) {
+        this.groupBy = dimensions.clone();
+        return this;
+    }
+
+    /**
+     * Largeur des tranches de la dimension {@link Dimension#TIME} (1 s par défaut).
+     */
+    public JournalQuery setTimeBucketMillis(long millis) {
+        this.timeBucketMillis = Math.max(1, millis);
+        return this;
+    }
+
+    // === Exécution ===
+
+    public Result run() {
+        int n = columns.size();
+        long minTime = 0;
+        int maxRound = 0;
+        for (Dimension d : groupBy) {
+            if (d == Dimension.TIME) minTime = minTime(n);
+            if (d == Dimension.ROUND) maxRound = maxRound(n);
+        }
+
+        int[] cards = new int[groupBy.length];
+        long groups = 1;
+        for (int k = 0; k < groupBy.length; k++) {
+            cards[k] = cardinality(groupBy[k], n, minTime, maxRound);
+            groups *= Math.max(1, cards[k]);
+        }
+        Accumulator acc = groups <= MAX_DENSE_GROUPS ? new DenseAccumulator((int) groups) : new HashAccumulator();
+
+        int[] sel = new int[BATCH];
+        long[] keys = new long[BATCH];
+        int[] value = columns.value();
+        for (int start = 0; start < n; start += BATCH) {
+            int end = Math.min(n, start + BATCH);
+            int count = end - start;
+            for (int i = 0; i < count; i++) sel[i] = start + i;
+            for (Filter f : filters) {
+                count = f.apply(columns, sel, count);
+                if (count == 0) break;
+            }
+            if (count == 0) continue;
+
+            Arrays.fill(keys, 0, count, 0L);
+            for (int k = 0; k < groupBy.length; k++) {
+                addKeyDigit(groupBy[k], cards[k], sel, keys, count, minTime);
+            }
+            for (int i = 0; i < count; i++) acc.add(keys[i], value[sel[i]]);
+        }
+        return acc.toResult(cards, minTime);
+    }
+
+    private void addKeyDigit(Dimension d, int card, int[] sel, long[] keys, int count, long minTime) {
+        switch (d) {
+            case CASTER -> { int[] c = columns.caster(); for (int i = 0; i < count; i++) keys[i] = keys[i] * card + c[sel[i]] + 1; }
+            case TARGET -> { int[] c = columns.target(); for (int i = 0; i < count; i++) keys[i] = keys[i] * card + c[sel[i]] + 1; }
+            case SPELL -> { int[] c = columns.spell(); for (int i = 0; i < count; i++) keys[i] = keys[i] * card + c[sel[i]] + 1; }
+            case ELEMENT -> { byte[] c = columns.element(); for (int i = 0; i < count; i++) keys[i] = keys[i] * card + c[sel[i]]; }
+            case TYPE -> { byte[] c = columns.kind(); for (int i = 0; i < count; i++) keys[i] = keys[i] * card + c[sel[i]]; }
+            case ROUND -> { int[] c = columns.round(); for (int i = 0; i < count; i++) keys[i] = keys[i] * card + c[sel[i]]; }
+            case TIME -> {
+                long[] c = columns.time();
+                for (int i = 0; i < count; i++) keys[i] = keys[i] * card + (c[sel[i]] - minTime) / timeBucketMillis;
+            }
+        }
+    }
+
+    private int cardinality(Dimension d, int n, long minTime, int maxRound) {
+        return switch (d) {
+            case CASTER, TARGET -> columns.fighters().size() + 1;
+            case SPELL -> columns.spells().size() + 1;
+            case ELEMENT -> ELEMENTS.length;
+            case TYPE -> TYPES.length;
+            case ROUND -> maxRound + 1;
+            case TIME -> (int) Math.min(Integer.MAX_VALUE, (maxTime(n) - minTime) / timeBucketMillis + 1);
+        };
+    }
+
+    private String label(Dimension d, int digit, long minTime) {
+        return switch (d) {
+            case CASTER, TARGET -> digit == 0 ? UNKNOWN : columns.fighters().get(digit - 1);
+            case SPELL -> digit == 0 ? UNKNOWN : columns.spells().get(digit - 1);
+            case ELEMENT -> ELEMENTS[digit].name();
+            case TYPE -> TYPES[digit].name();
+            case ROUND -> Integer.toString(digit);
+            // Début de la tranche, en secondes depuis le premier événement
+            case TIME -> Long.toString(digit * timeBucketMillis / 1000);
+        };
+    }
+
+    private long minTime(int n) {
+        long[] t = columns.time();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < n; i++) min = Math.min(min, t[i]);
+        return n == 0 ? 0 : min;
+    }
+
+    private long maxTime(int n) {
+        long[] t = columns.time();
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) max = Math.max(max, t[i]);
+        return n == 0 ? 0 : max;
+    }
+
+    private int maxRound(int n) {
+        int[] r = columns.round();
+        int max = 0;
+        for (int i = 0; i < n; i++) max = Math.max(max, r[i]);
+        return max;
+    }
+
+    private static boolean[] idSet(String[] names, List<String> table) {
+        // Index 0 = id absent (NO_ID)
+        boolean[] allowed = new boolean[table.size() + 1];
+        for (String name : names) {
+            if (name == null) {
+                allowed[0] = true;
+                continue;
+            }
+            int id = table.indexOf(name);
+            if (id >= 0) allowed[id + 1] = true;
+        }
+        return allowed;
+    }
+
+    // === Filtres : réduisent sel[0..count) en place et renvoient le nouveau compte ===
+
+    private interface Filter {
+        int apply(FightJournal.Columns c, int[] sel, int count);
+    }
+
+    private record ByteIn(Dimension column, boolean[] allowed) implements Filter {
+        public int apply(FightJournal.Columns c, int[] sel, int count) {
+            byte[] values = column == Dimension.TYPE ? c.kind() : c.element();
+            int out = 0;
+            for (int i = 0; i < count; i++) {
+                int row = sel[i];
+                sel[out] = row;
+                out += allowed[values[row]] ? 1 : 0;
+            }
+            return out;
+        }
+    }
+
+    private record IdIn(Dimension column, boolean[] allowed) implements Filter {
+        public int apply(FightJournal.Columns c, int[] sel, int count) {
+            int[] values = switch (column) {
+                case CASTER -> c.caster();
+                case TARGET -> c.target();
+                default -> c.spell();
+            };
+            int out = 0;
+            for (int i = 0; i < count; i++) {
+                int row = sel[i];
+                sel[out] = row;
+                out += allowed[values[row] + 1] ? 1 : 0;
+            }
+            return out;
+        }
+    }
+
+    private record RoundRange(int from, int to) implements Filter {
+        public int apply(FightJournal.Columns c, int[] sel, int count) {
+            int[] values = c.round();
+            int out = 0;
+            for (int i = 0; i < count; i++) {
+                int row = sel[i];
+                sel[out] = row;
+                out += values[row] >= from && values[row] <= to ? 1 : 0;
+            }
+            return out;
+        }
+    }
+
+    private record TimeRange(long from, long to) implements Filter {
+        public int apply(FightJournal.Columns c, int[] sel, int count) {
+            long[] values = c.time();
+            int out = 0;
+            for (int i = 0; i < count; i++) {
+                int row = sel[i];
+                sel[out] = row;
+                out += values[row] >= from && values[row] <= to ? 1 : 0;
+            }
+            return out;
+        }
+    }
+
+    // === Agrégats ===
+
+    private abstract class Accumulator {
+        abstract void add(long key, int value);
+
+        abstract Result toResult(int[] cards, long minTime);
+
+        Row row(long key, long sum, long count, long max, int[] cards, long minTime) {
+            String[] labels = new String[groupBy.length];
+            for (int k = groupBy.length - 1; k >= 0; k--) {
+                int card = Math.max(1, cards[k]);
+                labels[k] = label(groupBy[k], (int) (key % card), minTime);
+                key /= card;
+            }
+            return new Row(labels, sum, count, max);
+        }
+    }
+
+    private final class DenseAccumulator extends Accumulator {
+        private final long[] sums;
+        private final long[] counts;
+        private final long[] maxes;
+
+        DenseAccumulator(int groups) {
+            sums = new long[groups];
+            counts = new long[groups];
+            maxes = new long[groups];
+            Arrays.fill(maxes, Long.MIN_VALUE);
+        }
+
+        void add(long key, int value) {
+            int k = (int) key;
+            sums[k] += value;
+            counts[k]++;
+            if (value > maxes[k]) maxes[k] = value;
+        }
+
+        Result toResult(int[] cards, long minTime) {
+            List<Row> rows = new ArrayList<>();
+            for (int k = 0; k < sums.length; k++) {
+                if (counts[k] > 0) rows.add(row(k, sums[k], counts[k], maxes[k], cards, minTime));
+            }
+            return new Result(rows);
+        }
+    }
+
+    private final class HashAccumulator extends Accumulator {
+        // {somme, nombre, max} par clé
+        private final Map<Long, long[]> groups = new HashMap<>();
+
+        void add(long key, int value) {
+            long[] g = groups.computeIfAbsent(key, k -> new long[]{0, 0, Long.MIN_VALUE});
+            g[0] += value;
+            g[1]++;
+            if (value > g[2]) g[2] = value;
+        }
+
+        Result toResult(int[] cards, long minTime) {
+            List<Row> rows = new ArrayList<>();
+            groups.forEach((key, g) -> rows.add(row(key, g[0], g[1], g[2], cards, minTime)));
+            return new Result(rows);
+        }
+    }
+
+    /**
+     * Un groupe : libellés des dimensions (dans l'ordre de {@link #groupBy}) et ses agrégats.
+     */
+    public record Row(String[] keys, long sum, long count, long max) {
+        public String key() {
+            return String.join(" / ", keys);
+        }
+    }
+
+    /**
+     * Groupes trouvés, du plus grand total au plus petit.
+     */
+    public static final class Result {
+        private final List<Row> rows;
+
+        Result(List<Row> rows) {
+            rows.sort((a, b) -> Long.compare(b.sum(), a.sum()));
+            this.rows = List.copyOf(rows);
+        }
+
+        public List<Row> getRows() {
+            return rows;
+        }
+
+        /**
+         * Somme de tous les groupes.
+         */
+        public long getTotal() {
+            long total = 0;
+            for (Row row : rows) total += row.sum();
+            return total;
+        }
+
+        /**
+         * Sommes par clé de groupe (libellés joints par " / "), du plus grand au plus petit.
+         */
+        public Map<String, Long> toSumMap() {
+            Map<String, Long> out = new LinkedHashMap<>();
+            for (Row row : rows) out.put(row.key(), row.sum());
+            return out;
+        }
+    }
+}
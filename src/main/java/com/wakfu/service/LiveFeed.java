@@ -0,0 +1,179 @@
+package com.wakfu.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wakfu.domain.event.EventType;
+import com.wakfu.domain.model.FightJournal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Totaux par joueur et par sort tenus à jour à partir du journal du combat, pour le flux en
+ * direct ({@link LiveFeedServer}). Chaque appel à {@link #ingest} ne lit que les événements
+ * ajoutés depuis l'appel précédent et renvoie les seuls totaux qu'ils ont modifiés : le modèle
+ * n'est jamais re-sérialisé en entier pour une mise à jour.
+ *
+ * <pre>
+ * {"fightId":1000,"seq":12,"players":{"X":{"damage":1200,"bonusDamage":0,"heal":0,"shield":0,
+ *                                        "spells":{"Fulgur":{"damage":800}}}}}
+ * </pre>
+ */
+public class LiveFeed {
+
+    private static final String[] KINDS = {"damage", "bonusDamage", "heal", "shield"};
+    // Index dans KINDS par ordinal d'EventType (-1 = ignoré, ex. dégâts subis)
+    private static final int[] KIND_INDEX = new int[EventType.values().length];
+
+    static {
+        Arrays.fill(KIND_INDEX, -1);
+        KIND_INDEX[EventType.DAMAGE.ordinal()] = 0;
+        KIND_INDEX[EventType.BONUS_DAMAGE.ordinal()] = 1;
+        KIND_INDEX[EventType.HEAL.ordinal()] = 2;
+        KIND_INDEX[EventType.SHIELD.ordinal()] = 3;
+    }
+
+    private final ObjectMapper mapper;
+    // Totaux par id de lanceur du journal (null tant que le lanceur n'a rien fait)
+    private final List<Totals> fighters = new ArrayList<>();
+    private FightJournal.Columns columns = FightJournal.Columns.empty();
+    private int generation = -1;
+    private int consumed = 0;
+    private long fightId = -1;
+    private long seq = 0;
+
+    /**
+     * Résultat d'un {@link #ingest} : un changement de combat renvoie un état complet.
+     */
+    public record Update(boolean reset, ObjectNode json) {}
+
+    public LiveFeed(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Cumule les événements ajoutés au journal depuis l'appel précédent.
+     *
+     * @param generation {@link FightJournal#getGeneration()} du journal lu
+     * @return les totaux modifiés, l'état complet si le combat a changé, ou null si rien n'a bougé
+     */
+    public synchronized Update ingest(FightJournal.Columns columns, int generation, long fightId) {
+        boolean reset = generation != this.generation || columns.total() < consumed || fightId != this.fightId;
+        if (reset) {
+            fighters.clear();
+            consumed = 0;
+            this.generation = generation;
+            this.fightId = fightId;
+        }
+        this.columns = columns;
+        // Position suivie sur le total écrit : des lignes anciennes ont pu être retirées du journal
+        int n = columns.size();
+        int from = Math.max(0, consumed - columns.offset());
+        if (!reset && from >= n) return null;
+
+        byte[] kind = columns.kind();
+        int[] caster = columns.caster();
+        int[] spell = columns.spell();
+        int[] value = columns.value();
+        for (int i = from; i < n; i++) {
+            int k = KIND_INDEX[kind[i]];
+            if (k < 0 || caster[i] == FightJournal.NO_ID) continue;
+            totalsOf(caster[i]).add(k, spell[i], value[i]);
+        }
+        consumed = columns.total();
+        seq++;
+        return new Update(reset, reset ? snapshot() : delta());
+    }
+
+    /**
+     * État complet : tous les joueurs et tous leurs sorts.
+     */
+    public synchronized ObjectNode snapshot() {
+        ObjectNode root = header();
+        ObjectNode players = root.putObject("players");
+        for (int id = 0; id < fighters.size(); id++) {
+            Totals t = fighters.get(id);
+            if (t == null) continue;
+            t.write(players.putObject(columns.fighterName(id)), null);
+            t.clearDirty();
+        }
+        return root;
+    }
+
+    private ObjectNode delta() {
+        ObjectNode root = header();
+        ObjectNode players = root.putObject("players");
+        for (int id = 0; id < fighters.size(); id++) {
+            Totals t = fighters.get(id);
+            if (t == null || !t.dirty) continue;
+            t.write(players.putObject(columns.fighterName(id)), t.dirtySpells);
+            t.clearDirty();
+        }
+        return root;
+    }
+
+    private ObjectNode header() {
+        ObjectNode root = mapper.createObjectNode();
+        root.put("fightId", fightId);
+        root.put("seq", seq);
+        return root;
+    }
+
+    private Totals totalsOf(int fighterId) {
+        while (fighters.size() <= fighterId) fighters.add(null);
+        Totals t = fighters.get(fighterId);
+        if (t == null) {
+            t = new Totals();
+            fighters.set(fighterId, t);
+        }
+        return t;
+    }
+
+    /**
+     * Totaux d'un lanceur, par type puis par id de sort du journal.
+     */
+    private final class Totals {
+        private final long[] total = new long[KINDS.length];
+        private final long[][] bySpell = new long[KINDS.length][16];
+        private final BitSet dirtySpells = new BitSet();
+        private boolean dirty = false;
+
+        void add(int kind, int spellId, int amount) {
+            total[kind] += amount;
+            dirty = true;
+            if (spellId == FightJournal.NO_ID) return;
+            if (spellId >= bySpell[kind].length) {
+                int capacity = Math.max(spellId + 1, bySpell[kind].length * 2);
+                for (int k = 0; k < KINDS.length; k++) bySpell[k] = Arrays.copyOf(bySpell[k], capacity);
+            }
+            bySpell[kind][spellId] += amount;
+            dirtySpells.set(spellId);
+        }
+
+        /**
+         * @param onlySpells sorts à écrire, ou null pour tous
+         */
+        void write(ObjectNode node, BitSet onlySpells) {
+            for (int k = 0; k < KINDS.length; k++) node.put(KINDS[k], total[k]);
+            ObjectNode spells = node.putObject("spells");
+            int count = bySpell[0].length;
+            for (int s = onlySpells != null ? onlySpells.nextSetBit(0) : 0;
+                 s >= 0 && s < count;
+                 s = onlySpells != null ? onlySpells.nextSetBit(s + 1) : s + 1) {
+                ObjectNode spellNode = null;
+                for (int k = 0; k < KINDS.length; k++) {
+                    if (bySpell[k][s] == 0) continue;
+                    if (spellNode == null) spellNode = spells.putObject(columns.spellName(s));
+                    spellNode.put(KINDS[k], bySpell[k][s]);
+                }
+            }
+        }
+
+        void clearDirty() {
+            dirty = false;
+            dirtySpells.clear();
+        }
+    }
+}
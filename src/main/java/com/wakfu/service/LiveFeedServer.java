@@ -0,0 +1,222 @@
+package com.wakfu.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.wakfu.domain.model.FightModel;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
+import com.wakfu.metrics.Counter;
+import com.wakfu.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Petit serveur HTTP local (127.0.0.1) qui expose le combat en cours, pour une source
+ * « navigateur » d'OBS par exemple :
+ *
+ * <ul>
+ *   <li>{@code GET /} : page d'overlay prête à l'emploi</li>
+ *   <li>{@code GET /fight} : état complet en JSON</li>
+ *   <li>{@code GET /events} : flux Server-Sent Events, un {@code snapshot} à la connexion puis
+ *       des {@code delta} ne contenant que les totaux modifiés ({@code reset} à chaque nouveau
+ *       combat)</li>
+ * </ul>
+ *
+ * <p>La page étant servie par le serveur lui-même, aucun en-tête CORS n'est envoyé : une page
+ * d'un autre site ne peut pas lire le combat. Les requêtes dont l'en-tête {@code Host} n'est
+ * pas local sont refusées (protection contre le DNS rebinding).</p>
+ *
+ * <p>Le thread de lecture ne fait que signaler le changement ({@link #onModel}) ; les deltas
+ * sont calculés au plus toutes les {@value #TICK_MS} ms par {@link LiveFeed}, qui ne lit que
+ * les nouveaux événements du journal.</p>
+ */
+public class LiveFeedServer {
+
+    private static final Logger LOG = Log.get("LiveFeed");
+    private static final Counter DELTAS_SENT = Metrics.counter("feed.deltas.sent");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final long TICK_MS = 100;
+    // Commentaire SSE envoyé sans activité, pour détecter les clients partis
+    private static final long HEARTBEAT_MS = 15_000;
+    private static final String OVERLAY_PAGE = "/live/overlay.html";
+    private static final Set<String> LOCAL_HOSTS = Set.of("127.0.0.1", "localhost", "[::1]");
+
+    private final LiveFeed feed = new LiveFeed(MAPPER);
+    private final List<OutputStream> clients = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private volatile FightModel model;
+    private long lastSentMillis = System.currentTimeMillis();
+
+    private HttpServer server;
+    private ScheduledExecutorService ticker;
+
+    public LiveFeedServer() {
+        Metrics.gauge("feed.clients", clients::size);
+    }
+
+    /**
+     * Démarre le serveur sur 127.0.0.1.
+     *
+     * @return false si le port n'a pas pu être ouvert (déjà utilisé, ...)
+     */
+    public synchronized boolean start(int port) {
+        if (server != null) return true;
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            LOG.error("Cannot open live feed on port %d: %s", port, e.getMessage());
+            server = null;
+            return false;
+        }
+        server.createContext("/events", this::handleEvents);
+        server.createContext("/fight", this::handleFight);
+        server.createContext("/", this::handlePage);
+        server.start();
+
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "LiveFeedTicker");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+        LOG.info("Live feed on http://127.0.0.1:%d/", port);
+        return true;
+    }
+
+    public synchronized void stop() {
+        if (server == null) return;
+        ticker.shutdownNow();
+        for (OutputStream client : clients) closeQuietly(client);
+        clients.clear();
+        server.stop(0);
+        server = null;
+    }
+
+    /**
+     * Listener du modèle : appelé sur le thread de lecture, ne fait que noter le changement.
+     */
+    public void onModel(FightModel model) {
+        this.model = model;
+        dirty.set(true);
+    }
+
+    private void tick() {
+        try {
+            FightModel current = model;
+            if (current == null || !dirty.getAndSet(false)) {
+                if (System.currentTimeMillis() - lastSentMillis > HEARTBEAT_MS) broadcast(": ping\n\n");
+                return;
+            }
+            // Même verrou que l'inscription d'un client : aucun delta ne peut lui échapper
+            synchronized (feed) {
+                var journal = current.getJournal();
+                LiveFeed.Update update = feed.ingest(journal.snapshot(), journal.getGeneration(), current.getFightId());
+                if (update == null) return;
+                broadcast(sseEvent(update.reset() ? "reset" : "delta", update.json()));
+                DELTAS_SENT.inc();
+            }
+        } catch (Exception e) {
+            LOG.warn("Live feed update failed: %s", e.getMessage());
+        }
+    }
+
+    private void broadcast(String message) {
+        lastSentMillis = System.currentTimeMillis();
+        if (clients.isEmpty()) return;
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        for (OutputStream client : clients) {
+            try {
+                client.write(bytes);
+                client.flush();
+            } catch (IOException e) {
+                // Client parti (onglet fermé, source OBS masquée)
+                clients.remove(client);
+                closeQuietly(client);
+            }
+        }
+    }
+
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        if (!checkHost(exchange)) return;
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        synchronized (feed) {
+            out.write(sseEvent("snapshot", feed.snapshot()).getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            clients.add(out);
+        }
+    }
+
+    private void handleFight(HttpExchange exchange) throws IOException {
+        if (!checkHost(exchange)) return;
+        String json;
+        synchronized (feed) {
+            json = MAPPER.writeValueAsString(feed.snapshot());
+        }
+        respond(exchange, 200, "application/json; charset=utf-8", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        if (!checkHost(exchange)) return;
+        if (!"/".equals(exchange.getRequestURI().getPath())) {
+            respond(exchange, 404, "text/plain; charset=utf-8", "Not found".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        try (InputStream in = LiveFeedServer.class.getResourceAsStream(OVERLAY_PAGE)) {
+            if (in == null) {
+                respond(exchange, 404, "text/plain; charset=utf-8", "Not found".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            respond(exchange, 200, "text/html; charset=utf-8", in.readAllBytes());
+        }
+    }
+
+    /**
+     * Refuse (403) une requête adressée à un autre nom que 127.0.0.1 / localhost : un nom de
+     * domaine extérieur résolu vers 127.0.0.1 ne doit pas donner accès au flux.
+     */
+    private static boolean checkHost(HttpExchange exchange) throws IOException {
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (host != null) {
+            int colon = host.lastIndexOf(':');
+            if (colon > host.lastIndexOf(']')) host = host.substring(0, colon);
+            if (LOCAL_HOSTS.contains(host.toLowerCase(Locale.ROOT))) return true;
+        }
+        respond(exchange, 403, "text/plain; charset=utf-8", "Forbidden".getBytes(StandardCharsets.UTF_8));
+        return false;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String sseEvent(String name, ObjectNode json) throws IOException {
+        return "event: " + name + "\ndata: " + MAPPER.writeValueAsString(json) + "\n\n";
+    }
+
+    private static void closeQuietly(OutputStream out) {
+        try { out.close(); } catch (IOException ignored) {}
+    }
+}
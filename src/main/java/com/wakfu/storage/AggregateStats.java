@@ -0,0 +1,62 @@
+package com.wakfu.storage;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Compteurs agrégés sur plusieurs combats (sérialisés tels quels dans l'index d'historique).
+ */
+public class AggregateStats {
+    public long damage;
+    public long casts;
+    /** PA effectivement dépensés, uniquement pour les sorts dont le coût est connu */
+    public long paSpent;
+    /** Dégâts des sorts dont le coût est connu (numérateur de Dégât/PA) */
+    public long damageWithPa;
+    public int fights;
+
+    public void add(FightSummary.SpellSummary spell) {
+        damage += spell.getDamage();
+        casts += spell.getCasts();
+        if (spell.getPaCost() >= 0) {
+            paSpent += spell.getPaCost();
+            damageWithPa += spell.getDamage();
+        }
+    }
+
+    public void add(AggregateStats other) {
+        damage += other.damage;
+        casts += other.casts;
+        paSpent += other.paSpent;
+        damageWithPa += other.damageWithPa;
+        fights += other.fights;
+    }
+
+    public void subtract(AggregateStats other) {
+        damage -= other.damage;
+        casts -= other.casts;
+        paSpent -= other.paSpent;
+        damageWithPa -= other.damageWithPa;
+        fights -= other.fights;
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return damage == 0 && casts == 0 && fights == 0;
+    }
+
+    /**
+     * Dégâts moyens par PA dépensé, ou null si aucun coût n'est connu.
+     */
+    @JsonIgnore
+    public Double getDamagePerPa() {
+        return paSpent > 0 ? (double) damageWithPa / paSpent : null;
+    }
+
+    /**
+     * Dégâts moyens par combat.
+     */
+    @JsonIgnore
+    public double getDamagePerFight() {
+        return fights > 0 ? (double) damage / fights : 0.0;
+    }
+}
@@ -0,0 +1,316 @@
+package com.wakfu.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.actors.PlayerClass;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index agrégé de l'historique, persisté dans 'fight_history_index.json' (répertoire courant).
+ * Mis à jour de façon incrémentale à chaque combat ajouté par {@link FightHistoryManager},
+ * il permet de répondre aux requêtes (par joueur, classe, sort, élément) sans relire l'historique.
+ * Les totaux "récents" couvrent les {@link #RECENT_WINDOW} derniers combats de chaque joueur ;
+ * les résumés de période de {@link HistoryCompactor} (plusieurs combats) n'y entrent pas.
+ * Les joueurs y sont indexés par leur id de combattant ({@link FightSummary#playerKey}) ; les ids
+ * des derniers combats enregistrés permettent d'écarter un combat déjà présent.
+ */
+public class FightHistoryIndex {
+    public static final int RECENT_WINDOW = 50;
+    // Ids des derniers combats gardés pour la détection des doublons
+    private static final int RECENT_FIGHT_IDS = 512;
+    // À incrémenter quand le format persisté change (l'index est alors reconstruit)
+    private static final int VERSION = 3;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Logger LOG = Log.get("FightHistoryIndex");
+    private static final File INDEX_FILE = new File("fight_history_index.json");
+
+    private static Data data;
+
+    private FightHistoryIndex() {}
+
+    /**
+     * Charge l'index (ou le reconstruit depuis l'historique s'il est absent ou obsolète).
+     */
+    public static synchronized void load() {
+        if (data != null) return;
+        if (INDEX_FILE.exists()) {
+            try {
+                Data loaded = MAPPER.readValue(INDEX_FILE, Data.class);
+                if (loaded != null && loaded.version == VERSION && loaded.recentWindow == RECENT_WINDOW) {
+                    data = loaded;
+                    return;
+                }
+            } catch (IOException e) {
+                LOG.warn("Failed to read index: %s", e.getMessage());
+            }
+        }
+        rebuild();
+    }
+
+    /**
+     * Ajoute un combat à l'index et persiste le résultat.
+     */
+    public static synchronized boolean record(FightSummary fight) {
+        if (fight == null) return false;
+        load();
+        if (fight.getFightId() > 0 && data.recentFightIds.contains(fight.getFightId())) return false;
+        apply(data, fight);
+        save();
+        return true;
+    }
+
+    /**
+     * Vrai si le combat d'id {@code fightId} fait partie des derniers combats enregistrés.
+     */
+    public static synchronized boolean containsFight(long fightId) {
+        if (fightId <= 0) return false;
+        load();
+        return data.recentFightIds.contains(fightId);
+    }
+
+    /**
+     * Reconstruit entièrement l'index à partir de 'fight_history.json' (analyse parallèle).
+     */
+    public static synchronized void rebuild() {
+        Data rebuilt = HistoryAnalyzer.reduce(FightHistoryManager.getHistoryFile(),
+                Data::new, FightHistoryIndex::apply, FightHistoryIndex::merge);
+        data = rebuilt;
+        save();
+        LOG.info("Rebuilt index from %d fights", rebuilt.fightCount);
+    }
+
+    public static synchronized void clear() {
+        data = new Data();
+        if (INDEX_FILE.exists() && !INDEX_FILE.delete()) {
+            LOG.warn("Failed to delete %s", INDEX_FILE.getAbsolutePath());
+        }
+    }
+
+    // === Requêtes ===
+
+    public static synchronized long getFightCount() {
+        load();
+        return data.fightCount;
+    }
+
+    public static synchronized List<String> getPlayerNames() {
+        load();
+        return data.players.values().stream().map(p -> p.name).distinct().toList();
+    }
+
+    /**
+     * Totaux toutes périodes confondues d'un joueur, ou null s'il est inconnu.
+     */
+    public static synchronized AggregateStats getPlayerTotal(String playerName) {
+        PlayerEntry entry = player(playerName);
+        return entry != null ? entry.total : null;
+    }
+
+    /**
+     * Statistiques par sort d'un joueur sur tout l'historique.
+     */
+    public static synchronized Map<String, AggregateStats> getSpellStats(String playerName) {
+        PlayerEntry entry = player(playerName);
+        return entry != null ? Collections.unmodifiableMap(entry.spells) : Map.of();
+    }
+
+    /**
+     * Statistiques par sort d'un joueur sur ses {@link #RECENT_WINDOW} derniers combats.
+     */
+    public static synchronized Map<String, AggregateStats> getRecentSpellStats(String playerName) {
+        PlayerEntry entry = player(playerName);
+        return entry != null ? Collections.unmodifiableMap(entry.recentSpells) : Map.of();
+    }
+
+    public static synchronized Map<String, Long> getPlayerDamageByElement(String playerName) {
+        PlayerEntry entry = player(playerName);
+        return entry != null ? Collections.unmodifiableMap(entry.damageByElement) : Map.of();
+    }
+
+    /**
+     * Totaux par classe (clé = nom de l'enum {@link PlayerClass}).
+     */
+    public static synchronized Map<String, AggregateStats> getClassStats() {
+        load();
+        Map<String, AggregateStats> out = new LinkedHashMap<>();
+        data.classes.forEach((k, v) -> out.put(k, v.total));
+        return out;
+    }
+
+    public static synchronized Map<String, AggregateStats> getClassSpellStats(PlayerClass playerClass) {
+        load();
+        ClassEntry entry = data.classes.get(playerClass.name());
+        return entry != null ? Collections.unmodifiableMap(entry.spells) : Map.of();
+    }
+
+    /**
+     * Dégâts totaux par élément, tous joueurs confondus (clé = nom de l'enum {@link Element}).
+     */
+    public static synchronized Map<String, Long> getDamageByElement() {
+        load();
+        return Collections.unmodifiableMap(data.damageByElement);
+    }
+
+    // === Mise à jour ===
+
+    private static PlayerEntry player(String playerName) {
+        load();
+        Long key = playerName == null ? null : data.playerKeysByName.get(playerName);
+        return key != null ? data.players.get(key) : null;
+    }
+
+    static void apply(Data target, FightSummary fight) {
+        if (fight == null) return;
+        target.fightCount += fight.getFightCount();
+        if (fight.getFightId() > 0) {
+            target.recentFightIds.add(fight.getFightId());
+            trimFightIds(target);
+        }
+
+        for (FightSummary.PlayerSummary ps : fight.getPlayers().values()) {
+            PlayerEntry entry = target.players.computeIfAbsent(ps.getKey(), k -> new PlayerEntry());
+            entry.name = ps.getName();
+            entry.id = ps.getId();
+            target.playerKeysByName.put(ps.getName(), ps.getKey());
+            if (ps.getPlayerClass() != null) entry.playerClass = ps.getPlayerClass().name();
+
+            Map<String, AggregateStats> fightSpells = new LinkedHashMap<>();
+            AggregateStats fightTotal = new AggregateStats();
+            fightTotal.fights = ps.getFights();
+            for (FightSummary.SpellSummary spell : ps.getSpells().values()) {
+                AggregateStats s = new AggregateStats();
+                s.add(spell);
+                s.fights = spell.getFights();
+                fightSpells.put(spell.getName(), s);
+                fightTotal.add(spell);
+            }
+
+            entry.total.add(fightTotal);
+            fightSpells.forEach((name, s) -> entry.spells.computeIfAbsent(name, n -> new AggregateStats()).add(s));
+            ps.getDamageByElement().forEach((el, dmg) -> {
+                entry.damageByElement.merge(el.name(), dmg, Long::sum);
+                target.damageByElement.merge(el.name(), dmg, Long::sum);
+            });
+
+            // Fenêtre glissante : on ajoute le combat et on retire le plus ancien au-delà de la fenêtre
+            if (fight.getFightCount() == 1) {
+                entry.recentFights.addLast(fightSpells);
+                fightSpells.forEach((name, s) -> entry.recentSpells.computeIfAbsent(name, n -> new AggregateStats()).add(s));
+            }
+            while (entry.recentFights.size() > target.recentWindow) {
+                Map<String, AggregateStats> evicted = entry.recentFights.removeFirst();
+                evicted.forEach((name, s) -> {
+                    AggregateStats recent = entry.recentSpells.get(name);
+                    if (recent == null) return;
+                    recent.subtract(s);
+                    if (recent.isEmpty()) entry.recentSpells.remove(name);
+                });
+            }
+
+            if (ps.getPlayerClass() != null) {
+                ClassEntry classEntry = target.classes.computeIfAbsent(ps.getPlayerClass().name(), n -> new ClassEntry());
+                classEntry.total.add(fightTotal);
+                fightSpells.forEach((name, s) -> classEntry.spells.computeIfAbsent(name, n -> new AggregateStats()).add(s));
+            }
+        }
+    }
+
+    /**
+     * Fusionne deux index partiels ; {@code right} contient des combats postérieurs à ceux de {@code left}.
+     */
+    static Data merge(Data left, Data right) {
+        left.fightCount += right.fightCount;
+        left.recentFightIds.addAll(right.recentFightIds);
+        trimFightIds(left);
+        left.playerKeysByName.putAll(right.playerKeysByName);
+        right.damageByElement.forEach((el, dmg) -> left.damageByElement.merge(el, dmg, Long::sum));
+
+        right.classes.forEach((name, r) -> {
+            ClassEntry l = left.classes.computeIfAbsent(name, n -> new ClassEntry());
+            l.total.add(r.total);
+            r.spells.forEach((spell, s) -> l.spells.computeIfAbsent(spell, n -> new AggregateStats()).add(s));
+        });
+
+        right.players.forEach((key, r) -> {
+            PlayerEntry l = left.players.get(key);
+            if (l == null) {
+                left.players.put(key, r);
+                return;
+            }
+            l.name = r.name;
+            if (r.playerClass != null) l.playerClass = r.playerClass;
+            l.total.add(r.total);
+            r.spells.forEach((spell, s) -> l.spells.computeIfAbsent(spell, n -> new AggregateStats()).add(s));
+            r.damageByElement.forEach((el, dmg) -> l.damageByElement.merge(el, dmg, Long::sum));
+
+            l.recentFights.addAll(r.recentFights);
+            while (l.recentFights.size() > left.recentWindow) l.recentFights.removeFirst();
+            l.recentSpells.clear();
+            for (Map<String, AggregateStats> fight : l.recentFights) {
+                fight.forEach((spell, s) -> l.recentSpells.computeIfAbsent(spell, n -> new AggregateStats()).add(s));
+            }
+        });
+        return left;
+    }
+
+    private static void trimFightIds(Data target) {
+        Iterator<Long> oldest = target.recentFightIds.iterator();
+        while (target.recentFightIds.size() > RECENT_FIGHT_IDS && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    private static void save() {
+        try {
+            MAPPER.writeValue(INDEX_FILE, data);
+        } catch (IOException e) {
+            LOG.warn("Failed to write index: %s", e.getMessage());
+        }
+    }
+
+    // === Format persisté ===
+
+    public static class Data {
+        public int version = VERSION;
+        public int recentWindow = RECENT_WINDOW;
+        public long fightCount;
+        /** Joueurs par clé (id de combattant, voir {@link FightSummary#playerKey}) */
+        public Map<Long, PlayerEntry> players = new LinkedHashMap<>();
+        /** Dernière clé connue pour chaque nom de personnage */
+        public Map<String, Long> playerKeysByName = new LinkedHashMap<>();
+        /** Ids des derniers combats enregistrés, du plus ancien au plus récent */
+        public LinkedHashSet<Long> recentFightIds = new LinkedHashSet<>();
+        public Map<String, ClassEntry> classes = new LinkedHashMap<>();
+        public Map<String, Long> damageByElement = new LinkedHashMap<>();
+    }
+
+    public static class PlayerEntry {
+        public String name;
+        public long id = -1;
+        public String playerClass;
+        public AggregateStats total = new AggregateStats();
+        public Map<String, AggregateStats> spells = new LinkedHashMap<>();
+        public Map<String, Long> damageByElement = new LinkedHashMap<>();
+        public Map<String, AggregateStats> recentSpells = new LinkedHashMap<>();
+        /** Contributions par sort des derniers combats, du plus ancien au plus récent */
+        public ArrayDeque<Map<String, AggregateStats>> recentFights = new ArrayDeque<>();
+    }
+
+    public static class ClassEntry {
+        public AggregateStats total = new AggregateStats();
+        public Map<String, AggregateStats> spells = new LinkedHashMap<>();
+    }
+}
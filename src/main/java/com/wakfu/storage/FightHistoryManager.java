@@ -2,42 +2,142 @@ package com.wakfu.storage;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.wakfu.domain.model.FightJournal;
+import com.wakfu.domain.model.FightModel;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
 
 /**
  * Sauvegarde l'historique des combats dans 'fight_history.json' (répertoire courant).
  * Format NDJSON : un objet JSON par ligne (append-friendly).
  * Nous sérialisons directement le `FightModel` pour garantir un mapping 1:1.
+ * Chaque combat ajouté met aussi à jour {@link FightHistoryIndex} et son journal
+ * d'événements est écrit par {@link FightJournalStore}, sur un thread d'écriture dédié.
  */
 public class FightHistoryManager {
+    private static final Logger LOG = Log.get("FightHistory");
     private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
     private static final File HISTORY_FILE = new File("fight_history.json");
+    // Écritures des combats terminés, dans l'ordre de fin
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "WakfuHistoryWriter");
+        t.setDaemon(true);
+        return t;
+    });
 
-    public static synchronized void saveFight(Object fightModel) {
+    public static File getHistoryFile() {
+        return HISTORY_FILE;
+    }
+
+    /**
+     * Ajoute un combat à l'historique, à l'index et aux journaux. Seules les copies (JSON, résumé,
+     * colonnes du journal) sont faites sur le thread appelant, avant que le modèle ne soit
+     * réinitialisé par le combat suivant ; les écritures ont lieu sur {@link #WRITER}, pour que
+     * la lecture des logs n'attende ni les fichiers ni une compaction en cours.
+     */
+    public static void saveFight(Object fightModel) {
         if (fightModel == null) return;
 
+        String json;
+        try {
+            json = MAPPER.writeValueAsString(fightModel);
+        } catch (IOException e) {
+            LOG.error("Failed to serialize fight: %s", e.getMessage());
+            return;
+        }
+        FightSummary summary = null;
+        FightJournal.Columns journal = null;
+        if (fightModel instanceof FightModel model) {
+            summary = FightSummary.fromModel(model);
+            journal = model.getJournal().snapshot();
+        }
+        FightSummary indexed = summary;
+        FightJournal.Columns columns = journal;
+        WRITER.execute(() -> writeFight(json, indexed, columns));
+    }
+
+    /**
+     * Attend que les combats déjà passés à {@link #saveFight} soient écrits.
+     *
+     * @return faux si le délai est écoulé avant
+     */
+    public static boolean awaitPendingSaves(long timeout, TimeUnit unit) {
+        try {
+            WRITER.submit(() -> { }).get(timeout, unit);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Écrit un combat (thread {@link #WRITER}). Synchronisé : la vérification des doublons et
+     * l'écriture forment une seule opération, et n'ont pas lieu pendant une réécriture.
+     */
+    private static synchronized void writeFight(String json, FightSummary summary, FightJournal.Columns journal) {
+        // Charger l'index avant l'ajout : une éventuelle reconstruction ne doit pas inclure ce combat
+        if (summary != null) {
+            FightHistoryIndex.load();
+            if (FightHistoryIndex.containsFight(summary.getFightId())) {
+                LOG.info("Fight %d already in history, skipped", summary.getFightId());
+                return;
+            }
+        }
+
+        if (appendLine(json) && summary != null) {
+            FightHistoryIndex.record(summary);
+            FightJournalStore.append(summary.getFightId(), journal);
+        }
+    }
+
+    private static synchronized boolean appendLine(String json) {
         try (FileWriter fw = new FileWriter(HISTORY_FILE, true)) {
-            String json = MAPPER.writeValueAsString(fightModel);
             fw.write(json);
             fw.write(System.lineSeparator());
             fw.flush();
-            System.out.println("[FightHistory] Appended fight to " + HISTORY_FILE.getAbsolutePath());
+            LOG.info("Appended fight to %s", HISTORY_FILE.getAbsolutePath());
+            return true;
         } catch (IOException e) {
-            System.err.println("[FightHistory] Failed to append fight: " + e.getMessage());
+            LOG.error("Failed to append fight: %s", e.getMessage());
+            return false;
         }
     }
 
     public static synchronized boolean clearHistory() {
+        boolean ok = deleteHistoryFile();
+        if (ok) {
+            FightHistoryIndex.clear();
+            FightJournalStore.clear();
+        }
+        return ok;
+    }
+
+    private static synchronized boolean deleteHistoryFile() {
         try {
             if (HISTORY_FILE.exists()) {
                 return HISTORY_FILE.delete();
             }
             return true;
         } catch (Exception e) {
-            System.err.println("[FightHistory] Failed to clear history: " + e.getMessage());
+            LOG.error("Failed to clear history: %s", e.getMessage());
             return false;
         }
     }
@@ -56,11 +156,53 @@ public class FightHistoryManager {
                 out.add(line);
             }
         } catch (IOException e) {
-            System.err.println("[FightHistory] Failed to read history file: " + e.getMessage());
+            LOG.warn("Failed to read history file: %s", e.getMessage());
         }
         return out;
     }
 
+    /**
+     * Réécrit l'historique de façon atomique : les lignes courantes sont transformées puis écrites
+     * dans un fichier temporaire qui remplace l'original. Les ajouts sont bloqués pendant l'opération.
+     * Si {@code transform} renvoie une autre liste que celle reçue, {@link FightHistoryIndex} est
+     * ensuite reconstruit, toujours sous le même verrou.
+     */
+    public static synchronized boolean rewriteHistory(UnaryOperator<List<String>> transform) {
+        if (!HISTORY_FILE.exists()) return true;
+        List<String> original = readAllRawLines();
+        List<String> lines = transform.apply(original);
+        if (lines == original) return true;
+
+        Path target = HISTORY_FILE.toPath().toAbsolutePath();
+        Path tmp = target.resolveSibling(HISTORY_FILE.getName() + ".tmp");
+        try {
+            try (BufferedWriter w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (String line : lines) {
+                    w.write(line);
+                    w.write(System.lineSeparator());
+                }
+            }
+            replaceAtomically(tmp, target);
+            FightHistoryIndex.rebuild();
+            return true;
+        } catch (IOException e) {
+            LOG.error("Failed to rewrite history: %s", e.getMessage());
+            try { Files.deleteIfExists(tmp); } catch (IOException ignored) {}
+            return false;
+        }
+    }
+
+    /**
+     * Remplace {@code target} par {@code tmp}, de façon atomique si le système de fichiers le permet.
+     */
+    static void replaceAtomically(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     /**
      * Lit et retourne la dernière ligne (raw) du fichier NDJSON, ou null si absent.
      */
@@ -85,7 +227,7 @@ public class FightHistoryManager {
             lastLine = raf.readLine();
             if (lastLine != null && lastLine.isBlank()) lastLine = null;
         } catch (IOException e) {
-            System.err.println("[FightHistory] Failed to read last fight: " + e.getMessage());
+            LOG.warn("Failed to read last fight: %s", e.getMessage());
         }
         return lastLine;
     }
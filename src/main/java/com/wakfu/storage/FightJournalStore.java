@@ -0,0 +1,324 @@
+package com.wakfu.storage;
+
+import com.wakfu.domain.model.FightJournal;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Journaux d'événements des combats, à côté de l'historique, dans 'fight_journal.bin'
+ * (répertoire courant). Un enregistrement par combat, ajouté à la fin du fichier :
+ * {@code [MAGIC][fightId][longueur][colonnes]}.
+ *
+ * <p>Les colonnes sont écrites l'une après l'autre en entiers de longueur variable : heures
+ * en écarts successifs, ids décalés de 1 (0 = absent), type et élément sur un octet. Un coup
+ * tient ainsi en une dizaine d'octets.</p>
+ *
+ * <p>Seuls les combats identifiés (fightId &gt; 0) ont un journal. La position de chaque
+ * enregistrement est indexée à la première lecture : lire un journal ne décode que le sien.
+ * Les journaux des combats regroupés en résumés par {@link HistoryCompactor} sont retirés.
+ * Un journal relu se requête comme celui du combat en cours
+ * ({@code DamageCalculator.query(long)}, option {@code --query} de {@code HeadlessMeter}).</p>
+ */
+public class FightJournalStore {
+
+    private static final Logger LOG = Log.get("FightJournal");
+    private static final File JOURNAL_FILE = new File("fight_journal.bin");
+    private static final int MAGIC = 0x574B4A31; // "WKJ1"
+    // Magic, fightId et longueur
+    private static final int HEADER_BYTES = 4 + 8 + 4;
+
+    // Position des données de chaque journal (null = à reconstruire au prochain accès)
+    private static Map<Long, Entry> index;
+
+    private record Entry(long offset, int length) {}
+
+    private FightJournalStore() {}
+
+    public static File getJournalFile() {
+        return JOURNAL_FILE;
+    }
+
+    /**
+     * Ajoute le journal d'un combat. Un combat sans id (0) n'est pas enregistré : il ne
+     * pourrait pas être relu.
+     */
+    public static synchronized boolean append(long fightId, FightJournal.Columns columns) {
+        if (columns == null || columns.size() == 0) return true;
+        if (fightId <= 0) {
+            LOG.debug("Fight without id, journal not saved");
+            return true;
+        }
+        long start = JOURNAL_FILE.length();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(JOURNAL_FILE, true)))) {
+            byte[] payload = encode(columns);
+            out.writeInt(MAGIC);
+            out.writeLong(fightId);
+            out.writeInt(payload.length);
+            out.write(payload);
+            if (index != null) index.put(fightId, new Entry(start + HEADER_BYTES, payload.length));
+            LOG.info("Appended journal of fight %d (%d events)", fightId, columns.size());
+            return true;
+        } catch (IOException e) {
+            LOG.error("Failed to append journal: %s", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Journal d'un combat, ou null s'il n'a pas été enregistré.
+     */
+    public static synchronized FightJournal.Columns read(long fightId) {
+        Entry entry = index().get(fightId);
+        if (entry == null) return null;
+        try (RandomAccessFile raf = new RandomAccessFile(JOURNAL_FILE, "r")) {
+            byte[] payload = new byte[entry.length()];
+            raf.seek(entry.offset());
+            raf.readFully(payload);
+            return decode(payload);
+        } catch (IOException e) {
+            LOG.warn("Failed to read journal of fight %d: %s", fightId, e.getMessage());
+            index = null;
+            return null;
+        }
+    }
+
+    /**
+     * Retire les journaux des combats {@code fightIds} (réécriture atomique du fichier).
+     */
+    public static synchronized boolean removeFights(Set<Long> fightIds) {
+        if (fightIds.isEmpty() || !JOURNAL_FILE.exists()) return true;
+        Path target = JOURNAL_FILE.toPath().toAbsolutePath();
+        Path tmp = target.resolveSibling(JOURNAL_FILE.getName() + ".tmp");
+        int[] removed = new int[1];
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                scan((id, payload) -> {
+                    if (fightIds.contains(id)) {
+                        removed[0]++;
+                        return;
+                    }
+                    out.writeInt(MAGIC);
+                    out.writeLong(id);
+                    out.writeInt(payload.length);
+                    out.write(payload);
+                });
+            }
+            if (removed[0] == 0) {
+                Files.deleteIfExists(tmp);
+                return true;
+            }
+            FightHistoryManager.replaceAtomically(tmp, target);
+            index = null;
+            LOG.info("Removed %d compacted journals", removed[0]);
+            return true;
+        } catch (IOException e) {
+            LOG.error("Failed to rewrite journals: %s", e.getMessage());
+            try { Files.deleteIfExists(tmp); } catch (IOException ignored) {}
+            return false;
+        }
+    }
+
+    public static synchronized boolean clear() {
+        index = null;
+        try {
+            return !JOURNAL_FILE.exists() || JOURNAL_FILE.delete();
+        } catch (Exception e) {
+            LOG.error("Failed to clear journals: %s", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Positions des journaux, lues en sautant les données ; un id présent deux fois
+     * (fichier antérieur aux ids uniques) désigne le dernier enregistrement.
+     */
+    private static Map<Long, Entry> index() {
+        if (index != null) return index;
+        Map<Long, Entry> built = new HashMap<>();
+        if (JOURNAL_FILE.exists()) {
+            try (RandomAccessFile raf = new RandomAccessFile(JOURNAL_FILE, "r")) {
+                long pos = 0;
+                long size = raf.length();
+                while (pos + HEADER_BYTES <= size) {
+                    raf.seek(pos);
+                    if (raf.readInt() != MAGIC) {
+                        LOG.warn("Corrupted journal file, indexing stopped");
+                        break;
+                    }
+                    long fightId = raf.readLong();
+                    int length = raf.readInt();
+                    if (pos + HEADER_BYTES + length > size) break;
+                    built.put(fightId, new Entry(pos + HEADER_BYTES, length));
+                    pos += HEADER_BYTES + length;
+                }
+            } catch (IOException e) {
+                LOG.warn("Failed to index journal file: %s", e.getMessage());
+            }
+        }
+        index = built;
+        return index;
+    }
+
+    private interface RecordVisitor {
+        void visit(long fightId, byte[] payload) throws IOException;
+    }
+
+    private static void scan(RecordVisitor visitor) {
+        if (!JOURNAL_FILE.exists()) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(JOURNAL_FILE)))) {
+            while (true) {
+                int magic;
+                try {
+                    magic = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (magic != MAGIC) {
+                    LOG.warn("Corrupted journal file, reading stopped");
+                    return;
+                }
+                long fightId = in.readLong();
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                visitor.visit(fightId, payload);
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to read journal file: %s", e.getMessage());
+        }
+    }
+
+    // === Encodage des colonnes ===
+
+    static byte[] encode(FightJournal.Columns c) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(c.size() * 12 + 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        int n = c.size();
+
+        writeNames(out, c.fighters());
+        writeNames(out, c.spells());
+        writeVarInt(out, n);
+
+        long previous = n > 0 ? c.time()[0] : 0;
+        out.writeLong(previous);
+        for (int i = 0; i < n; i++) {
+            writeVarLong(out, zigzag(c.time()[i] - previous));
+            previous = c.time()[i];
+        }
+        out.write(c.kind(), 0, n);
+        writeIds(out, c.caster(), n);
+        writeIds(out, c.target(), n);
+        writeIds(out, c.spell(), n);
+        for (int i = 0; i < n; i++) writeVarLong(out, zigzag(c.value()[i]));
+        out.write(c.element(), 0, n);
+        writeIds(out, c.cast(), n);
+        writeIds(out, c.round(), n);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static FightJournal.Columns decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        List<String> fighters = readNames(in);
+        List<String> spells = readNames(in);
+        int n = readVarInt(in);
+
+        long[] time = new long[n];
+        long previous = in.readLong();
+        for (int i = 0; i < n; i++) {
+            previous += unzigzag(readVarLong(in));
+            time[i] = previous;
+        }
+        byte[] kind = new byte[n];
+        in.readFully(kind);
+        int[] caster = readIds(in, n);
+        int[] target = readIds(in, n);
+        int[] spell = readIds(in, n);
+        int[] value = new int[n];
+        for (int i = 0; i < n; i++) value[i] = (int) unzigzag(readVarLong(in));
+        byte[] element = new byte[n];
+        in.readFully(element);
+        int[] cast = readIds(in, n);
+        int[] round = readIds(in, n);
+        return new FightJournal.Columns(n, time, kind, caster, target, spell, value, element, cast, round,
+                fighters, spells, 0);
+    }
+
+    private static void writeNames(DataOutputStream out, List<String> names) throws IOException {
+        writeVarInt(out, names.size());
+        for (String name : names) out.writeUTF(name);
+    }
+
+    private static List<String> readNames(DataInputStream in) throws IOException {
+        int count = readVarInt(in);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) names.add(in.readUTF());
+        return List.copyOf(names);
+    }
+
+    // Ids >= NO_ID (-1), écrits décalés de 1
+    private static void writeIds(DataOutputStream out, int[] ids, int n) throws IOException {
+        for (int i = 0; i < n; i++) writeVarInt(out, ids[i] + 1);
+    }
+
+    private static int[] readIds(DataInputStream in, int n) throws IOException {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) ids[i] = readVarInt(in) - 1;
+        return ids;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int v) throws IOException {
+        writeVarLong(out, v & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
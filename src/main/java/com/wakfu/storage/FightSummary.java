@@ -0,0 +1,381 @@
+package com.wakfu.storage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.actors.PlayerClass;
+import com.wakfu.domain.model.FightModel;
+import com.wakfu.domain.model.PlayerStats;
+import com.wakfu.domain.model.SpellStats;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Vue compacte d'un combat de l'historique : totaux par joueur, par sort, par élément et par cible.
+ * Construite soit directement depuis un {@link FightModel}, soit depuis une ligne NDJSON
+ * de `fight_history.json`, afin que l'index et les analyses partagent le même format.
+ * Les joueurs sont indexés par leur id de combattant ({@link #playerKey}), pas par leur nom.
+ */
+public class FightSummary {
+
+    private final LocalDateTime startTime;
+    // Id du combat dans le log du jeu (0 si inconnu, ou pour un résumé de période)
+    private long fightId;
+    private final Map<Long, PlayerSummary> players = new LinkedHashMap<>();
+    /** Nombre de combats représentés (> 1 pour un résumé de période issu de la compaction) */
+    private int fightCount = 1;
+
+    public FightSummary(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * Résume un combat en mémoire.
+     */
+    public static FightSummary fromModel(FightModel model) {
+        FightSummary summary = new FightSummary(model.getStartTime());
+        summary.fightId = model.getFightId();
+        for (PlayerStats stats : model.getStatsByPlayer().values()) {
+            if (stats.getPlayer() == null) continue;
+            PlayerSummary ps = summary.getOrCreatePlayer(stats.getPlayerId(), stats.getPlayer().getName());
+            ps.playerClass = stats.getPlayer().getPlayerClass();
+            for (SpellStats spell : stats.getSpells().values()) {
+                Integer effective = spell.getEffectivePACost();
+                ps.addSpell(spell.getName(), spell.getTotal(), spell.getCastCount(),
+                        effective != null ? effective : -1);
+                spell.getDamageByElement().forEach(ps::addElementDamage);
+            }
+            model.getDamageMatrix().getTargetTotals(ps.name).forEach(ps::addTargetDamage);
+        }
+        return summary;
+    }
+
+    /**
+     * Résume une ligne de l'historique : FightModel sérialisé par Jackson, ou résumé de période
+     * écrit par {@link HistoryCompactor} (même structure, avec des compteurs "fights").
+     * Retourne null si la ligne ne ressemble pas à un combat.
+     */
+    public static FightSummary fromJson(JsonNode root) {
+        if (root == null || !root.isObject()) return null;
+        JsonNode statsByPlayer = root.get("statsByPlayer");
+        if (statsByPlayer == null || !statsByPlayer.isObject()) return null;
+
+        FightSummary summary = new FightSummary(parseDateTime(root.get("startTime")));
+        summary.fightCount = root.path("fights").asInt(1);
+        summary.fightId = root.path("fightId").asLong(0);
+        Map<String, Map<String, Long>> matrixTargets = readMatrixTargets(root.get("damageMatrix"));
+        Iterator<Map.Entry<String, JsonNode>> it = statsByPlayer.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            JsonNode statsNode = entry.getValue();
+            JsonNode playerNode = statsNode.get("player");
+            long playerId = playerNode != null ? playerNode.path("id").asLong(-1) : -1;
+            String name = playerNode != null && playerNode.hasNonNull("name") ? playerNode.get("name").asText() : entry.getKey();
+            PlayerSummary ps = summary.getOrCreatePlayer(playerId, name);
+            ps.fights = statsNode.path("fights").asInt(1);
+
+            if (playerNode != null && playerNode.hasNonNull("playerClass")) {
+                ps.playerClass = parsePlayerClass(playerNode.get("playerClass").asText());
+            }
+
+            // Dégâts par cible : matrice du combat, ou totaux déjà agrégés d'un résumé de période
+            matrixTargets.getOrDefault(name, Map.of()).forEach(ps::addTargetDamage);
+            JsonNode targets = statsNode.get("damageByTarget");
+            if (targets != null && targets.isObject()) {
+                targets.fields().forEachRemaining(t -> ps.addTargetDamage(t.getKey(), t.getValue().asLong()));
+            }
+
+            // Résumés de période : répartition par élément au niveau joueur, totaux simples par sort
+            JsonNode playerElements = statsNode.get("damageByElement");
+            if (playerElements != null && playerElements.isObject()) {
+                playerElements.fields().forEachRemaining(el ->
+                        ps.addElementDamage(parseElement(el.getKey()), el.getValue().asLong()));
+            }
+
+            JsonNode spells = statsNode.get("spells");
+            if (spells == null || !spells.isObject()) continue;
+            Iterator<Map.Entry<String, JsonNode>> spellIt = spells.fields();
+            while (spellIt.hasNext()) {
+                Map.Entry<String, JsonNode> spellEntry = spellIt.next();
+                JsonNode spellNode = spellEntry.getValue();
+                long damage = 0;
+                JsonNode byElement = spellNode.get("damageByElement");
+                if (byElement != null && byElement.isObject()) {
+                    Iterator<Map.Entry<String, JsonNode>> elIt = byElement.fields();
+                    while (elIt.hasNext()) {
+                        Map.Entry<String, JsonNode> el = elIt.next();
+                        long value = el.getValue().asLong();
+                        damage += value;
+                        ps.addElementDamage(parseElement(el.getKey()), value);
+                    }
+                } else {
+                    damage = spellNode.path("total").asLong();
+                }
+                JsonNode effective = spellNode.get("effectivePACost");
+                long paCost = effective != null && effective.isNumber() ? effective.asLong() : -1;
+                ps.addSpell(spellEntry.getKey(), damage, spellNode.path("castCount").asLong(), paCost);
+                ps.spells.get(spellEntry.getKey()).fights = spellNode.path("fights").asInt(1);
+            }
+        }
+        return summary;
+    }
+
+    public PlayerSummary getOrCreatePlayer(long playerId, String name) {
+        return players.computeIfAbsent(playerKey(playerId, name), k -> new PlayerSummary(name, playerId));
+    }
+
+    /**
+     * Clé d'un joueur : son id de combattant, ou à défaut (historique antérieur aux ids,
+     * joueur vu sans ligne d'entrée) une empreinte négative de son nom, qui ne peut pas
+     * entrer en conflit avec un id du jeu.
+     */
+    public static long playerKey(long playerId, String name) {
+        if (playerId > 0) return playerId;
+        // FNV-1a 64 bits
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash | Long.MIN_VALUE;
+    }
+
+    /**
+     * Ajoute les totaux d'un autre combat (ou résumé) à celui-ci.
+     */
+    public void merge(FightSummary other) {
+        fightCount += other.fightCount;
+        other.players.forEach((key, ps) -> players.computeIfAbsent(key, k -> PlayerSummary.empty(ps.name, ps.id)).merge(ps));
+    }
+
+    /**
+     * Résumé vide (0 combat), point de départ d'une agrégation par {@link #merge}.
+     */
+    public static FightSummary empty(LocalDateTime startTime) {
+        FightSummary summary = new FightSummary(startTime);
+        summary.fightCount = 0;
+        return summary;
+    }
+
+    public int getFightCount() {
+        return fightCount;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public long getFightId() {
+        return fightId;
+    }
+
+    public Map<Long, PlayerSummary> getPlayers() {
+        return Collections.unmodifiableMap(players);
+    }
+
+    // === Helpers de décodage ===
+
+    /**
+     * Totaux lanceur → cible d'une {@code DamageMatrix} sérialisée (listes de noms et cellules
+     * {@code [lanceur, cible, sort, dégâts]}) ; vide pour les combats enregistrés avant la matrice.
+     */
+    private static Map<String, Map<String, Long>> readMatrixTargets(JsonNode matrix) {
+        Map<String, Map<String, Long>> out = new LinkedHashMap<>();
+        if (matrix == null || !matrix.isObject()) return out;
+        JsonNode casters = matrix.path("casters");
+        JsonNode targets = matrix.path("targets");
+        for (JsonNode cell : matrix.path("cells")) {
+            if (!cell.isArray() || cell.size() < 4) continue;
+            String caster = casters.path(cell.get(0).asInt()).asText(null);
+            String target = targets.path(cell.get(1).asInt()).asText(null);
+            if (caster == null || target == null) continue;
+            out.computeIfAbsent(caster, k -> new LinkedHashMap<>()).merge(target, cell.get(3).asLong(), Long::sum);
+        }
+        return out;
+    }
+
+    /**
+     * JavaTimeModule écrit les dates sous forme de tableau [y, M, d, h, m, s, nanos]
+     * (WRITE_DATES_AS_TIMESTAMPS), mais on accepte aussi le format ISO.
+     */
+    static LocalDateTime parseDateTime(JsonNode node) {
+        if (node == null || node.isNull()) return null;
+        try {
+            if (node.isArray() && node.size() >= 3) {
+                return LocalDateTime.of(
+                        node.get(0).asInt(), node.get(1).asInt(), node.get(2).asInt(),
+                        node.size() > 3 ? node.get(3).asInt() : 0,
+                        node.size() > 4 ? node.get(4).asInt() : 0,
+                        node.size() > 5 ? node.get(5).asInt() : 0,
+                        node.size() > 6 ? node.get(6).asInt() : 0);
+            }
+            if (node.isTextual()) return LocalDateTime.parse(node.asText());
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+
+    private static PlayerClass parsePlayerClass(String raw) {
+        try {
+            return PlayerClass.valueOf(raw);
+        } catch (IllegalArgumentException e) {
+            return PlayerClass.fromString(raw);
+        }
+    }
+
+    private static Element parseElement(String raw) {
+        try {
+            return Element.valueOf(raw);
+        } catch (IllegalArgumentException e) {
+            return Element.fromString(raw);
+        }
+    }
+
+    /**
+     * Totaux d'un joueur pour un combat.
+     */
+    public static class PlayerSummary {
+        private final String name;
+        // Id de combattant (-1 si inconnu)
+        private final long id;
+        private PlayerClass playerClass;
+        private int fights = 1;
+        private long totalDamage;
+        private final Map<String, SpellSummary> spells = new LinkedHashMap<>();
+        private final Map<Element, Long> damageByElement = new EnumMap<>(Element.class);
+        private final Map<String, Long> damageByTarget = new LinkedHashMap<>();
+
+        public PlayerSummary(String name, long id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        public void addSpell(String spellName, long damage, long casts, long paCost) {
+            totalDamage += damage;
+            spells.computeIfAbsent(spellName, SpellSummary::new).add(damage, casts, paCost);
+        }
+
+        public void addElementDamage(Element element, long value) {
+            damageByElement.merge(element, value, Long::sum);
+        }
+
+        public void addTargetDamage(String target, long value) {
+            damageByTarget.merge(target, value, Long::sum);
+        }
+
+        private static PlayerSummary empty(String name, long id) {
+            PlayerSummary ps = new PlayerSummary(name, id);
+            ps.fights = 0;
+            return ps;
+        }
+
+        void merge(PlayerSummary other) {
+            fights += other.fights;
+            if (other.playerClass != null) playerClass = other.playerClass;
+            totalDamage += other.totalDamage;
+            other.spells.forEach((n, sp) -> spells.computeIfAbsent(n, SpellSummary::empty).merge(sp));
+            other.damageByElement.forEach(this::addElementDamage);
+            other.damageByTarget.forEach(this::addTargetDamage);
+        }
+
+        public int getFights() {
+            return fights;
+        }
+
+        public void setPlayerClass(PlayerClass playerClass) {
+            this.playerClass = playerClass;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * Clé du joueur dans l'historique et l'index, voir {@link FightSummary#playerKey}.
+         */
+        public long getKey() {
+            return playerKey(id, name);
+        }
+
+        public PlayerClass getPlayerClass() {
+            return playerClass;
+        }
+
+        public long getTotalDamage() {
+            return totalDamage;
+        }
+
+        public Map<String, SpellSummary> getSpells() {
+            return Collections.unmodifiableMap(spells);
+        }
+
+        public Map<Element, Long> getDamageByElement() {
+            return Collections.unmodifiableMap(damageByElement);
+        }
+
+        public Map<String, Long> getDamageByTarget() {
+            return Collections.unmodifiableMap(damageByTarget);
+        }
+    }
+
+    /**
+     * Totaux d'un sort pour un joueur et un combat.
+     * {@code paCost} vaut -1 lorsque le coût du sort est inconnu.
+     */
+    public static class SpellSummary {
+        private final String name;
+        private long damage;
+        private long casts;
+        private long paCost = -1;
+        private int fights = 1;
+
+        public SpellSummary(String name) {
+            this.name = name;
+        }
+
+        private static SpellSummary empty(String name) {
+            SpellSummary sp = new SpellSummary(name);
+            sp.fights = 0;
+            return sp;
+        }
+
+        void merge(SpellSummary other) {
+            fights += other.fights;
+            add(other.damage, other.casts, other.paCost);
+        }
+
+        public int getFights() {
+            return fights;
+        }
+
+        public void add(long damage, long casts, long paCost) {
+            this.damage += damage;
+            this.casts += casts;
+            if (paCost >= 0) this.paCost = Math.max(this.paCost, 0) + paCost;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getDamage() {
+            return damage;
+        }
+
+        public long getCasts() {
+            return casts;
+        }
+
+        public long getPaCost() {
+            return paCost;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.wakfu.storage;
+
+import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.actors.PlayerClass;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Agrégat (partiel ou complet) de combats de l'historique, à la manière de PlayerStats
+ * mais sur plusieurs combats. Deux partiels se fusionnent avec {@link #merge}.
+ * Comme dans {@link FightHistoryIndex}, les joueurs sont regroupés par leur clé
+ * ({@link FightSummary#playerKey}) : un personnage renommé reste un seul joueur.
+ */
+public class HistoryAggregate {
+
+    private long fightCount;
+    private final Map<Long, PlayerAggregate> players = new LinkedHashMap<>();
+    private final Map<PlayerClass, AggregateStats> classes = new EnumMap<>(PlayerClass.class);
+
+    public void add(FightSummary fight) {
+        fightCount += fight.getFightCount();
+        for (FightSummary.PlayerSummary ps : fight.getPlayers().values()) {
+            PlayerAggregate agg = players.computeIfAbsent(ps.getKey(), k -> new PlayerAggregate(ps.getName()));
+            AggregateStats fightTotal = agg.add(ps);
+            if (ps.getPlayerClass() != null) {
+                classes.computeIfAbsent(ps.getPlayerClass(), c -> new AggregateStats()).add(fightTotal);
+            }
+        }
+    }
+
+    /**
+     * Fusionne {@code other} dans cet agrégat et le retourne (utilisable comme combiner).
+     */
+    public HistoryAggregate merge(HistoryAggregate other) {
+        fightCount += other.fightCount;
+        other.players.forEach((key, agg) -> players.merge(key, agg, PlayerAggregate::merge));
+        other.classes.forEach((pc, stats) -> classes.computeIfAbsent(pc, c -> new AggregateStats()).add(stats));
+        return this;
+    }
+
+    public long getFightCount() {
+        return fightCount;
+    }
+
+    /**
+     * Joueurs par clé ({@link FightSummary#playerKey}).
+     */
+    public Map<Long, PlayerAggregate> getPlayers() {
+        return Collections.unmodifiableMap(players);
+    }
+
+    public Map<PlayerClass, AggregateStats> getClasses() {
+        return Collections.unmodifiableMap(classes);
+    }
+
+    /**
+     * Classement des joueurs par dégâts totaux (du plus haut au plus bas).
+     */
+    public List<PlayerAggregate> getDamageLeaderboard(int limit) {
+        return leaderboard(p -> p.getTotal().damage, limit);
+    }
+
+    /**
+     * Classement des joueurs par dégâts moyens par PA (joueurs sans coût connu exclus).
+     */
+    public List<PlayerAggregate> getDamagePerPaLeaderboard(int limit) {
+        return players.values().stream()
+                .filter(p -> p.getTotal().getDamagePerPa() != null)
+                .sorted(Comparator.comparingDouble((PlayerAggregate p) -> p.getTotal().getDamagePerPa()).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public List<PlayerAggregate> leaderboard(ToDoubleFunction<PlayerAggregate> metric, int limit) {
+        return players.values().stream()
+                .sorted(Comparator.comparingDouble(metric).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Totaux d'un joueur sur l'ensemble des combats agrégés.
+     */
+    public static class PlayerAggregate {
+        // Dernier nom connu du personnage
+        private String name;
+        private PlayerClass playerClass;
+        private final AggregateStats total = new AggregateStats();
+        private final Map<String, AggregateStats> spells = new LinkedHashMap<>();
+        private final Map<Element, Long> damageByElement = new EnumMap<>(Element.class);
+
+        public PlayerAggregate(String name) {
+            this.name = name;
+        }
+
+        AggregateStats add(FightSummary.PlayerSummary ps) {
+            name = ps.getName();
+            if (ps.getPlayerClass() != null) playerClass = ps.getPlayerClass();
+            AggregateStats fightTotal = new AggregateStats();
+            fightTotal.fights = ps.getFights();
+            for (FightSummary.SpellSummary spell : ps.getSpells().values()) {
+                AggregateStats s = spells.computeIfAbsent(spell.getName(), n -> new AggregateStats());
+                s.add(spell);
+                s.fights += spell.getFights();
+                fightTotal.add(spell);
+            }
+            total.add(fightTotal);
+            ps.getDamageByElement().forEach((el, dmg) -> damageByElement.merge(el, dmg, Long::sum));
+            return fightTotal;
+        }
+
+        /**
+         * {@code other} couvre des combats postérieurs : son nom l'emporte.
+         */
+        PlayerAggregate merge(PlayerAggregate other) {
+            name = other.name;
+            if (other.playerClass != null) playerClass = other.playerClass;
+            total.add(other.total);
+            other.spells.forEach((name, s) -> spells.computeIfAbsent(name, n -> new AggregateStats()).add(s));
+            other.damageByElement.forEach((el, dmg) -> damageByElement.merge(el, dmg, Long::sum));
+            return this;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public PlayerClass getPlayerClass() {
+            return playerClass;
+        }
+
+        public AggregateStats getTotal() {
+            return total;
+        }
+
+        public Map<String, AggregateStats> getSpells() {
+            return Collections.unmodifiableMap(spells);
+        }
+
+        public Map<Element, Long> getDamageByElement() {
+            return Collections.unmodifiableMap(damageByElement);
+        }
+    }
+}
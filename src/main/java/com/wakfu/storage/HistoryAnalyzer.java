@@ -0,0 +1,206 @@
+package com.wakfu.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Moteur d'analyse parallèle de l'historique NDJSON.
+ * Le fichier est découpé en segments alignés sur les fins de ligne ; chaque segment est décodé
+ * et agrégé sur le pool fork-join, puis les partiels sont fusionnés dans l'ordre du fichier
+ * (la fusion gauche/droite préserve l'ordre chronologique des combats).
+ */
+public class HistoryAnalyzer {
+
+    /** Taille minimale d'un segment : en dessous, le coût du découpage dépasse le gain */
+    private static final long MIN_SEGMENT_BYTES = 256 * 1024;
+    /** Nombre de segments par cœur, pour lisser les écarts de taille entre combats */
+    private static final int SEGMENTS_PER_CORE = 4;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Logger LOG = Log.get("HistoryAnalyzer");
+
+    private HistoryAnalyzer() {}
+
+    /**
+     * Agrège tous les combats de l'historique en un {@link HistoryAggregate}.
+     */
+    public static HistoryAggregate analyze() {
+        return analyze(FightHistoryManager.getHistoryFile());
+    }
+
+    public static HistoryAggregate analyze(File file) {
+        return reduce(file, HistoryAggregate::new, HistoryAggregate::add, HistoryAggregate::merge);
+    }
+
+    /**
+     * Réduction parallèle générique sur les combats d'un fichier NDJSON.
+     *
+     * @param supplier    crée un partiel vide (un par segment)
+     * @param accumulator ajoute un combat à un partiel
+     * @param combiner    fusionne deux partiels ; le premier précède le second dans le fichier
+     */
+    public static <A> A reduce(File file, Supplier<A> supplier,
+                               BiConsumer<A, FightSummary> accumulator, BinaryOperator<A> combiner) {
+        if (file == null || !file.exists()) return supplier.get();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            List<long[]> segments = split(channel);
+            if (segments.isEmpty()) return supplier.get();
+            return ForkJoinPool.commonPool().invoke(
+                    new SegmentTask<>(channel, segments, 0, segments.size(), supplier, accumulator, combiner));
+        } catch (IOException e) {
+            LOG.warn("Failed to read history: %s", e.getMessage());
+            return supplier.get();
+        }
+    }
+
+    /**
+     * Découpe le fichier en plages [début, fin) se terminant juste après un '\n'.
+     * Une éventuelle dernière ligne incomplète (écriture en cours) est ignorée.
+     */
+    private static List<long[]> split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<long[]> segments = new ArrayList<>();
+        if (size == 0) return segments;
+
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+        long target = Math.max(MIN_SEGMENT_BYTES, size / ((long) parallelism * SEGMENTS_PER_CORE));
+
+        long start = 0;
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        while (start < size) {
+            long end = Math.min(size, start + target);
+            end = nextLineEnd(channel, end, size, probe);
+            if (end <= start) break;
+            segments.add(new long[] { start, end });
+            start = end;
+        }
+        return segments;
+    }
+
+    /**
+     * Retourne la position juste après le premier '\n' à partir de {@code from}
+     * (ou la position du dernier '\n' complet si la fin du fichier est atteinte).
+     */
+    private static long nextLineEnd(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        long pos = Math.max(0, from - 1);
+        while (pos < size) {
+            probe.clear();
+            int read = channel.read(probe, pos);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') return pos + i + 1;
+            }
+            pos += read;
+        }
+        return lastLineEnd(channel, size, probe);
+    }
+
+    private static long lastLineEnd(FileChannel channel, long size, ByteBuffer probe) throws IOException {
+        long pos = size;
+        while (pos > 0) {
+            int len = (int) Math.min(probe.capacity(), pos);
+            probe.clear().limit(len);
+            channel.read(probe, pos - len);
+            for (int i = len - 1; i >= 0; i--) {
+                if (probe.get(i) == '\n') return pos - len + i + 1;
+            }
+            pos -= len;
+        }
+        return 0;
+    }
+
+    private static <A> void decodeSegment(FileChannel channel, long start, long end, A partial,
+                                          BiConsumer<A, FightSummary> accumulator) {
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            long pos = start;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, pos);
+                if (read < 0) break;
+                pos += read;
+            }
+            byte[] bytes = buffer.array();
+            int lineStart = 0;
+            for (int i = 0; i < buffer.position(); i++) {
+                if (bytes[i] != '\n') continue;
+                decodeLine(bytes, lineStart, i, partial, accumulator);
+                lineStart = i + 1;
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to read segment: %s", e.getMessage());
+        }
+    }
+
+    private static <A> void decodeLine(byte[] bytes, int from, int to, A partial,
+                                       BiConsumer<A, FightSummary> accumulator) {
+        // Tolère les fins de ligne Windows
+        if (to > from && bytes[to - 1] == '\r') to--;
+        if (to <= from) return;
+        try {
+            FightSummary fight = FightSummary.fromJson(MAPPER.readTree(bytes, from, to - from));
+            if (fight != null) accumulator.accept(partial, fight);
+        } catch (IOException e) {
+            LOG.warn("Skipping invalid line: %s",
+                    new String(bytes, from, Math.min(to - from, 80), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Découpe récursive de la liste de segments ; chaque feuille décode un segment.
+     */
+    private static class SegmentTask<A> extends RecursiveTask<A> {
+        // RecursiveTask est Serializable, mais une tâche n'est jamais sérialisée
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final transient List<long[]> segments;
+        private final int from;
+        private final int to;
+        private final transient Supplier<A> supplier;
+        private final transient BiConsumer<A, FightSummary> accumulator;
+        private final transient BinaryOperator<A> combiner;
+
+        SegmentTask(FileChannel channel, List<long[]> segments, int from, int to, Supplier<A> supplier,
+                    BiConsumer<A, FightSummary> accumulator, BinaryOperator<A> combiner) {
+            this.channel = channel;
+            this.segments = segments;
+            this.from = from;
+            this.to = to;
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from == 1) {
+                A partial = supplier.get();
+                long[] segment = segments.get(from);
+                decodeSegment(channel, segment[0], segment[1], partial, accumulator);
+                return partial;
+            }
+            int mid = (from + to) >>> 1;
+            SegmentTask<A> left = new SegmentTask<>(channel, segments, from, mid, supplier, accumulator, combiner);
+            SegmentTask<A> right = new SegmentTask<>(channel, segments, mid, to, supplier, accumulator, combiner);
+            left.fork();
+            A rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.wakfu.storage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wakfu.domain.abilities.Element;
+import com.wakfu.logging.Log;
+import com.wakfu.logging.Logger;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compaction de 'fight_history.json' : seuls les combats récents restent en détail,
+ * les plus anciens sont regroupés en résumés par jour, puis par semaine.
+ * Les résumés gardent la structure d'un FightModel sérialisé (statsByPlayer / spells /
+ * damageByElement) avec des compteurs "fights", ce qui les rend lisibles par {@link FightSummary}.
+ * L'index ({@link FightHistoryIndex}) est reconstruit après chaque réécriture et les journaux
+ * des combats résumés ({@link FightJournalStore}) sont supprimés.
+ */
+public class HistoryCompactor {
+
+    public enum Period { DAY, WEEK }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Logger LOG = Log.get("HistoryCompactor");
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "WakfuHistoryCompactor");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final AtomicBoolean PENDING = new AtomicBoolean(false);
+
+    private HistoryCompactor() {}
+
+    /**
+     * Lance une compaction en arrière-plan (ignorée si une compaction est déjà en attente).
+     */
+    public static void compactAsync(int detailDays, int dailyDays) {
+        if (!PENDING.compareAndSet(false, true)) return;
+        EXECUTOR.submit(() -> {
+            try {
+                compact(LocalDate.now(), detailDays, dailyDays);
+            } catch (Exception e) {
+                LOG.error("Compaction failed: %s", e.getMessage());
+            } finally {
+                PENDING.set(false);
+            }
+        });
+    }
+
+    /**
+     * Compacte l'historique de façon synchrone.
+     *
+     * @param today      date de référence
+     * @param detailDays combats plus récents que ce nombre de jours : conservés tels quels
+     * @param dailyDays  au-delà, résumés par semaine ; entre les deux, résumés par jour
+     */
+    public static boolean compact(LocalDate today, int detailDays, int dailyDays) {
+        LocalDate detailCutoff = today.minusDays(detailDays);
+        LocalDate dailyCutoff = today.minusDays(Math.max(detailDays, dailyDays));
+        int[] stats = new int[2];
+        // Combats détaillés regroupés en résumés : leurs journaux sont retirés ensuite
+        Set<Long> compactedFights = new HashSet<>();
+
+        boolean ok = FightHistoryManager.rewriteHistory(lines -> {
+            Map<String, FightSummary> summaries = new TreeMap<>();
+            List<String> kept = new ArrayList<>();
+
+            for (String line : lines) {
+                JsonNode root;
+                try {
+                    root = MAPPER.readTree(line);
+                } catch (IOException e) {
+                    kept.add(line); // ne jamais perdre une ligne illisible
+                    continue;
+                }
+                FightSummary fight = FightSummary.fromJson(root);
+                LocalDateTime start = fight != null ? fight.getStartTime() : null;
+                if (start == null || !start.toLocalDate().isBefore(detailCutoff)) {
+                    kept.add(line);
+                    continue;
+                }
+
+                LocalDate date = start.toLocalDate();
+                Period period = date.isBefore(dailyCutoff) ? Period.WEEK : Period.DAY;
+                LocalDate periodStart = period == Period.WEEK ? date.with(DayOfWeek.MONDAY) : date;
+                if (period == Period.DAY && "WEEK".equals(root.path("period").asText())) {
+                    // Un résumé hebdomadaire ne redevient jamais journalier
+                    period = Period.WEEK;
+                }
+                long fightId = root.path("fightId").asLong(0);
+                if (fightId > 0) compactedFights.add(fightId);
+                String key = periodStart + "|" + period;
+                summaries.computeIfAbsent(key, k -> FightSummary.empty(periodStart.atStartOfDay())).merge(fight);
+                stats[0]++;
+            }
+
+            if (stats[0] == 0) return lines;
+
+            List<String> out = new ArrayList<>(summaries.size() + kept.size());
+            summaries.forEach((key, summary) -> {
+                Period period = Period.valueOf(key.substring(key.indexOf('|') + 1));
+                out.add(toJson(summary, period));
+            });
+            out.addAll(kept);
+            // Résumés déjà à jour : ne rien réécrire (ni reconstruire l'index)
+            if (out.equals(lines)) {
+                stats[0] = 0;
+                return lines;
+            }
+            stats[1] = summaries.size();
+            return out;
+        });
+
+        if (ok && stats[0] > 0) {
+            LOG.info("Rolled %d records into %d period summaries", stats[0], stats[1]);
+            ok = FightJournalStore.removeFights(compactedFights);
+        }
+        return ok;
+    }
+
+    /**
+     * Sérialise un résumé de période sur une ligne NDJSON.
+     */
+    static String toJson(FightSummary summary, Period period) {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("record", "summary");
+        root.put("period", period.name());
+        root.put("startTime", summary.getStartTime().toString());
+        root.put("fights", summary.getFightCount());
+
+        ObjectNode players = root.putObject("statsByPlayer");
+        for (FightSummary.PlayerSummary ps : summary.getPlayers().values()) {
+            // Deux personnages de même nom (ids différents) ne doivent pas s'écraser
+            String field = players.has(ps.getName()) ? ps.getName() + "#" + ps.getKey() : ps.getName();
+            ObjectNode playerNode = players.putObject(field);
+            playerNode.put("fights", ps.getFights());
+            playerNode.put("totalDamage", ps.getTotalDamage());
+            ObjectNode player = playerNode.putObject("player");
+            player.put("name", ps.getName());
+            if (ps.getId() > 0) player.put("id", ps.getId());
+            if (ps.getPlayerClass() != null) player.put("playerClass", ps.getPlayerClass().name());
+
+            ObjectNode spells = playerNode.putObject("spells");
+            for (FightSummary.SpellSummary spell : ps.getSpells().values()) {
+                ObjectNode spellNode = spells.putObject(spell.getName());
+                spellNode.put("name", spell.getName());
+                spellNode.put("fights", spell.getFights());
+                spellNode.put("castCount", spell.getCasts());
+                spellNode.put("total", spell.getDamage());
+                if (spell.getPaCost() >= 0) spellNode.put("effectivePACost", spell.getPaCost());
+            }
+
+            // Les sorts n'y portent que leur total : la répartition par élément est au niveau joueur
+            ObjectNode elements = playerNode.putObject("damageByElement");
+            for (Map.Entry<Element, Long> e : ps.getDamageByElement().entrySet()) {
+                elements.put(e.getKey().name(), e.getValue());
+            }
+
+            if (!ps.getDamageByTarget().isEmpty()) {
+                ObjectNode targets = playerNode.putObject("damageByTarget");
+                ps.getDamageByTarget().forEach(targets::put);
+            }
+        }
+        return root.toString();
+    }
+}
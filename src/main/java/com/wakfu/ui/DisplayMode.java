@@ -2,5 +2,6 @@ package com.wakfu.ui;
 
 public enum DisplayMode {
         TOTAL,
-        TOUR
+        TOUR,
+        TIMELINE
     }
@@ -189,7 +189,19 @@ public class MainUI {
      * Sets the center content to display a different pane (for switching between Total and Tour modes)
      */
     public void setCenterContent(javafx.scene.Node content) {
+        setCenterContent(content, true);
+    }
+
+    /**
+     * Sets the center content; a non-scrollable content fills the center area and handles
+     * its own scrolling or zooming (e.g. the timeline canvas).
+     */
+    public void setCenterContent(javafx.scene.Node content, boolean scrollable) {
         javafx.scene.control.SplitPane splitPane = (javafx.scene.control.SplitPane) root.getCenter();
+        if (splitPane != null && !scrollable) {
+            if (splitPane.getItems().size() > 0) splitPane.getItems().set(0, content);
+            return;
+        }
         if (splitPane != null && splitPane.getItems().size() > 0) {
             ScrollPane centerScroll = new ScrollPane(content);
             centerScroll.setFitToWidth(true);
@@ -0,0 +1,83 @@
+package com.wakfu.ui;
+
+import com.wakfu.domain.event.EventType;
+import com.wakfu.domain.model.PlayerStats;
+import com.wakfu.domain.model.RoundSummary;
+import com.wakfu.domain.model.SpellStats;
+
+import java.util.Map;
+
+/**
+ * Grandeur affichée dans les vues Total et Tour : dégâts, soins ou armure.
+ */
+public enum StatMetric {
+    DAMAGE("Dégâts", "Répartition des degats", "Degats", "Degat/PA"),
+    HEAL("Soins", "Répartition des soins", "Soins", "Soin/PA"),
+    SHIELD("Armure", "Répartition de l'armure", "Armure", "Armure/PA");
+
+    private final String label;
+    private final String breakdownTitle;
+    private final String columnHeader;
+    private final String perPaHeader;
+
+    StatMetric(String label, String breakdownTitle, String columnHeader, String perPaHeader) {
+        this.label = label;
+        this.breakdownTitle = breakdownTitle;
+        this.columnHeader = columnHeader;
+        this.perPaHeader = perPaHeader;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getBreakdownTitle() {
+        return breakdownTitle;
+    }
+
+    public String getColumnHeader() {
+        return columnHeader;
+    }
+
+    public String getPerPaHeader() {
+        return perPaHeader;
+    }
+
+    /**
+     * Type d'événement qui fait varier la grandeur.
+     */
+    public EventType getEventType() {
+        return switch (this) {
+            case DAMAGE -> EventType.DAMAGE;
+            case HEAL -> EventType.HEAL;
+            case SHIELD -> EventType.SHIELD;
+        };
+    }
+
+    public int amountOf(PlayerStats stats) {
+        return switch (this) {
+            case DAMAGE -> stats.getTotalDamage();
+            case HEAL -> stats.getTotalHeal();
+            case SHIELD -> stats.getTotalShield();
+        };
+    }
+
+    public int amountOf(RoundSummary.PlayerTotals totals) {
+        return switch (this) {
+            case DAMAGE -> totals.getDamage();
+            case HEAL -> totals.getHeal();
+            case SHIELD -> totals.getShield();
+        };
+    }
+
+    /**
+     * Répartition par sort de la grandeur.
+     */
+    public Map<String, SpellStats> spellsOf(PlayerStats stats) {
+        return switch (this) {
+            case DAMAGE -> stats.getSpells();
+            case HEAL -> stats.getHealSpells();
+            case SHIELD -> stats.getShieldSpells();
+        };
+    }
+}
@@ -2,24 +2,41 @@ package com.wakfu.ui;
 
 import com.wakfu.data.UserSettings;
 import com.wakfu.domain.actors.Fighter;
+import com.wakfu.domain.event.EventType;
+import com.wakfu.domain.model.DpsTimeSeries;
+import com.wakfu.domain.model.FightChange;
 import com.wakfu.domain.model.PlayerStats;
 import com.wakfu.service.DamageCalculator;
+import com.wakfu.service.EventProcessor;
 import com.wakfu.domain.model.FightModel;
+import com.wakfu.metrics.LatencyHistogram;
+import com.wakfu.metrics.Metrics;
 import com.wakfu.storage.FightHistoryManager;
+import com.wakfu.ui.diagnostics.DiagnosticsPane;
 import com.wakfu.ui.overall.TotalBreakdownPane;
 import com.wakfu.ui.overall.TotalDamagePane;
+import com.wakfu.ui.overlay.OverlayWindow;
+import com.wakfu.ui.timeline.TimelinePane;
 import com.wakfu.ui.turn.TurnBreakdownPane;
 import com.wakfu.ui.turn.TurnDetailsPane;
 import javafx.application.Platform;
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.DirectoryChooser;
 import javafx.stage.Stage;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 // Note: PlayerUI is defined in TotalDamagePane.java
@@ -34,12 +51,19 @@ import java.util.function.Consumer;
  */
 public class UIManager {
 
+    // Temps entre la lecture d'une ligne par le parser et l'application de la mise à jour à l'écran
+    private static final LatencyHistogram LINE_TO_UI_LATENCY = Metrics.histogram("ui.line_to_ui.latency");
+
     private final Stage primaryStage;
     private final MainUI mainUI;
     private final VBox playersContainer;
 
     // Turn breakdown UI (per-round details)
     private TurnDetailsPane turnDetailsUI = null;
+    private TimelinePane timelineUI = null;
+    private OverlayWindow overlayUI = null;
+    // Diagnostics window (métriques du parser)
+    private DiagnosticsPane diagnosticsUI = null;
     // Keep last model to feed TurnBreakdownUI
     private FightModel lastModel = null;
 
@@ -49,19 +73,40 @@ public class UIManager {
 
     // Current display mode
     private DisplayMode currentMode = DisplayMode.TOTAL;
+    // Grandeur affichée dans les vues Total et Tour (dégâts, soins, armure)
+    private StatMetric currentMetric = StatMetric.DAMAGE;
+    // Fenêtre de la courbe de DPS des lignes joueurs, en secondes
+    private static final int SPARKLINE_SECONDS = 30;
 
     // === Controls Elements ===
     private final Button refreshButton;
     private final CheckBox autoResetCheck;
     private final Button selectLogsFolderButton;
+    private final Button addLogsFolderButton;
     private final DamageCalculator damageCalculator;
     private final Button totalBtn;
     private final Button tourBtn;
+    private final Button timelineBtn;
+    private final Map<StatMetric, Button> metricButtons = new EnumMap<>(StatMetric.class);
     // Historique
     private final CheckBox historyCheck;
     private final Button clearHistoryButton;
+    // Overlay toujours au premier plan
+    private final CheckBox overlayCheck;
+    private final Button diagnosticsButton;
     // Per-player colors for the session
     private final Map<String, javafx.scene.paint.Color> playerColors = new ConcurrentHashMap<>();
+    // Joueurs (et rounds de joueurs) touchés depuis le dernier rafraîchissement, d'après les FightChange
+    private final Set<String> changedPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<RoundPlayer> changedRoundPlayers = ConcurrentHashMap.newKeySet();
+    // Types de totaux modifiés et tours/rounds changés depuis le dernier rafraîchissement
+    private final Set<EventType> changedTypes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean turnsChanged = new AtomicBoolean(false);
+    private volatile boolean followingChanges = false;
+    // Seconde de log des dernières courbes affichées : elles glissent même sans nouveau coup
+    private volatile long sparklineSecond = Long.MIN_VALUE;
+    // Lignes de la vue joueurs, réutilisées d'un rafraîchissement à l'autre (thread JavaFX)
+    private final Map<String, TotalDamagePane> playerRows = new HashMap<>();
 
     // Callbacks
     private Consumer<String> onLogFolderSelected;
@@ -80,10 +125,17 @@ public class UIManager {
         this.refreshButton = new Button("🔄");
         this.autoResetCheck = new CheckBox("Auto-reset");
         this.selectLogsFolderButton = new Button("📁");
+        this.addLogsFolderButton = new Button("➕");
         this.historyCheck = new CheckBox("Historique");
         this.clearHistoryButton = new Button("✖");
+        this.diagnosticsButton = new Button("📊");
+        this.overlayCheck = new CheckBox("Overlay");
         this.totalBtn = new Button("Total");
         this.tourBtn = new Button("Tour");
+        this.timelineBtn = new Button("Chrono");
+        for (StatMetric metric : StatMetric.values()) {
+            metricButtons.put(metric, new Button(metric.getLabel()));
+        }
 
         setupUI();
     }
@@ -110,18 +162,21 @@ public class UIManager {
 
     public void setAutoResetChecked(boolean value) { autoResetCheck.setSelected(value); }
 
+    public void setOverlayChecked(boolean value) { overlayCheck.setSelected(value); }
+
     private void setupUI() {
         // Setup header buttons with callbacks
         setupHeaderControls();
 
         // Add header controls to MainUI
         mainUI.addAllToHeader(List.of(
-            selectLogsFolderButton, refreshButton, autoResetCheck,
-            historyCheck, clearHistoryButton
+            selectLogsFolderButton, addLogsFolderButton, refreshButton, autoResetCheck,
+            historyCheck, clearHistoryButton, diagnosticsButton, overlayCheck
         ));
 
         // Add mode buttons
-        mainUI.getModeButtonsBox().getChildren().addAll(totalBtn, tourBtn);
+        mainUI.getModeButtonsBox().getChildren().addAll(totalBtn, tourBtn, timelineBtn, new Separator(javafx.geometry.Orientation.VERTICAL));
+        mainUI.getModeButtonsBox().getChildren().addAll(metricButtons.values());
     }
 
     /**
@@ -141,13 +196,29 @@ public class UIManager {
             File chosen = dc.showDialog(primaryStage);
             if (chosen != null) {
                 String path = chosen.getAbsolutePath();
-                UserSettings.saveLogFolder(path);
+                UserSettings.saveSingleLogFolder(path);
                 setAppStatus(com.wakfu.data.MessageProvider.logFolderSelected());
                 if (onLogFolderSelected != null) onLogFolderSelected.accept(path);
             }
         });
         selectLogsFolderButton.setMinWidth(36);
 
+        // Ajout du dossier de logs d'un autre client (plusieurs comptes sur la même machine)
+        addLogsFolderButton.setTooltip(new Tooltip("Add another client's logs folder"));
+        addLogsFolderButton.setOnAction(e -> {
+            System.identityHashCode(e);
+            DirectoryChooser dc = new DirectoryChooser();
+            dc.setTitle("Add Wakfu logs folder");
+            File chosen = dc.showDialog(primaryStage);
+            if (chosen != null) {
+                String path = chosen.getAbsolutePath();
+                UserSettings.addLogFolder(path);
+                setAppStatus(com.wakfu.data.MessageProvider.logFolderAdded());
+                if (onLogFolderSelected != null) onLogFolderSelected.accept(path);
+            }
+        });
+        addLogsFolderButton.setMinWidth(36);
+
         // Refresh button (icône)
         refreshButton.setTooltip(new Tooltip("Refresh / Reset UI"));
         refreshButton.setOnAction(e -> { System.identityHashCode(e); resetData(); });
@@ -181,6 +252,32 @@ public class UIManager {
             }
         });
 
+        // Diagnostics button
+        diagnosticsButton.setTooltip(new Tooltip("Diagnostics (parser metrics)"));
+        diagnosticsButton.setOnAction(e -> {
+            System.identityHashCode(e);
+            if (diagnosticsUI == null) diagnosticsUI = new DiagnosticsPane(primaryStage);
+            diagnosticsUI.show();
+        });
+        diagnosticsButton.setMinWidth(36);
+
+        // Overlay : barres des joueurs dans une petite fenêtre toujours au premier plan
+        overlayCheck.setTooltip(new Tooltip("Overlay toujours au premier plan"));
+        overlayCheck.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            System.identityHashCode(obs); System.identityHashCode(oldVal);
+            UserSettings.saveOverlayEnabled(newVal);
+            if (newVal) {
+                if (overlayUI == null) {
+                    overlayUI = new OverlayWindow(primaryStage, this::showBreakdownInRightPane,
+                            () -> overlayCheck.setSelected(false));
+                }
+                overlayUI.show();
+                if (lastModel != null) refresh(lastModel);
+            } else if (overlayUI != null) {
+                overlayUI.hide();
+            }
+        });
+
         // Total button
         totalBtn.setTooltip(new Tooltip("Mode Total"));
         totalBtn.setOnAction(e -> {
@@ -195,8 +292,25 @@ public class UIManager {
             switchToTourMode();
         });
 
+        // Timeline button
+        timelineBtn.setTooltip(new Tooltip("Frise chronologique du combat"));
+        timelineBtn.setOnAction(e -> {
+            System.identityHashCode(e);
+            switchToTimelineMode();
+        });
+
+        // Metric buttons (dégâts / soins / armure)
+        metricButtons.forEach((metric, button) -> {
+            button.setTooltip(new Tooltip("Afficher : " + metric.getLabel()));
+            button.setOnAction(e -> {
+                System.identityHashCode(e);
+                switchMetric(metric);
+            });
+        });
+
         // Set default mode styling
         updateModeButtons();
+        updateMetricButtons();
     }
 
     /**
@@ -213,6 +327,7 @@ public class UIManager {
     private void resetData() {
         Platform.runLater(() -> {
             playersContainer.getChildren().clear();
+            playerRows.clear();
             setAppStatus(com.wakfu.data.MessageProvider.waitingCombat());
             // Clear breakdown pane
             mainUI.setBreakdownPanel(null);
@@ -222,6 +337,9 @@ public class UIManager {
             if (turnDetailsUI != null) {
                 turnDetailsUI.clear();
             }
+            if (timelineUI != null) {
+                timelineUI.clear();
+            }
          });
      }
 
@@ -232,70 +350,193 @@ public class UIManager {
      * Rafraîchit l'affichage de la liste des joueurs (ignore les ennemis).
      */
     public void displayPlayerStats(List<PlayerStats> statsList, int totalDamage) {
-        Platform.runLater(() -> {
-            playersContainer.getChildren().clear();
+        displayPlayerStats(statsList, totalDamage, StatMetric.DAMAGE);
+    }
 
-            java.util.concurrent.atomic.AtomicInteger row = new java.util.concurrent.atomic.AtomicInteger(0);
+    /**
+     * Rafraîchit l'affichage de la liste des joueurs pour la grandeur donnée.
+     *
+     * @param total total de la grandeur sur le combat (base des pourcentages)
+     */
+    public void displayPlayerStats(List<PlayerStats> statsList, int total, StatMetric metric) {
+        // Courbes lues dans les séries du modèle sur le thread appelant, sans reparcourir les coups
+        Map<String, int[]> sparklines = new HashMap<>();
+        Map<String, Double> rollingDps = new HashMap<>();
+        FightModel model = lastModel;
+        if (metric == StatMetric.DAMAGE && model != null && model.getLastLogTime() != Long.MIN_VALUE) {
+            for (PlayerStats ps : statsList) {
+                String name = ps.getPlayer().getName();
+                DpsTimeSeries series = model.getDpsSeries(name);
+                if (series == null) continue;
+                int[] values = new int[SPARKLINE_SECONDS];
+                series.copyRecent(model.getLastLogTime(), values);
+                sparklines.put(name, values);
+                rollingDps.put(name, series.getRollingDps(model.getLastLogTime(), SPARKLINE_SECONDS));
+            }
+        }
 
-            // Sort players by damage descending
+        Platform.runLater(() -> {
+            // Sort players by value descending
             var sortedPlayers = statsList.stream()
-                    .sorted((a, b) -> Integer.compare(b.getTotalDamage(), a.getTotalDamage()))
+                    .filter(ps -> ps.getPlayer().getType() == Fighter.FighterType.PLAYER)
+                    .sorted((a, b) -> Integer.compare(metric.amountOf(b), metric.amountOf(a)))
                     .toList();
 
-            // Find max damage among players only (for bar width scaling)
+            // Find max value among players only (for bar width scaling)
             int maxDamage = sortedPlayers.stream()
-                    .filter(ps -> ps.getPlayer().getType() == Fighter.FighterType.PLAYER)
-                    .mapToInt(PlayerStats::getTotalDamage)
+                    .mapToInt(metric::amountOf)
                     .max()
                     .orElse(1);
 
             if (maxDamage == 0) maxDamage = 1;
 
             final int finalMaxDamage = maxDamage;
-            final int finalTotalDamage = totalDamage > 0 ? totalDamage : 1;
-
-            sortedPlayers.forEach(ps -> {
-                 var p = ps.getPlayer();
-                 if (p.getType() == Fighter.FighterType.PLAYER) {
-                     int dmg = ps.getTotalDamage();
-                     // pct is relative to the max damage (for bar width scaling - highest player gets 100%)
-                     double pct = (double) dmg / finalMaxDamage;
-                     // damagePercentage is relative to total combat damage (for percentage display)
-                     double damagePercentage = (double) dmg / finalTotalDamage;
-
-                    // assign a consistent random color for this player in the session
-                    String playerKey = p.getName();
-                    javafx.scene.paint.Color c = playerColors.computeIfAbsent(playerKey, key -> {
-                        // generate slightly desaturated random color using the key's hash for determinism
-                        double hue = Math.abs(key.hashCode() % 360);
-                        return javafx.scene.paint.Color.hsb(hue, 0.65, 0.75);
-                    });
-
-                    // pass both pct (for bar width) and damagePercentage (for % display)
-                    TotalDamagePane playerUI = new TotalDamagePane(ps, pct, c, damagePercentage, this::showBreakdownInRightPane);
-                    HBox rowBox = playerUI.render();
-                    HBox.setHgrow(rowBox, Priority.ALWAYS);
-                    playersContainer.getChildren().add(rowBox);
-                    row.getAndIncrement();
-                 }
-             });
-          });
-      }
+            final int finalTotalDamage = total > 0 ? total : 1;
+
+            // Les lignes déjà affichées sont mises à jour sur place, seules les nouvelles sont créées
+            List<Node> rows = new ArrayList<>(sortedPlayers.size());
+            Set<String> shown = new HashSet<>();
+            for (PlayerStats ps : sortedPlayers) {
+                var p = ps.getPlayer();
+                int dmg = metric.amountOf(ps);
+                // pct is relative to the max damage (for bar width scaling - highest player gets 100%)
+                double pct = (double) dmg / finalMaxDamage;
+                // damagePercentage is relative to total combat damage (for percentage display)
+                double damagePercentage = (double) dmg / finalTotalDamage;
+
+                // assign a consistent random color for this player in the session
+                String playerKey = p.getName();
+                javafx.scene.paint.Color c = playerColors.computeIfAbsent(playerKey, key -> {
+                    // generate slightly desaturated random color using the key's hash for determinism
+                    double hue = Math.abs(key.hashCode() % 360);
+                    return javafx.scene.paint.Color.hsb(hue, 0.65, 0.75);
+                });
+
+                // pass both pct (for bar width) and damagePercentage (for % display)
+                TotalDamagePane playerUI = playerRows.get(playerKey);
+                if (playerUI == null) {
+                    playerUI = new TotalDamagePane(ps, dmg, pct, c, damagePercentage, this::showBreakdownInRightPane);
+                    playerRows.put(playerKey, playerUI);
+                } else {
+                    playerUI.update(ps, dmg, pct, c, damagePercentage);
+                }
+                int[] sparkline = sparklines.get(playerKey);
+                playerUI.setSparkline(sparkline, sparkline != null ? rollingDps.get(playerKey) : 0);
+                HBox rowBox = playerUI.render();
+                HBox.setHgrow(rowBox, Priority.ALWAYS);
+                rows.add(rowBox);
+                shown.add(playerKey);
+            }
+            playerRows.keySet().retainAll(shown);
+            // Enfants remplacés seulement si l'ordre ou la liste des joueurs a changé
+            if (!playersContainer.getChildren().equals(rows)) {
+                playersContainer.getChildren().setAll(rows);
+            }
+        });
+    }
+
+    private record RoundPlayer(int round, String player) {}
+
+    /**
+     * S'abonne aux changements élémentaires du combat : un rafraîchissement déclenché par le
+     * parser ne redessine alors que les vues touchées (liste des joueurs si la grandeur affichée
+     * a bougé, tours si un tour ou un round a changé, détail si le joueur sélectionné a été touché).
+     */
+    public void follow(EventProcessor processor) {
+        followingChanges = true;
+        processor.addChangeListener(this::onFightChange);
+    }
+
+    private void onFightChange(FightChange change) {
+        switch (change) {
+            case FightChange.SpellRowChanged row -> {
+                changedPlayers.add(row.player());
+                changedRoundPlayers.add(new RoundPlayer(row.round(), row.player()));
+            }
+            case FightChange.PlayerStatChanged stat -> changedTypes.add(stat.type());
+            case FightChange.TurnChanged turn -> turnsChanged.set(true);
+            case FightChange.RoundStarted round -> turnsChanged.set(true);
+            case FightChange.FightReset reset -> {
+                changedPlayers.clear();
+                changedRoundPlayers.clear();
+                changedTypes.addAll(EnumSet.allOf(EventType.class));
+                turnsChanged.set(true);
+            }
+            default -> { }
+        }
+    }
+
+    /**
+     * Types de totaux modifiés depuis l'appel précédent (retirés un à un : un changement
+     * arrivé entre-temps reste pour le prochain rafraîchissement).
+     */
+    private EnumSet<EventType> drainChangedTypes() {
+        EnumSet<EventType> changed = EnumSet.noneOf(EventType.class);
+        for (EventType type : EventType.values()) {
+            if (changedTypes.remove(type)) changed.add(type);
+        }
+        return changed;
+    }
+
+    /**
+     * Vrai si le détail du joueur doit être reconstruit : nouvel objet de stats, joueur touché
+     * depuis le dernier affichage, ou changements non suivis.
+     */
+    private boolean breakdownChanged(PlayerStats previous, PlayerStats updated, Integer round) {
+        boolean touched = round == null
+                ? changedPlayers.remove(updated.getPlayer().getName())
+                : changedRoundPlayers.remove(new RoundPlayer(round, updated.getPlayer().getName()));
+        return !followingChanges || touched || previous != updated;
+    }
 
     /**
-     * Rafraîchit l'UI à partir du modèle de combat.
+     * Rafraîchit l'UI à partir du modèle de combat (changement de mode, de métrique, ...) :
+     * toutes les vues sont redessinées.
      */
     public void refresh(FightModel model) {
+        refresh(model, true, 0);
+    }
+
+    /**
+     * Rafraîchit l'UI suite à une notification du modèle : seules les vues touchées par les
+     * changements reçus depuis le rafraîchissement précédent sont redessinées (voir {@link #follow}).
+     *
+     * @param lineNanos instant de lecture de la ligne à l'origine de la notification (premier coup d'un lancer)
+     *                  ({@link Metrics#currentLineNanos()}), ou 0 : aucune mesure de latence
+     */
+    public void refresh(FightModel model, long lineNanos) {
+        refresh(model, false, lineNanos);
+    }
+
+    private void refresh(FightModel model, boolean manual, long lineNanos) {
         if (model == null) return;
+        // Rafraîchissement manuel ou changements non suivis : tout est redessiné
+        boolean forced = manual || !followingChanges;
+        EnumSet<EventType> touchedTypes = drainChangedTypes();
+        boolean turns = turnsChanged.getAndSet(false);
 
-        int totalDamage = damageCalculator.getTotalDamage(model);
         var statsList = model.getStatsByPlayer().values().stream().toList();
+        StatMetric metric = currentMetric;
+        int total = metric == StatMetric.DAMAGE
+                ? damageCalculator.getTotalDamage(model)
+                : statsList.stream().mapToInt(metric::amountOf).sum();
         // store last model for external UIs
         this.lastModel = model;
 
+        boolean metricChanged = forced || touchedTypes.contains(metric.getEventType())
+                || (metric == StatMetric.DAMAGE && touchedTypes.contains(EventType.BONUS_DAMAGE));
+        if (overlayUI != null && overlayCheck.isSelected() && metricChanged) {
+            overlayUI.update(statsList, total, metric, playerColors);
+        }
+
         // Refresh display based on current mode
         if (currentMode == DisplayMode.TOTAL) {
-            displayPlayerStats(statsList, totalDamage);
+            long second = model.getLastLogTime() / 1000;
+            boolean sparklinesMoved = metric == StatMetric.DAMAGE && second != sparklineSecond;
+            if (metricChanged || sparklinesMoved) {
+                sparklineSecond = second;
+                displayPlayerStats(statsList, total, metric);
+            }
 
             // Auto-refresh the breakdown pane if a player is currently selected
             if (currentSelectedPlayer != null) {
@@ -305,17 +546,22 @@ public class UIManager {
                         .findFirst();
 
                 if (updatedStats.isPresent()) {
+                    boolean changed = breakdownChanged(currentSelectedPlayer, updatedStats.get(), null);
                     currentSelectedPlayer = updatedStats.get();
-                    showBreakdownInRightPane(currentSelectedPlayer);
+                    if (changed) showBreakdownInRightPane(currentSelectedPlayer);
                 } else {
                     // Player no longer in model, clear the breakdown
                     mainUI.setBreakdownPanel(null);
                     currentSelectedPlayer = null;
                 }
             }
+        } else if (currentMode == DisplayMode.TIMELINE) {
+            if (timelineUI != null && (forced || !touchedTypes.isEmpty())) {
+                timelineUI.update(model, playerColors);
+            }
         } else if (currentMode == DisplayMode.TOUR) {
             // Update TurnDetailsPane with new model
-            if (turnDetailsUI != null) {
+            if (turnDetailsUI != null && (forced || turns || !touchedTypes.isEmpty())) {
                 turnDetailsUI.update(model, playerColors);
             }
 
@@ -330,8 +576,9 @@ public class UIManager {
                     var updatedStats = roundModel.get().getPlayerStatsByRound()
                             .get(currentSelectedPlayer.getPlayer().getName());
                     if (updatedStats != null) {
+                        boolean changed = breakdownChanged(currentSelectedPlayer, updatedStats, currentSelectedRound);
                         currentSelectedPlayer = updatedStats;
-                        showTurnBreakdownInRightPane(currentSelectedRound, currentSelectedPlayer);
+                        if (changed) showTurnBreakdownInRightPane(currentSelectedRound, currentSelectedPlayer);
                     } else {
                         // Player no longer in round, clear the breakdown
                         mainUI.setBreakdownPanel(null);
@@ -346,6 +593,11 @@ public class UIManager {
                 }
             }
         }
+
+        // Exécuté après les mises à jour ci-dessus (file FIFO du thread JavaFX)
+        if (lineNanos != 0) {
+            Platform.runLater(() -> LINE_TO_UI_LATENCY.recordSince(lineNanos));
+        }
     }
 
     /**
@@ -365,7 +617,7 @@ public class UIManager {
                 // Remember the selected player for auto-refresh on model updates
                 currentSelectedPlayer = stats;
                 currentSelectedRound = null; // Clear round selection when showing total breakdown
-                Pane panel = TotalBreakdownPane.buildPanel(stats);
+                Pane panel = TotalBreakdownPane.buildPanel(stats, currentMetric, lastModel);
                 mainUI.setBreakdownPanel(panel);
              } catch (Exception e) {
                  showError("Erreur", "Impossible d'afficher le breakdown: " + e.getMessage());
@@ -402,25 +654,61 @@ public class UIManager {
             if (turnDetailsUI == null) {
                 turnDetailsUI = new TurnDetailsPane(primaryStage, this::showTurnBreakdownInRightPane);
             }
-            mainUI.setCenterContent(turnDetailsUI.getContent());
+            turnDetailsUI.setMetric(currentMetric);
+            mainUI.setCenterContent(turnDetailsUI.getContent(), false);
             if (lastModel != null) {
                 turnDetailsUI.update(lastModel, playerColors);
             }
         });
     }
 
+    /**
+     * Switch to Timeline mode (chronological view of casts and damage)
+     */
+    private void switchToTimelineMode() {
+        if (currentMode == DisplayMode.TIMELINE) return;
+        currentMode = DisplayMode.TIMELINE;
+        updateModeButtons();
+
+        Platform.runLater(() -> {
+            if (timelineUI == null) {
+                timelineUI = new TimelinePane();
+            }
+            mainUI.setCenterContent(timelineUI.getContent(), false);
+            if (lastModel != null) {
+                timelineUI.update(lastModel, playerColors);
+            }
+        });
+    }
+
+    /**
+     * Change la grandeur affichée (dégâts, soins, armure) dans la vue courante.
+     */
+    private void switchMetric(StatMetric metric) {
+        if (currentMetric == metric) return;
+        currentMetric = metric;
+        updateMetricButtons();
+
+        Platform.runLater(() -> {
+            if (turnDetailsUI != null) turnDetailsUI.setMetric(metric);
+            if (lastModel != null) refresh(lastModel);
+        });
+    }
+
+    private void updateMetricButtons() {
+        Platform.runLater(() -> metricButtons.forEach((metric, button) -> button.setStyle(metric == currentMetric
+                ? "-fx-background-color: #4a9eff; -fx-text-fill: white; -fx-font-weight: bold;" : "")));
+    }
+
     /**
      * Update button styles to show which mode is selected
      */
     private void updateModeButtons() {
         Platform.runLater(() -> {
-            if (currentMode == DisplayMode.TOTAL) {
-                totalBtn.setStyle("-fx-background-color: #4a9eff; -fx-text-fill: white; -fx-font-weight: bold;");
-                tourBtn.setStyle("");
-            } else {
-                totalBtn.setStyle("");
-                tourBtn.setStyle("-fx-background-color: #4a9eff; -fx-text-fill: white; -fx-font-weight: bold;");
-            }
+            String selected = "-fx-background-color: #4a9eff; -fx-text-fill: white; -fx-font-weight: bold;";
+            totalBtn.setStyle(currentMode == DisplayMode.TOTAL ? selected : "");
+            tourBtn.setStyle(currentMode == DisplayMode.TOUR ? selected : "");
+            timelineBtn.setStyle(currentMode == DisplayMode.TIMELINE ? selected : "");
         });
     }
 
@@ -433,7 +721,7 @@ public class UIManager {
                 // Remember the selected player and round for auto-refresh on model updates
                 currentSelectedPlayer = stats;
                 currentSelectedRound = roundNumber;
-                Pane panel = TurnBreakdownPane.buildPanel(roundNumber, stats);
+                Pane panel = TurnBreakdownPane.buildPanel(roundNumber, stats, currentMetric);
                 mainUI.setBreakdownPanel(panel);
             } catch (Exception e) {
                 showError("Erreur", "Impossible d'afficher le breakdown du tour: " + e.getMessage());
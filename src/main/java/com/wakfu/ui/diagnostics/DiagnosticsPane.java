@@ -0,0 +1,107 @@
+package com.wakfu.ui.diagnostics;
+
+import com.wakfu.data.MessageProvider;
+import com.wakfu.metrics.Metrics;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.util.Map;
+
+/**
+ * Fenêtre de diagnostic : métriques internes du parser (lignes lues, motifs reconnus,
+ * retard sur la fin du fichier, latences), rafraîchies chaque seconde tant qu'elle est ouverte.
+ */
+public class DiagnosticsPane {
+
+    private final Stage stage;
+    private final GridPane grid = new GridPane();
+    private final Label status = new Label();
+    private final Timeline refreshTimeline;
+
+    public DiagnosticsPane(Stage owner) {
+        this.stage = new Stage();
+        this.refreshTimeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> refresh()));
+        this.refreshTimeline.setCycleCount(Timeline.INDEFINITE);
+        setupUI(owner);
+    }
+
+    private void setupUI(Stage owner) {
+        BorderPane root = new BorderPane();
+        root.setPadding(new Insets(10));
+
+        HBox top = new HBox(8);
+        top.setAlignment(Pos.CENTER_LEFT);
+        Label title = new Label("Diagnostic");
+        title.setStyle("-fx-font-weight:bold; -fx-font-size:14px;");
+
+        Button export = new Button("💾");
+        export.setTooltip(new Tooltip("Export metrics (" + Metrics.DUMP_FILE.getName() + ")"));
+        export.setOnAction(e -> {
+            boolean ok = Metrics.dumpTo(Metrics.DUMP_FILE);
+            status.setText(ok ? MessageProvider.metricsExported() : MessageProvider.metricsExportError());
+        });
+
+        Button reset = new Button("↺");
+        reset.setTooltip(new Tooltip("Reset counters"));
+        reset.setOnAction(e -> {
+            Metrics.reset();
+            refresh();
+        });
+
+        top.getChildren().addAll(title, export, reset, status);
+        root.setTop(top);
+
+        grid.setHgap(12);
+        grid.setVgap(3);
+        grid.setPadding(new Insets(8, 0, 0, 0));
+        ColumnConstraints nameCol = new ColumnConstraints();
+        nameCol.setMinWidth(220);
+        ColumnConstraints valueCol = new ColumnConstraints();
+        valueCol.setHgrow(Priority.ALWAYS);
+        grid.getColumnConstraints().addAll(nameCol, valueCol);
+
+        ScrollPane sc = new ScrollPane(grid);
+        sc.setFitToWidth(true);
+        sc.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
+        root.setCenter(sc);
+
+        Scene scene = new Scene(root, 560, 520);
+        var css = getClass().getResource("/dark-theme.css");
+        if (css != null) scene.getStylesheets().add(css.toExternalForm());
+        stage.setScene(scene);
+        stage.initOwner(owner);
+        stage.setTitle("Diagnostic");
+        stage.setOnHidden(e -> refreshTimeline.stop());
+    }
+
+    public void show() {
+        refresh();
+        refreshTimeline.play();
+        stage.show();
+        stage.toFront();
+    }
+
+    private void refresh() {
+        grid.getChildren().clear();
+        int row = 0;
+        for (Map.Entry<String, String> e : Metrics.snapshot().entrySet()) {
+            grid.add(new Label(e.getKey()), 0, row);
+            grid.add(new Label(e.getValue()), 1, row);
+            row++;
+        }
+    }
+}
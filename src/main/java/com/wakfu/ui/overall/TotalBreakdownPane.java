@@ -2,7 +2,9 @@ package com.wakfu.ui.overall;
 
 import com.wakfu.domain.model.SpellStats;
 import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.model.FightModel;
 import com.wakfu.domain.model.PlayerStats;
+import com.wakfu.ui.StatMetric;
 import com.wakfu.ui.util.UIUtils;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -28,6 +30,21 @@ public class TotalBreakdownPane {
      * Designed to be embedded in MainUI's right pane.
      */
     public static Pane buildPanel(PlayerStats playerStats) {
+        return buildPanel(playerStats, StatMetric.DAMAGE);
+    }
+
+    /**
+     * Builds a panel showing the per-spell breakdown of the given metric (damage, heal or shield).
+     */
+    public static Pane buildPanel(PlayerStats playerStats, StatMetric metric) {
+        return buildPanel(playerStats, metric, null);
+    }
+
+    /**
+     * Same panel, followed for damage by the per-target breakdown ("Par cible") read from the
+     * fight's damage matrix.
+     */
+    public static Pane buildPanel(PlayerStats playerStats, StatMetric metric, FightModel model) {
         Map<String, SpellStats> spells = new java.util.LinkedHashMap<>();
         String playerName = "Joueur";
 
@@ -42,7 +59,7 @@ public class TotalBreakdownPane {
         // Extract spells
         try {
             if (playerStats != null) {
-                Map<String, SpellStats> rawSpells = playerStats.getSpells();
+                Map<String, SpellStats> rawSpells = metric.spellsOf(playerStats);
                 if (rawSpells != null) {
                     spells = rawSpells;
                 }
@@ -64,7 +81,7 @@ public class TotalBreakdownPane {
         container.setAlignment(Pos.TOP_LEFT);
         container.setBackground(Background.EMPTY);
 
-        Label title = new Label("Répartition des degats - " + playerName);
+        Label title = new Label(metric.getBreakdownTitle() + " - " + playerName);
         title.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
         container.getChildren().add(title);
 
@@ -84,8 +101,8 @@ public class TotalBreakdownPane {
         Label hBar = new Label("");
         hBar.setBackground(Background.EMPTY);
         GridPane.setHgrow(hBar, Priority.ALWAYS);
-        Label hDmg = new Label("Degats");
-        Label hDmgPerPA = new Label("Degat/PA");
+        Label hDmg = new Label(metric.getColumnHeader());
+        Label hDmgPerPA = new Label(metric.getPerPaHeader());
         Label hCasts = new Label("Casts");
         Label hPct = new Label("%");
 
@@ -206,7 +223,8 @@ public class TotalBreakdownPane {
         } catch (Exception ignored) {
         }
 
-        if (!bonusEffects.isEmpty()) {
+        // Les dégâts bonus ne concernent que la vue des dégâts
+        if (metric == StatMetric.DAMAGE && !bonusEffects.isEmpty()) {
             Label bonusTitle = new Label("Degats Bonus");
             bonusTitle.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-padding: 10 0 0 0;");
             container.getChildren().add(bonusTitle);
@@ -334,6 +352,89 @@ public class TotalBreakdownPane {
             container.getChildren().add(bonusScrollPane);
         }
 
+        if (metric == StatMetric.DAMAGE && model != null) {
+            Pane targets = buildTargetSection(playerName, model);
+            if (targets != null) container.getChildren().add(targets);
+        }
+
         return container;
     }
+
+    /**
+     * Dégâts du joueur par cible (boss, adds...), avec le DPS sur la durée du combat.
+     * Retourne null si le joueur n'a touché aucune cible.
+     */
+    private static Pane buildTargetSection(String playerName, FightModel model) {
+        Map<String, Integer> byTarget = model.getDamageMatrix().getTargetTotals(playerName);
+        if (byTarget.isEmpty()) return null;
+
+        int total = byTarget.values().stream().mapToInt(Integer::intValue).sum();
+        if (total == 0) total = 1;
+        int max = byTarget.values().iterator().next(); // trié par dégâts décroissants
+        if (max == 0) max = 1;
+        double seconds = fightSeconds(model);
+
+        VBox section = new VBox(6);
+        section.setBackground(Background.EMPTY);
+
+        Label title = new Label("Par cible");
+        title.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-padding: 10 0 0 0;");
+        section.getChildren().add(title);
+
+        double nameColumnWidth = UIUtils.calculateDynamicColumnWidth(byTarget.keySet());
+
+        GridPane header = new GridPane();
+        header.setHgap(2);
+        header.setAlignment(Pos.CENTER_LEFT);
+        header.getColumnConstraints().addAll(java.util.Arrays.asList(UIUtils.createBreakdownColumns(nameColumnWidth)));
+        Label hBar = new Label("");
+        GridPane.setHgrow(hBar, Priority.ALWAYS);
+        header.add(new Label("Cible"), 0, 0);
+        header.add(hBar, 1, 0);
+        header.add(new Label("Degats"), 2, 0);
+        header.add(new Label("DPS"), 3, 0);
+        header.add(new Label("Sorts"), 4, 0);
+        header.add(new Label("%"), 5, 0);
+        section.getChildren().add(header);
+
+        for (Map.Entry<String, Integer> e : byTarget.entrySet()) {
+            int dmg = e.getValue();
+            int spellCount = model.getDamageMatrix().getSpellTotals(playerName, e.getKey()).size();
+
+            GridPane rowGrid = new GridPane();
+            rowGrid.setHgap(2);
+            rowGrid.getColumnConstraints().addAll(java.util.Arrays.asList(UIUtils.createBreakdownColumns(nameColumnWidth)));
+
+            StackPane bar = UIUtils.createProgressBar((double) dmg / max, Color.web("#4b8cff"));
+            GridPane.setHgrow(bar, Priority.ALWAYS);
+
+            Label dmgLabel = new Label(String.format("%,d", dmg));
+            dmgLabel.setAlignment(Pos.CENTER_RIGHT);
+            Label dpsLabel = new Label(seconds > 0 ? String.format("%,.0f", dmg / seconds) : "-");
+            dpsLabel.setAlignment(Pos.CENTER_RIGHT);
+            Label spellsLabel = new Label(String.valueOf(spellCount));
+            spellsLabel.setAlignment(Pos.CENTER_RIGHT);
+            Label pctLabel = new Label(String.format("%.1f%%", 100.0 * dmg / total));
+            pctLabel.setAlignment(Pos.CENTER_RIGHT);
+
+            rowGrid.add(new Label(e.getKey()), 0, 0);
+            rowGrid.add(bar, 1, 0);
+            rowGrid.add(dmgLabel, 2, 0);
+            rowGrid.add(dpsLabel, 3, 0);
+            rowGrid.add(spellsLabel, 4, 0);
+            rowGrid.add(pctLabel, 5, 0);
+            section.getChildren().add(rowGrid);
+        }
+        return section;
+    }
+
+    /**
+     * Durée du combat en secondes (jusqu'à maintenant s'il est en cours), 0 si inconnue.
+     */
+    private static double fightSeconds(FightModel model) {
+        if (model.getStartTime() == null) return 0;
+        java.time.LocalDateTime end = model.getEndTime() != null && model.getEndTime().isAfter(model.getStartTime())
+                ? model.getEndTime() : java.time.LocalDateTime.now();
+        return java.time.Duration.between(model.getStartTime(), end).toMillis() / 1000.0;
+    }
 }
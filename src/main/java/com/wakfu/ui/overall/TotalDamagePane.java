@@ -2,27 +2,57 @@ package com.wakfu.ui.overall;
 
 import com.wakfu.domain.actors.Player;
 import com.wakfu.domain.model.PlayerStats;
+import com.wakfu.ui.util.UIResources;
 import com.wakfu.ui.util.UIUtils;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.Tooltip;
+import javafx.scene.image.Image;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Polyline;
 
 import java.util.List;
 import java.util.function.Consumer;
 
 public class TotalDamagePane {
 
-    private final PlayerStats stats;
-    private final double pct;                 // 0..1 percentage dans la barre principale
-    private final double damagePercentage;   // 0..1 percentage du track de dégâts
-    private final Color barColor;
-    private final Color trackColor;
+    private static final Color DEFAULT_COLOR = Color.web("#4b8cff");
+    private static final Color TRACK_COLOR = Color.rgb(0, 0, 0, 0.10);
+    private static final Color NO_CLASS_COLOR = Color.web("#cccccc");
+    private static final double ICON_SIZE = 24;
+    private static final BackgroundSize CLASS_ICON_SIZE = new BackgroundSize(1, 1, true, true, true, false);
+
+    private PlayerStats stats;
+    private int value;                        // valeur affichée (dégâts, soins ou armure)
+    private final DoubleProperty pct = new SimpleDoubleProperty();              // 0..1 percentage dans la barre principale
+    private final DoubleProperty damagePercentage = new SimpleDoubleProperty(); // 0..1 percentage du track de dégâts
+    private Color barColor;
+    private Color trackColor;
     private final Consumer<PlayerStats> onBreakdown;
 
+    // Courbe des dégâts par seconde récents (null = pas de courbe)
+    private static final double SPARK_WIDTH = 60;
+    private static final double SPARK_HEIGHT = 16;
+    private int[] sparkline;
+    private double rollingDps;
+
+    // Nœuds construits au premier render() puis mis à jour sur place
+    private HBox wrapper;
+    private Label valueLabel;
+    private Label percentLabel;
+    private Region damageTrack;
+    private Region fill;
+    private StackPane sparkBox;
+    private Polyline sparkLine;
+    private Tooltip sparkTooltip;
+
     public TotalDamagePane(PlayerStats stats, double percentage, Color barColor, Consumer<PlayerStats> onBreakdownRequested) {
         this(stats, percentage, barColor, percentage, onBreakdownRequested);
     }
@@ -32,16 +62,68 @@ public class TotalDamagePane {
     }
 
     public TotalDamagePane(PlayerStats stats, double percentage, Color barColor, Color trackColor, double damagePercentage, Consumer<PlayerStats> onBreakdownRequested) {
-        this.stats = stats;
-        this.pct = UIUtils.clamp01(percentage);
-        this.damagePercentage = UIUtils.clamp01(damagePercentage);
-        this.barColor = barColor == null ? Color.web("#4b8cff") : barColor;
-        this.trackColor = trackColor == null ? Color.web("#4b8cff") : trackColor;
+        this(stats, stats.getTotalDamage(), percentage, barColor, trackColor, damagePercentage, onBreakdownRequested);
+    }
+
+    public TotalDamagePane(PlayerStats stats, int value, double percentage, Color barColor, double damagePercentage, Consumer<PlayerStats> onBreakdownRequested) {
+        this(stats, value, percentage, barColor, barColor, damagePercentage, onBreakdownRequested);
+    }
+
+    public TotalDamagePane(PlayerStats stats, int value, double percentage, Color barColor, Color trackColor, double damagePercentage, Consumer<PlayerStats> onBreakdownRequested) {
         this.onBreakdown = onBreakdownRequested;
+        setValues(stats, value, percentage, barColor, trackColor, damagePercentage);
+    }
+
+    /**
+     * Met à jour la ligne déjà affichée sans recréer ses nœuds : seuls les textes, largeurs
+     * et couleurs qui ont changé sont modifiés.
+     */
+    public void update(PlayerStats stats, int value, double percentage, Color barColor, double damagePercentage) {
+        int previousValue = this.value;
+        Color previousBar = this.barColor;
+        Color previousTrack = this.trackColor;
+        double previousPercentage = this.damagePercentage.get();
+        setValues(stats, value, percentage, barColor, barColor, damagePercentage);
+        if (wrapper == null) return;
+
+        if (previousValue != this.value) valueLabel.setText(String.format("%,d", this.value));
+        if (previousPercentage != this.damagePercentage.get()) {
+            percentLabel.setText(String.format("%.1f%%", this.damagePercentage.get() * 100));
+        }
+        if (!previousBar.equals(this.barColor)) {
+            fill.setBackground(bg(this.barColor, 6));
+            sparkLine.setStroke(this.barColor);
+        }
+        if (!previousTrack.equals(this.trackColor)) damageTrack.setBackground(bg(this.trackColor, 6));
+    }
+
+    private void setValues(PlayerStats stats, int value, double percentage, Color barColor, Color trackColor, double damagePercentage) {
+        this.stats = stats;
+        this.value = value;
+        this.pct.set(UIUtils.clamp01(percentage));
+        this.damagePercentage.set(UIUtils.clamp01(damagePercentage));
+        this.barColor = barColor == null ? DEFAULT_COLOR : barColor;
+        this.trackColor = trackColor == null ? DEFAULT_COLOR : trackColor;
+    }
+
+    /**
+     * Affiche à droite de la barre la courbe des dégâts par seconde récents.
+     *
+     * @param values dégâts par seconde, du plus ancien au plus récent, ou null pour masquer la courbe
+     * @param rollingDps DPS sur la même fenêtre, affiché en info-bulle
+     */
+    public void setSparkline(int[] values, double rollingDps) {
+        this.sparkline = values;
+        this.rollingDps = rollingDps;
+        if (wrapper != null) updateSparkline();
     }
 
-    /** Layout : [Name (fixed)] [Bar (HGrow ALWAYS)] [Value (fixed)] [Pct (fixed)] [🔍 (fixed)] */
+    /**
+     * Layout : [Name (fixed)] [Bar (HGrow ALWAYS)] [Value (fixed)] [Pct (fixed)] [🔍 (fixed)]
+     * <p>Les nœuds sont créés au premier appel ; les appels suivants renvoient la même ligne.</p>
+     */
     public HBox render() {
+        if (wrapper != null) return wrapper;
         Player p = stats.getPlayer();
 
         GridPane row = new GridPane();
@@ -74,16 +156,16 @@ public class TotalDamagePane {
         Region track = new Region();
         track.setMinWidth(0);
         track.setPrefHeight(8);
-        track.setBackground(bg(Color.rgb(0, 0, 0, 0.10), 6));
+        track.setBackground(bg(TRACK_COLOR, 6));
 
-        Region damageTrack = new Region();
+        damageTrack = new Region();
         damageTrack.setMinWidth(0);
         damageTrack.setPrefHeight(8);
         damageTrack.setBackground(bg(trackColor, 6));
         damageTrack.setOpacity(0.35);
         StackPane.setAlignment(damageTrack, Pos.CENTER_LEFT);
 
-        Region fill = new Region();
+        fill = new Region();
         fill.setMinWidth(0);
         fill.setPrefHeight(8);
         fill.setBackground(bg(barColor, 6));
@@ -97,18 +179,33 @@ public class TotalDamagePane {
 
         bar.getChildren().addAll(track, damageTrack, fill);
 
-        // Set the bar width to be proportional to the damage percentage
+        // [Sparkline] — toujours présente, masquée quand il n'y a pas de courbe
+        sparkLine = new Polyline();
+        sparkLine.setStroke(barColor);
+        sparkLine.setStrokeWidth(1.2);
+        sparkBox = new StackPane(sparkLine);
+        sparkBox.setMinSize(SPARK_WIDTH, SPARK_HEIGHT);
+        sparkBox.setPrefSize(SPARK_WIDTH, SPARK_HEIGHT);
+        sparkBox.setMaxSize(SPARK_WIDTH, SPARK_HEIGHT);
+        sparkBox.managedProperty().bind(sparkBox.visibleProperty());
+        sparkTooltip = new Tooltip();
+        Tooltip.install(sparkBox, sparkTooltip);
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        // Set the bar width to be proportional to the damage percentage (place de la courbe déduite)
         HBox.setHgrow(bar, Priority.NEVER);
-        bar.prefWidthProperty().bind(barContainer.widthProperty().multiply(pct));
-
-        barContainer.getChildren().add(bar);
+        bar.prefWidthProperty().bind(Bindings.createDoubleBinding(
+                () -> (barContainer.getWidth() - (sparkBox.isVisible() ? SPARK_WIDTH + barContainer.getSpacing() : 0)) * pct.get(),
+                barContainer.widthProperty(), sparkBox.visibleProperty(), pct));
+        barContainer.getChildren().addAll(bar, spacer, sparkBox);
         GridPane.setHgrow(barContainer, Priority.ALWAYS);
 
         // [Value]
-        Label value = labelRight(String.format("%,d", stats.getTotalDamage()), 90);
+        valueLabel = labelRight(String.format("%,d", this.value), 90);
 
         // [%] - Utilise damagePercentage au lieu de pct
-        Label percent = labelRight(String.format("%.1f%%", damagePercentage * 100), 70);
+        percentLabel = labelRight(String.format("%.1f%%", damagePercentage.get() * 100), 70);
 
         // [🔍]
         Button details = new Button("🔍");
@@ -127,49 +224,62 @@ public class TotalDamagePane {
         row.add(classIcon,    0, 0);
         row.add(name,         1, 0);
         row.add(barContainer, 2, 0);
-        row.add(value,        3, 0);
-        row.add(percent,      4, 0);
+        row.add(valueLabel,   3, 0);
+        row.add(percentLabel, 4, 0);
         row.add(details,      5, 0);
 
-        HBox wrapper = new HBox(row);
+        wrapper = new HBox(row);
         wrapper.setAlignment(Pos.CENTER_LEFT);
         wrapper.setPadding(new Insets(2, 0, 2, 15));
         HBox.setHgrow(row, Priority.ALWAYS);
+        updateSparkline();
         return wrapper;
     }
 
     /* ---------- Helpers compacts ---------- */
 
+    private void updateSparkline() {
+        boolean shown = sparkline != null && sparkline.length > 1;
+        sparkBox.setVisible(shown);
+        if (!shown) return;
+
+        int max = 1;
+        for (int v : sparkline) max = Math.max(max, v);
+        double step = SPARK_WIDTH / (sparkline.length - 1);
+        ObservableList<Double> points = sparkLine.getPoints();
+        if (points.size() != sparkline.length * 2) {
+            Double[] coords = new Double[sparkline.length * 2];
+            for (int i = 0; i < sparkline.length; i++) {
+                coords[2 * i] = i * step;
+                coords[2 * i + 1] = SPARK_HEIGHT * (1 - (double) sparkline[i] / max);
+            }
+            points.setAll(coords);
+        } else {
+            // Abscisses inchangées : seules les hauteurs sont réécrites
+            for (int i = 0; i < sparkline.length; i++) {
+                points.set(2 * i + 1, SPARK_HEIGHT * (1 - (double) sparkline[i] / max));
+            }
+        }
+        sparkTooltip.setText(String.format("DPS %d s : %,.0f", sparkline.length, rollingDps));
+    }
+
     private static Region createClassIcon(Player player) {
         Region icon = new Region();
-        icon.setPrefSize(24, 24);
-        icon.setMinSize(24, 24);
-        icon.setMaxSize(24, 24);
+        icon.setPrefSize(ICON_SIZE, ICON_SIZE);
+        icon.setMinSize(ICON_SIZE, ICON_SIZE);
+        icon.setMaxSize(ICON_SIZE, ICON_SIZE);
 
         if (player.getPlayerClass() != null && player.getPlayerClass().getIconPath() != null) {
-            String iconPath = player.getPlayerClass().getIconPath();
-            try {
-                var url = TotalDamagePane.class.getResource(iconPath);
-                if (url != null) {
-                    String style = String.format(
-                        "-fx-background-image: url('%s'); " +
-                        "-fx-background-size: contain; " +
-                        "-fx-background-repeat: no-repeat; " +
-                        "-fx-background-position: center;",
-                        url.toExternalForm()
-                    );
-                    icon.setStyle(style);
-                } else {
-                    // Icône non trouvée, laisser vide
-                    icon.setStyle("-fx-background-color: transparent;");
-                }
-            } catch (Exception e) {
-                // En cas d'erreur, laisser l'icône vide
-                icon.setStyle("-fx-background-color: transparent;");
+            // Logo chargé une seule fois par classe (cache partagé), sinon icône laissée vide
+            Image image = UIResources.classIcon(player.getPlayerClass(), ICON_SIZE);
+            if (image != null) {
+                icon.setBackground(new Background(new BackgroundImage(image,
+                        BackgroundRepeat.NO_REPEAT, BackgroundRepeat.NO_REPEAT,
+                        BackgroundPosition.CENTER, CLASS_ICON_SIZE)));
             }
         } else {
-            // Pas de classe détectée, afficher un point d'interrogation ou laisser vide
-            icon.setStyle("-fx-background-color: #cccccc; -fx-background-radius: 12;");
+            // Pas de classe détectée, afficher un rond gris
+            icon.setBackground(bg(NO_CLASS_COLOR, 12));
         }
 
         return icon;
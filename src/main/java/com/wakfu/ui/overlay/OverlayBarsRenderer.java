@@ -0,0 +1,166 @@
+package com.wakfu.ui.overlay;
+
+import com.wakfu.domain.actors.Fighter;
+import com.wakfu.domain.actors.PlayerClass;
+import com.wakfu.domain.model.PlayerStats;
+import com.wakfu.ui.StatMetric;
+import com.wakfu.ui.util.UIResources;
+import javafx.application.Platform;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Barres des joueurs dessinées sur un seul {@link Canvas}, pour l'overlay : aucun nœud par
+ * joueur, une image redessinée seulement quand les valeurs ou la taille changent. Les largeurs
+ * de texte et les icônes de classe sont mises en cache ; un clic sur une ligne ouvre son détail.
+ */
+public class OverlayBarsRenderer {
+
+    private static final double ROW_HEIGHT = 22;
+    private static final double ICON_SIZE = 18;
+    private static final double PADDING = 6;
+    private static final double NAME_WIDTH = 96;
+    private static final double VALUE_WIDTH = 70;
+    private static final double PERCENT_WIDTH = 46;
+    private static final Color BACKGROUND = Color.rgb(20, 20, 20, 0.85);
+    private static final Color TRACK = Color.rgb(255, 255, 255, 0.08);
+    private static final Color TEXT = Color.web("#e6e6e6");
+    private static final Color DEFAULT_COLOR = Color.web("#4b8cff");
+    private static final Font FONT = Font.font(12);
+
+    private final Pane content = new Pane();
+    private final Canvas canvas = new Canvas();
+    private final Consumer<PlayerStats> onBreakdown;
+    // Largeur des noms affichés, mesurée une fois par nom
+    private final Map<String, String> fittedNames = new HashMap<>();
+    private final AtomicReference<List<Row>> pending = new AtomicReference<>();
+
+    private List<Row> rows = List.of();
+
+    private record Row(PlayerStats stats, String name, PlayerClass playerClass, Color color,
+                       String value, String percent, double barPct) {}
+
+    public OverlayBarsRenderer(Consumer<PlayerStats> onBreakdown) {
+        this.onBreakdown = onBreakdown;
+        content.getChildren().add(canvas);
+        content.setMinSize(0, 0);
+        canvas.widthProperty().bind(content.widthProperty());
+        canvas.heightProperty().bind(content.heightProperty());
+        canvas.widthProperty().addListener((obs, o, n) -> draw());
+        canvas.heightProperty().addListener((obs, o, n) -> draw());
+        canvas.setOnMouseClicked(e -> {
+            int index = (int) ((e.getY() - PADDING) / ROW_HEIGHT);
+            if (e.getY() >= PADDING && index < rows.size() && onBreakdown != null) {
+                onBreakdown.accept(rows.get(index).stats());
+            }
+        });
+    }
+
+    public Pane getContent() {
+        return content;
+    }
+
+    /**
+     * Hauteur voulue pour afficher toutes les lignes.
+     */
+    public double preferredHeight(int rowCount) {
+        return PADDING * 2 + Math.max(1, rowCount) * ROW_HEIGHT;
+    }
+
+    /**
+     * Prépare les lignes sur le thread appelant ; le dessin est fait une fois sur le thread
+     * JavaFX, même si plusieurs mises à jour arrivent entre deux passages.
+     */
+    public void update(List<PlayerStats> statsList, int total, StatMetric metric, Map<String, Color> colors) {
+        List<PlayerStats> players = statsList.stream()
+                .filter(ps -> ps.getPlayer().getType() == Fighter.FighterType.PLAYER)
+                .sorted((a, b) -> Integer.compare(metric.amountOf(b), metric.amountOf(a)))
+                .toList();
+        int max = Math.max(1, players.stream().mapToInt(metric::amountOf).max().orElse(1));
+        int sum = total > 0 ? total : 1;
+
+        List<Row> next = new ArrayList<>(players.size());
+        for (PlayerStats ps : players) {
+            int amount = metric.amountOf(ps);
+            next.add(new Row(ps, ps.getPlayer().getName(), ps.getPlayer().getPlayerClass(),
+                    colors != null ? colors.getOrDefault(ps.getPlayer().getName(), DEFAULT_COLOR) : DEFAULT_COLOR,
+                    String.format("%,d", amount),
+                    String.format("%.1f%%", amount * 100.0 / sum),
+                    (double) amount / max));
+        }
+        if (pending.getAndSet(next) == null) {
+            Platform.runLater(() -> {
+                rows = pending.getAndSet(null);
+                draw();
+            });
+        }
+    }
+
+    private void draw() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        double w = canvas.getWidth();
+        double h = canvas.getHeight();
+        g.clearRect(0, 0, w, h);
+        g.setFill(BACKGROUND);
+        g.fillRoundRect(0, 0, w, h, 8, 8);
+        g.setFont(FONT);
+        g.setTextBaseline(VPos.CENTER);
+
+        double barX = PADDING + ICON_SIZE + 4 + NAME_WIDTH + 4;
+        double barWidth = Math.max(0, w - barX - VALUE_WIDTH - PERCENT_WIDTH - PADDING - 4);
+        double y = PADDING;
+        for (Row row : rows) {
+            if (y + ROW_HEIGHT > h) break;
+            double mid = y + ROW_HEIGHT / 2;
+
+            Image icon = UIResources.classIcon(row.playerClass(), ICON_SIZE);
+            if (icon != null) g.drawImage(icon, PADDING, mid - ICON_SIZE / 2, ICON_SIZE, ICON_SIZE);
+
+            g.setFill(TEXT);
+            g.setTextAlign(TextAlignment.LEFT);
+            g.fillText(fittedName(row.name()), PADDING + ICON_SIZE + 4, mid);
+
+            g.setFill(TRACK);
+            g.fillRoundRect(barX, mid - 4, barWidth, 8, 6, 6);
+            g.setFill(row.color());
+            g.fillRoundRect(barX, mid - 4, Math.max(2, barWidth * row.barPct()), 8, 6, 6);
+
+            g.setFill(TEXT);
+            g.setTextAlign(TextAlignment.RIGHT);
+            g.fillText(row.value(), barX + barWidth + 4 + VALUE_WIDTH, mid);
+            g.fillText(row.percent(), w - PADDING, mid);
+            y += ROW_HEIGHT;
+        }
+    }
+
+    /**
+     * Nom tronqué à la colonne des noms, calculé une fois par nom.
+     */
+    private String fittedName(String name) {
+        return fittedNames.computeIfAbsent(name, n -> {
+            Text probe = new Text();
+            probe.setFont(FONT);
+            String shown = n;
+            probe.setText(shown);
+            while (shown.length() > 1 && probe.getLayoutBounds().getWidth() > NAME_WIDTH) {
+                shown = shown.substring(0, shown.length() - 1);
+                probe.setText(shown + "…");
+            }
+            return shown.equals(n) ? n : shown + "…";
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package com.wakfu.ui.overlay;
+
+import com.wakfu.domain.model.PlayerStats;
+import com.wakfu.ui.StatMetric;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Petite fenêtre toujours au premier plan, à placer à côté du jeu, qui n'affiche que les barres
+ * des joueurs ({@link OverlayBarsRenderer}). Sa hauteur suit le nombre de joueurs.
+ */
+public class OverlayWindow {
+
+    private static final double WIDTH = 380;
+
+    private final Stage stage = new Stage();
+    private final OverlayBarsRenderer renderer;
+    private int shownRows = -1;
+
+    public OverlayWindow(Stage owner, Consumer<PlayerStats> onBreakdown, Runnable onClosed) {
+        this.renderer = new OverlayBarsRenderer(onBreakdown);
+        Scene scene = new Scene(renderer.getContent(), WIDTH, renderer.preferredHeight(1));
+        scene.setFill(Color.TRANSPARENT);
+        stage.setScene(scene);
+        stage.initOwner(owner);
+        stage.initStyle(StageStyle.UTILITY);
+        stage.setTitle("WakMeter");
+        stage.setAlwaysOnTop(true);
+        stage.setOnHidden(e -> {
+            if (onClosed != null) onClosed.run();
+        });
+    }
+
+    public void show() {
+        Platform.runLater(stage::show);
+    }
+
+    public void hide() {
+        Platform.runLater(stage::hide);
+    }
+
+    public boolean isShowing() {
+        return stage.isShowing();
+    }
+
+    public void update(List<PlayerStats> statsList, int total, StatMetric metric, Map<String, Color> colors) {
+        renderer.update(statsList, total, metric, colors);
+        int rows = (int) statsList.stream()
+                .filter(ps -> ps.getPlayer().getType() == com.wakfu.domain.actors.Fighter.FighterType.PLAYER)
+                .count();
+        if (rows == shownRows) return;
+        shownRows = rows;
+        double height = renderer.preferredHeight(rows);
+        Platform.runLater(() -> {
+            // Hauteur ajustée au nombre de lignes, sans toucher à la largeur choisie
+            renderer.getContent().setPrefSize(stage.getScene().getWidth(), height);
+            stage.sizeToScene();
+        });
+    }
+}
@@ -0,0 +1,177 @@
+package com.wakfu.ui.timeline;
+
+import com.wakfu.domain.event.EventType;
+import com.wakfu.domain.model.FightJournal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pyramide de cases de temps par joueur, alimentée au fil du journal du combat : le niveau 0
+ * découpe le combat en tranches de {@value #BASE_BUCKET_MS} ms, chaque niveau suivant double
+ * la largeur. La frise dessine au niveau dont une case fait au moins quelques pixels, si bien
+ * que le coût d'une image dépend de la largeur de l'écran et non du nombre de coups.
+ *
+ * <p>Chaque événement du journal n'est lu qu'une fois ({@link #ingest}) et ajouté à une case
+ * de chaque niveau. Les heures sont relatives au premier événement vu.</p>
+ */
+public final class TimelineBuckets {
+
+    public static final int BASE_BUCKET_MS = 250;
+    public static final int LEVELS = 16;
+
+    private static final byte DAMAGE = (byte) EventType.DAMAGE.ordinal();
+    private static final byte BONUS_DAMAGE = (byte) EventType.BONUS_DAMAGE.ordinal();
+    private static final byte HEAL = (byte) EventType.HEAL.ordinal();
+    private static final byte SHIELD = (byte) EventType.SHIELD.ordinal();
+
+    private final Map<String, Lane> lanesByName = new HashMap<>();
+    private final List<Lane> lanes = new ArrayList<>();
+    // Plus forte case de dégâts, par niveau (échelle verticale commune aux joueurs)
+    private final long[] maxDamage = new long[LEVELS];
+
+    private int generation = -1;
+    private int consumed = 0;
+    private long origin = Long.MIN_VALUE;
+    private long duration = 0;
+
+    /**
+     * Lit les événements du journal ajoutés depuis l'appel précédent.
+     *
+     * @param generation {@link FightJournal#getGeneration()} du journal lu
+     */
+    public void ingest(FightJournal.Columns columns, int generation) {
+        if (generation != this.generation || columns.total() < consumed) {
+            clear();
+            this.generation = generation;
+        }
+        // Position suivie sur le total écrit : des lignes anciennes ont pu être retirées du journal
+        int n = columns.size();
+        int from = Math.max(0, consumed - columns.offset());
+        if (from >= n) return;
+        if (origin == Long.MIN_VALUE) origin = columns.time()[from];
+
+        byte[] kind = columns.kind();
+        int[] caster = columns.caster();
+        int[] cast = columns.cast();
+        int[] value = columns.value();
+        long[] time = columns.time();
+        for (int i = from; i < n; i++) {
+            byte k = kind[i];
+            boolean damage = k == DAMAGE || k == BONUS_DAMAGE;
+            if (!damage && k != HEAL && k != SHIELD) continue;
+            if (caster[i] == FightJournal.NO_ID) continue;
+
+            Lane lane = lanesByName.get(columns.fighterName(caster[i]));
+            if (lane == null) {
+                lane = new Lane(columns.fighterName(caster[i]));
+                lanesByName.put(lane.name, lane);
+                lanes.add(lane);
+            }
+            long t = Math.max(0, time[i] - origin);
+            duration = Math.max(duration, t);
+            // Premier événement d'un lancer : un trait sur la frise
+            boolean newCast = cast[i] != FightJournal.NO_ID && cast[i] != lane.lastCast;
+            if (newCast) lane.lastCast = cast[i];
+            lane.add(t, damage ? value[i] : 0, newCast, maxDamage);
+        }
+        consumed = columns.total();
+    }
+
+    public void clear() {
+        lanesByName.clear();
+        lanes.clear();
+        Arrays.fill(maxDamage, 0);
+        consumed = 0;
+        origin = Long.MIN_VALUE;
+        duration = 0;
+    }
+
+    public List<Lane> getLanes() {
+        return lanes;
+    }
+
+    public Lane getLane(String name) {
+        return lanesByName.get(name);
+    }
+
+    /**
+     * Durée couverte, du premier au dernier événement (ms).
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    public long getMaxDamage(int level) {
+        return maxDamage[level];
+    }
+
+    public static long bucketMillis(int level) {
+        return (long) BASE_BUCKET_MS << level;
+    }
+
+    /**
+     * Niveau le plus fin dont une case couvre au moins {@code minMillis}.
+     */
+    public static int levelFor(double minMillis) {
+        for (int level = 0; level < LEVELS; level++) {
+            if (bucketMillis(level) >= minMillis) return level;
+        }
+        return LEVELS - 1;
+    }
+
+    /**
+     * Cases d'un joueur : dégâts et nombre de lancers, un tableau par niveau.
+     */
+    public static final class Lane {
+        private final String name;
+        private final long[][] damage = new long[LEVELS][];
+        private final int[][] casts = new int[LEVELS][];
+        private long total = 0;
+        private int lastCast = FightJournal.NO_ID;
+
+        Lane(String name) {
+            this.name = name;
+            for (int level = 0; level < LEVELS; level++) {
+                damage[level] = new long[16];
+                casts[level] = new int[16];
+            }
+        }
+
+        private void add(long t, int value, boolean newCast, long[] maxDamage) {
+            total += value;
+            for (int level = 0; level < LEVELS; level++) {
+                int b = (int) (t / bucketMillis(level));
+                if (b >= damage[level].length) {
+                    int capacity = Math.max(b + 1, damage[level].length * 2);
+                    damage[level] = Arrays.copyOf(damage[level], capacity);
+                    casts[level] = Arrays.copyOf(casts[level], capacity);
+                }
+                long d = damage[level][b] += value;
+                if (d > maxDamage[level]) maxDamage[level] = d;
+                if (newCast) casts[level][b]++;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long damageAt(int level, int bucket) {
+            long[] d = damage[level];
+            return bucket >= 0 && bucket < d.length ? d[bucket] : 0;
+        }
+
+        public int castsAt(int level, int bucket) {
+            int[] c = casts[level];
+            return bucket >= 0 && bucket < c.length ? c[bucket] : 0;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.wakfu.ui.timeline;
+
+import com.wakfu.domain.actors.Fighter;
+import com.wakfu.domain.model.FightJournal;
+import com.wakfu.domain.model.FightModel;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Frise chronologique du combat dessinée sur un {@link Canvas} : une ligne par joueur, les
+ * dégâts en barres et les lancers en traits, sur l'heure de log. Molette pour zoomer autour
+ * du curseur, glisser pour se déplacer, double-clic pour revoir tout le combat (qui suit alors
+ * le direct).
+ *
+ * <p>Le dessin lit les cases précalculées de {@link TimelineBuckets} au niveau de détail
+ * adapté au zoom, jamais les événements un par un ; il n'est refait que si quelque chose a
+ * changé, au rythme de l'écran.</p>
+ */
+public class TimelinePane {
+
+    private static final double NAME_WIDTH = 100;
+    private static final double AXIS_HEIGHT = 20;
+    private static final double LANE_HEIGHT = 30;
+    private static final double LANE_GAP = 4;
+    // Largeur minimale d'une case à l'écran : fixe le niveau de détail
+    private static final double MIN_BUCKET_PX = 2;
+    private static final long MIN_SPAN_MS = 2_000;
+    private static final Color BACKGROUND = Color.web("#1e1e1e");
+    private static final Color GRID = Color.web("#333333");
+    private static final Color TEXT = Color.web("#cccccc");
+    private static final Color DEFAULT_LANE_COLOR = Color.web("#4b8cff");
+    private static final Font FONT = Font.font(11);
+
+    private final Pane content = new Pane();
+    private final Canvas canvas = new Canvas();
+    private final TimelineBuckets buckets = new TimelineBuckets();
+    // Dernier journal reçu, pas encore lu par le thread JavaFX
+    private final AtomicReference<Pending> pending = new AtomicReference<>();
+    private final AnimationTimer timer;
+
+    private Map<String, Color> playerColors = new ConcurrentHashMap<>();
+    private Set<String> players = Set.of();
+    private List<TimelineBuckets.Lane> visibleLanes = List.of();
+
+    // Fenêtre affichée, en ms depuis le début du combat ; suit le direct tant que followLive
+    private double viewStart = 0;
+    private double viewSpan = 60_000;
+    private boolean followLive = true;
+    private boolean dirty = true;
+
+    private double dragX = Double.NaN;
+    private double mouseX = -1;
+    private double mouseY = -1;
+
+    private record Pending(FightJournal.Columns columns, int generation, Set<String> players) {}
+
+    public TimelinePane() {
+        content.getChildren().add(canvas);
+        content.setMinSize(0, 0);
+        canvas.widthProperty().bind(content.widthProperty());
+        canvas.heightProperty().bind(content.heightProperty());
+        canvas.widthProperty().addListener((obs, o, n) -> dirty = true);
+        canvas.heightProperty().addListener((obs, o, n) -> dirty = true);
+
+        canvas.setOnScroll(this::onScroll);
+        canvas.setOnMousePressed(e -> dragX = e.getX());
+        canvas.setOnMouseReleased(e -> dragX = Double.NaN);
+        canvas.setOnMouseDragged(this::onDrag);
+        canvas.setOnMouseMoved(this::onMove);
+        canvas.setOnMouseExited(e -> { mouseX = -1; dirty = true; });
+        canvas.setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) {
+                followLive = true;
+                dirty = true;
+            }
+        });
+
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                drainPending();
+                if (dirty) {
+                    dirty = false;
+                    draw();
+                }
+            }
+        };
+        // Le timer ne tourne que tant que la frise est affichée
+        content.sceneProperty().addListener((obs, o, scene) -> {
+            if (scene != null) timer.start(); else timer.stop();
+        });
+    }
+
+    public Pane getContent() {
+        return content;
+    }
+
+    /**
+     * Reçoit le modèle à jour (depuis n'importe quel thread). Seule une vue du journal est
+     * prise ici ; la lecture des nouveaux événements se fait à la prochaine image.
+     */
+    public void update(FightModel model, Map<String, Color> colors) {
+        if (model == null) return;
+        if (colors != null) this.playerColors = colors;
+        Set<String> names = model.getStatsByPlayer().values().stream()
+                .filter(ps -> ps.getPlayer().getType() == Fighter.FighterType.PLAYER)
+                .map(ps -> ps.getPlayer().getName())
+                .collect(Collectors.toSet());
+        FightJournal journal = model.getJournal();
+        int generation = journal.getGeneration();
+        pending.set(new Pending(journal.snapshot(), generation, names));
+    }
+
+    public void clear() {
+        pending.set(null);
+        Platform.runLater(() -> {
+            buckets.clear();
+            visibleLanes = List.of();
+            followLive = true;
+            dirty = true;
+        });
+    }
+
+    private void drainPending() {
+        Pending p = pending.getAndSet(null);
+        if (p == null) return;
+        buckets.ingest(p.columns(), p.generation());
+        players = p.players();
+        List<TimelineBuckets.Lane> lanes = new ArrayList<>();
+        for (TimelineBuckets.Lane lane : buckets.getLanes()) {
+            if (players.contains(lane.getName())) lanes.add(lane);
+        }
+        lanes.sort(Comparator.comparingLong(TimelineBuckets.Lane::getTotal).reversed());
+        visibleLanes = lanes;
+        dirty = true;
+    }
+
+    // === Dessin ===
+
+    private void draw() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        double w = canvas.getWidth();
+        double h = canvas.getHeight();
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, w, h);
+        double plotWidth = w - NAME_WIDTH;
+        if (plotWidth <= 10 || h <= AXIS_HEIGHT) return;
+
+        if (followLive) {
+            viewStart = 0;
+            viewSpan = Math.max(MIN_SPAN_MS, buckets.getDuration() * 1.05);
+        }
+        double msPerPx = viewSpan / plotWidth;
+        int level = TimelineBuckets.levelFor(msPerPx * MIN_BUCKET_PX);
+        long bucketMs = TimelineBuckets.bucketMillis(level);
+        long maxDamage = Math.max(1, buckets.getMaxDamage(level));
+
+        g.setFont(FONT);
+        drawAxis(g, plotWidth, h);
+
+        int firstBucket = (int) Math.max(0, Math.floor(viewStart / bucketMs));
+        int lastBucket = (int) Math.ceil((viewStart + viewSpan) / bucketMs);
+        double bucketPx = bucketMs / msPerPx;
+
+        double y = AXIS_HEIGHT;
+        for (TimelineBuckets.Lane lane : visibleLanes) {
+            if (y > h) break;
+            Color color = playerColors.getOrDefault(lane.getName(), DEFAULT_LANE_COLOR);
+
+            g.setFill(TEXT);
+            g.setTextAlign(TextAlignment.LEFT);
+            g.setTextBaseline(VPos.CENTER);
+            g.fillText(lane.getName(), 6, y + LANE_HEIGHT / 2, NAME_WIDTH - 10);
+
+            double barBottom = y + LANE_HEIGHT - 6;
+            double barRoom = LANE_HEIGHT - 8;
+            g.setFill(color);
+            for (int b = firstBucket; b <= lastBucket; b++) {
+                long dmg = lane.damageAt(level, b);
+                if (dmg == 0) continue;
+                double x = NAME_WIDTH + (b * bucketMs - viewStart) / msPerPx;
+                double barH = Math.max(1, barRoom * dmg / maxDamage);
+                g.fillRect(x, barBottom - barH, Math.max(1, bucketPx - 0.5), barH);
+            }
+            // Lancers : un trait sous la barre par case contenant au moins un lancer
+            g.setFill(color.brighter());
+            for (int b = firstBucket; b <= lastBucket; b++) {
+                int casts = lane.castsAt(level, b);
+                if (casts == 0) continue;
+                double x = NAME_WIDTH + (b * bucketMs - viewStart) / msPerPx;
+                g.fillRect(x, barBottom + 1, Math.max(1, Math.min(bucketPx, casts)), 4);
+            }
+            g.setStroke(GRID);
+            g.strokeLine(NAME_WIDTH, y + LANE_HEIGHT + LANE_GAP / 2, NAME_WIDTH + plotWidth, y + LANE_HEIGHT + LANE_GAP / 2);
+            y += LANE_HEIGHT + LANE_GAP;
+        }
+
+        drawHover(g, level, bucketMs, msPerPx, w);
+    }
+
+    private void drawAxis(GraphicsContext g, double plotWidth, double h) {
+        // Pas des graduations : environ une toutes les 80 px, arrondi à une durée lisible
+        double step = niceStep(viewSpan * 80 / plotWidth);
+        double first = Math.ceil(viewStart / step) * step;
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        for (double t = first; t <= viewStart + viewSpan; t += step) {
+            double x = NAME_WIDTH + (t - viewStart) * plotWidth / viewSpan;
+            g.setStroke(GRID);
+            g.strokeLine(x, AXIS_HEIGHT, x, h);
+            g.setFill(TEXT);
+            g.fillText(formatTime((long) t), x, AXIS_HEIGHT / 2);
+        }
+    }
+
+    private void drawHover(GraphicsContext g, int level, long bucketMs, double msPerPx, double w) {
+        if (mouseX < NAME_WIDTH || mouseY < AXIS_HEIGHT) return;
+        int laneIndex = (int) ((mouseY - AXIS_HEIGHT) / (LANE_HEIGHT + LANE_GAP));
+        if (laneIndex >= visibleLanes.size()) return;
+        TimelineBuckets.Lane lane = visibleLanes.get(laneIndex);
+        int b = (int) Math.floor((viewStart + (mouseX - NAME_WIDTH) * msPerPx) / bucketMs);
+        if (b < 0) return;
+
+        String text = String.format("%s  %s–%s  %,d dégâts  %d lancer(s)", lane.getName(),
+                formatTime(b * bucketMs), formatTime((b + 1) * bucketMs),
+                lane.damageAt(level, b), lane.castsAt(level, b));
+        double boxW = Math.min(w - NAME_WIDTH, text.length() * 6.2 + 12);
+        double x = Math.min(mouseX + 12, w - boxW - 2);
+        double y = mouseY + 14;
+        g.setFill(Color.rgb(0, 0, 0, 0.8));
+        g.fillRoundRect(x, y, boxW, 20, 6, 6);
+        g.setFill(Color.WHITE);
+        g.setTextAlign(TextAlignment.LEFT);
+        g.fillText(text, x + 6, y + 10, boxW - 12);
+    }
+
+    // === Interaction ===
+
+    private void onScroll(ScrollEvent e) {
+        double plotWidth = canvas.getWidth() - NAME_WIDTH;
+        if (plotWidth <= 0 || e.getDeltaY() == 0) return;
+        double anchor = viewStart + Math.max(0, e.getX() - NAME_WIDTH) * viewSpan / plotWidth;
+        double factor = e.getDeltaY() > 0 ? 0.8 : 1.25;
+        double maxSpan = Math.max(MIN_SPAN_MS, buckets.getDuration() * 1.05);
+        double span = Math.max(MIN_SPAN_MS, Math.min(maxSpan, viewSpan * factor));
+        viewStart = Math.max(0, anchor - (anchor - viewStart) * span / viewSpan);
+        viewSpan = span;
+        followLive = false;
+        dirty = true;
+        e.consume();
+    }
+
+    private void onDrag(MouseEvent e) {
+        if (Double.isNaN(dragX)) return;
+        double plotWidth = canvas.getWidth() - NAME_WIDTH;
+        if (plotWidth <= 0) return;
+        viewStart = Math.max(0, viewStart - (e.getX() - dragX) * viewSpan / plotWidth);
+        dragX = e.getX();
+        followLive = false;
+        dirty = true;
+    }
+
+    private void onMove(MouseEvent e) {
+        mouseX = e.getX();
+        mouseY = e.getY();
+        dirty = true;
+    }
+
+    private static double niceStep(double raw) {
+        double[] steps = {250, 500, 1_000, 2_000, 5_000, 10_000, 15_000, 30_000, 60_000, 120_000, 300_000, 600_000};
+        for (double s : steps) {
+            if (s >= raw) return s;
+        }
+        return 1_200_000;
+    }
+
+    private static String formatTime(long ms) {
+        long s = ms / 1000;
+        return String.format("%d:%02d", s / 60, s % 60);
+    }
+}
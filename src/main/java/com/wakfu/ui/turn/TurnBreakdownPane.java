@@ -2,6 +2,7 @@ package com.wakfu.ui.turn;
 import com.wakfu.domain.model.SpellStats;
 import com.wakfu.domain.abilities.Element;
 import com.wakfu.domain.model.PlayerStats;
+import com.wakfu.ui.StatMetric;
 import com.wakfu.ui.util.UIUtils;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -24,6 +25,12 @@ public class TurnBreakdownPane {
      * Designed to be embedded in MainUI's right pane.
      */
     public static Pane buildPanel(int roundNumber, PlayerStats playerStats) {
+        return buildPanel(roundNumber, playerStats, StatMetric.DAMAGE);
+    }
+    /**
+     * Builds a panel showing the per-spell breakdown of the given metric for a round.
+     */
+    public static Pane buildPanel(int roundNumber, PlayerStats playerStats, StatMetric metric) {
         Map<String, SpellStats> spells = new java.util.LinkedHashMap<>();
         String playerName = "Joueur";
         // Extract player name
@@ -36,7 +43,7 @@ public class TurnBreakdownPane {
         // Extract spells
         try {
             if (playerStats != null) {
-                Map<String, SpellStats> rawSpells = playerStats.getSpells();
+                Map<String, SpellStats> rawSpells = metric.spellsOf(playerStats);
                 if (rawSpells != null) {
                     spells = rawSpells;
                 }
@@ -54,7 +61,8 @@ public class TurnBreakdownPane {
         container.setPadding(new Insets(15));
         container.setAlignment(Pos.TOP_LEFT);
         container.setBackground(Background.EMPTY);
-        Label title = new Label("Tour " + roundNumber + " - " + playerName);
+        String suffix = metric == StatMetric.DAMAGE ? "" : " (" + metric.getLabel() + ")";
+        Label title = new Label("Tour " + roundNumber + " - " + playerName + suffix);
         title.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
         container.getChildren().add(title);
         // Calculate dynamic column width using UIUtils
@@ -70,8 +78,8 @@ public class TurnBreakdownPane {
         Label hBar = new Label("");
         hBar.setBackground(Background.EMPTY);
         GridPane.setHgrow(hBar, Priority.ALWAYS);
-        Label hDmg = new Label("Degats");
-        Label hDmgPerPA = new Label("Degat/PA");
+        Label hDmg = new Label(metric.getColumnHeader());
+        Label hDmgPerPA = new Label(metric.getPerPaHeader());
         Label hCasts = new Label("Casts");
         Label hPct = new Label("%");
         headerGrid.add(hName, 0, 0);
@@ -171,7 +179,8 @@ public class TurnBreakdownPane {
         } catch (Exception ignored) {
         }
 
-        if (!bonusEffects.isEmpty()) {
+        // Les dégâts bonus ne concernent que la vue des dégâts
+        if (metric == StatMetric.DAMAGE && !bonusEffects.isEmpty()) {
             Label bonusTitle = new Label("Degats Bonus");
             bonusTitle.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-padding: 10 0 0 0;");
             container.getChildren().add(bonusTitle);
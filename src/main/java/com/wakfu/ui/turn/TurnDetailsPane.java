@@ -3,18 +3,22 @@ package com.wakfu.ui.turn;
 import com.wakfu.domain.model.FightModel;
 import com.wakfu.domain.model.PlayerStats;
 import com.wakfu.domain.model.RoundModel;
+import com.wakfu.domain.model.RoundSummary;
+import com.wakfu.ui.StatMetric;
+import com.wakfu.ui.util.UIUtils;
 import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.ContentDisplay;
 import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.ColumnConstraints;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -24,13 +28,21 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
- * Fenêtre affichant les dégâts par round (par joueur) avec possibilité de filtrer par joueur.
+ * Fenêtre affichant les dégâts (ou soins, armure) par round et par joueur, avec possibilité
+ * de filtrer par joueur.
+ *
+ * <p>Les rounds sont les lignes d'une {@link ListView} : seuls ceux qui sont à l'écran ont
+ * des nœuds. La section d'un round terminé est construite une fois puis gardée en cache ;
+ * seul le round en cours est reconstruit à chaque mise à jour.</p>
  */
 public class TurnDetailsPane {
 
@@ -39,18 +51,36 @@ public class TurnDetailsPane {
         void onBreakdown(int roundNumber, PlayerStats stats);
     }
 
+    // Clé de cache de la section des rounds compactés
+    private static final int SUMMARY_KEY = Integer.MIN_VALUE;
+    private static final Color TRACK_COLOR = Color.rgb(0, 0, 0, 0.10);
+
+    /**
+     * Ligne de la liste : un round (ou le résumé des rounds compactés si {@code round} est null).
+     * {@code version} change quand la ligne doit être redessinée.
+     */
+    private record RoundRow(int key, RoundModel round, int version) {}
+
+    private record Section(int version, Node node) {}
+
     private final Stage stage;
-    private final VBox content;
+    private final ListView<RoundRow> content;
     private final ComboBox<String> playerFilter;
+    private final Set<String> knownPlayers = new HashSet<>();
+    // Sections déjà construites, par numéro de round (thread JavaFX)
+    private final Map<Integer, Section> sections = new HashMap<>();
+    private int updateCount = 0;
     private FightModel model;
     private Map<String, javafx.scene.paint.Color> playerColors = new ConcurrentHashMap<>();
     private final OnBreakdownCallback onBreakdownCallback;
+    private StatMetric metric = StatMetric.DAMAGE;
 
     public TurnDetailsPane(Stage owner, OnBreakdownCallback callback) {
         this.stage = new Stage();
-        this.content = new VBox(8);
+        this.content = new ListView<>();
         this.playerFilter = new ComboBox<>();
         this.onBreakdownCallback = callback;
+        setupList();
         setupUI(owner);
     }
 
@@ -64,15 +94,12 @@ public class TurnDetailsPane {
         title.setStyle("-fx-font-weight:bold; -fx-font-size:14px;");
 
         playerFilter.setPromptText("Filtrer par joueur");
-        playerFilter.setOnAction(e -> { System.identityHashCode(e); refreshContent(); });
+        playerFilter.setOnAction(e -> { System.identityHashCode(e); invalidateSections(); });
 
         top.getChildren().addAll(title, playerFilter);
         root.setTop(top);
 
-        ScrollPane sc = new ScrollPane(content);
-        sc.setFitToWidth(true);
-        sc.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
-        root.setCenter(sc);
+        root.setCenter(content);
 
         Scene scene = new Scene(root, 520, 600);
         var css = getClass().getResource("/dark-theme.css");
@@ -86,21 +113,47 @@ public class TurnDetailsPane {
         stage.show();
     }
 
+    private void setupList() {
+        content.setFocusTraversable(false);
+        content.setStyle("-fx-background-color: transparent; -fx-background-insets: 0;");
+        content.setCellFactory(list -> new ListCell<>() {
+            {
+                setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+                setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+            }
+
+            @Override
+            protected void updateItem(RoundRow row, boolean empty) {
+                super.updateItem(row, empty);
+                setGraphic(empty || row == null ? null : sectionFor(row));
+            }
+        });
+    }
+
     public void update(FightModel model, Map<String, javafx.scene.paint.Color> colors) {
-        this.model = model;
         this.playerColors = colors != null ? colors : new ConcurrentHashMap<>();
-        // populate player filter
-        List<String> players = model.getStatsByPlayer().values().stream()
-                .map(ps -> ps.getPlayer().getName())
-                .distinct()
-                .collect(Collectors.toList());
         Platform.runLater(() -> {
-            playerFilter.getItems().setAll(players);
-            refreshContent();
+            if (this.model != model) {
+                sections.clear();
+                this.model = model;
+            }
+            // Filtre des joueurs complété avec les seuls nouveaux noms
+            for (String player : model.getStatsByPlayer().keySet()) {
+                if (knownPlayers.add(player)) playerFilter.getItems().add(player);
+            }
+            syncRows();
         });
     }
 
-    public VBox getContent() {
+    /**
+     * Change la grandeur affichée (dégâts, soins, armure).
+     */
+    public void setMetric(StatMetric metric) {
+        this.metric = metric != null ? metric : StatMetric.DAMAGE;
+        invalidateSections();
+    }
+
+    public ListView<?> getContent() {
         return content;
     }
 
@@ -109,128 +162,194 @@ public class TurnDetailsPane {
      */
     public void clear() {
         Platform.runLater(() -> {
-            content.getChildren().clear();
+            content.getItems().clear();
+            sections.clear();
+            knownPlayers.clear();
             playerFilter.getItems().clear();
             playerFilter.setValue(null);
             model = null;
         });
     }
 
-    private void refreshContent() {
-        Platform.runLater(() -> {
-            content.getChildren().clear();
-            if (model == null) return;
-            String selected = playerFilter.getValue();
-
-            // For each round, show a sub-section with damages per player
-            for (RoundModel round : model.getRounds()) {
-                VBox roundBox = new VBox(6);
-                roundBox.setPadding(new Insets(6));
-                Label rTitle = new Label("Tour " + round.getRoundNumber());
-                rTitle.setStyle("-fx-font-weight:bold;");
-                roundBox.getChildren().add(rTitle);
-
-                GridPane grid = new GridPane();
-                grid.setHgap(5);
-                grid.setVgap(3);
-
-                ColumnConstraints col0 = new ColumnConstraints(90);
-                col0.setMinWidth(90); col0.setMaxWidth(90);
-                ColumnConstraints col1 = new ColumnConstraints(); col1.setHgrow(Priority.ALWAYS);
-                ColumnConstraints col2 = new ColumnConstraints(60); col2.setMinWidth(60); col2.setMaxWidth(60);
-                ColumnConstraints col3 = new ColumnConstraints(60); col3.setMinWidth(60); col3.setMaxWidth(60);
-                ColumnConstraints col4 = new ColumnConstraints(48); col4.setMinWidth(48); col4.setMaxWidth(48);
-                grid.getColumnConstraints().addAll(java.util.Arrays.asList(col0, col1, col2, col3, col4));
-
-                int row = 0;
-                Map<String, PlayerStats> playerStats = round.getPlayerStatsByRound();
-                int totalRound = playerStats.values().stream()
-                        .mapToInt(PlayerStats::getTotalDamage)
-                        .sum();
-                if (totalRound == 0) totalRound = 1;
-
-                // sort players by damage desc
-                List<Map.Entry<String, PlayerStats>> entries = playerStats.entrySet().stream()
-                        .sorted((a,b) -> Integer.compare(b.getValue().getTotalDamage(), a.getValue().getTotalDamage()))
-                        .toList();
-
-                final int currentRound = round.getRoundNumber();
-                for (Map.Entry<String, PlayerStats> e : entries) {
-                    String player = e.getKey();
-                    if (selected != null && !selected.equals(player)) continue;
-                    PlayerStats stats = e.getValue();
-                    int dmg = stats.getTotalDamage();
-                    double pct = (double) dmg / totalRound;
-
-                    Label name = new Label(player);
-                    name.setPrefWidth(90);
-                    name.setAlignment(Pos.CENTER_LEFT);
-
-                    // Bar container with proportional width
-                    HBox barContainer = new HBox();
-                    barContainer.setMinWidth(0);
-                    barContainer.setMaxWidth(Double.MAX_VALUE);
-                    barContainer.setAlignment(Pos.CENTER_LEFT);
-
-                    // Track + Fill
-                    StackPane bar = new StackPane();
-                    bar.setMinWidth(0);
-                    bar.setMaxWidth(Double.MAX_VALUE);
-                    bar.setPrefHeight(12);
-
-                    Region track = new Region();
-                    track.setMinWidth(0);
-                    track.setPrefHeight(12);
-                    track.setBackground(new Background(new BackgroundFill(Color.rgb(0, 0, 0, 0.10), new CornerRadii(6), Insets.EMPTY)));
-
-                    Region fill = new Region();
-                    fill.setMinWidth(0);
-                    fill.setPrefHeight(12);
-                    javafx.scene.paint.Color color = getColorForPlayer(player);
-                    fill.setBackground(new Background(new BackgroundFill(color, new CornerRadii(6), Insets.EMPTY)));
-                    StackPane.setAlignment(fill, Pos.CENTER_LEFT);
-
-                    track.prefWidthProperty().bind(bar.widthProperty());
-                    fill.prefWidthProperty().bind(track.widthProperty());
-
-                    bar.getChildren().addAll(track, fill);
-                    HBox.setHgrow(bar, Priority.NEVER);
-                    bar.prefWidthProperty().bind(barContainer.widthProperty().multiply(pct));
-
-                    barContainer.getChildren().add(bar);
-                    GridPane.setHgrow(barContainer, Priority.ALWAYS);
-
-                    Label val = new Label(String.format("%,d", dmg));
-                    val.setPrefWidth(60);
-                    val.setAlignment(Pos.CENTER_RIGHT);
-
-                    Label pctLabel = new Label(String.format("%.1f%%", pct * 100));
-                    pctLabel.setPrefWidth(60);
-                    pctLabel.setAlignment(Pos.CENTER_RIGHT);
-
-                    javafx.scene.control.Button details = new javafx.scene.control.Button("🔍");
-                    details.setTooltip(new javafx.scene.control.Tooltip("Breakdown"));
-                    details.setMinWidth(48);
-                    details.setOnAction(evt -> {
-                        if (onBreakdownCallback != null) {
-                            onBreakdownCallback.onBreakdown(currentRound, stats);
-                        }
-                    });
-
-                    grid.add(name, 0, row);
-                    grid.add(barContainer, 1, row);
-                    grid.add(val, 2, row);
-                    grid.add(pctLabel, 3, row);
-                    grid.add(details, 4, row);
-                    row++;
-                }
+    /**
+     * Aligne les lignes de la liste sur les rounds du modèle : une ligne n'est remplacée que si
+     * son round a changé, ce qui ne redessine que les cellules visibles concernées.
+     */
+    private void syncRows() {
+        if (model == null) return;
+        updateCount++;
+        List<RoundRow> next = new ArrayList<>();
+        // Rounds compactés (hors fenêtre de détail) : une seule section de totaux
+        RoundSummary compacted = model.getCompactedRounds();
+        if (!compacted.isEmpty()) next.add(new RoundRow(SUMMARY_KEY, null, compacted.getLastRound()));
+        for (RoundModel round : model.getRounds()) {
+            // Round terminé : version fixe, sa section reste en cache
+            int version = round.getEndTime() != null ? 0 : updateCount;
+            next.add(new RoundRow(round.getRoundNumber(), round, version));
+        }
+
+        ObservableList<RoundRow> items = content.getItems();
+        int common = Math.min(items.size(), next.size());
+        for (int i = 0; i < common; i++) {
+            if (!items.get(i).equals(next.get(i))) items.set(i, next.get(i));
+        }
+        if (items.size() > next.size()) {
+            items.remove(next.size(), items.size());
+        } else if (next.size() > common) {
+            items.addAll(next.subList(common, next.size()));
+        }
+    }
 
-                roundBox.getChildren().add(grid);
-                content.getChildren().add(roundBox);
-            }
+    /**
+     * Oublie les sections construites (grandeur ou filtre changé) et redessine les lignes visibles.
+     */
+    private void invalidateSections() {
+        Platform.runLater(() -> {
+            sections.clear();
+            content.refresh();
         });
     }
 
+    private Node sectionFor(RoundRow row) {
+        Section section = sections.get(row.key());
+        if (section == null || section.version() != row.version()) {
+            Node node = row.round() != null ? buildRoundSection(row.round()) : buildSummarySection();
+            section = new Section(row.version(), node);
+            sections.put(row.key(), section);
+        }
+        return section.node();
+    }
+
+    private VBox buildSummarySection() {
+        String selected = playerFilter.getValue();
+        RoundSummary compacted = model.getCompactedRounds();
+        VBox summaryBox = new VBox(4);
+        summaryBox.setPadding(new Insets(6));
+        summaryBox.prefWidthProperty().bind(content.widthProperty().subtract(20));
+        Label sTitle = new Label(String.format("Tours %d–%d (résumé)",
+                compacted.getFirstRound(), compacted.getLastRound()));
+        sTitle.setStyle("-fx-font-weight:bold;");
+        summaryBox.getChildren().add(sTitle);
+        compacted.getTotalsByPlayer().entrySet().stream()
+                .filter(e -> selected == null || selected.equals(e.getKey()))
+                .sorted((a, b) -> Integer.compare(metric.amountOf(b.getValue()), metric.amountOf(a.getValue())))
+                .forEach(e -> summaryBox.getChildren().add(
+                        new Label(String.format("%s : %,d", e.getKey(), metric.amountOf(e.getValue())))));
+        return summaryBox;
+    }
+
+    /**
+     * Section d'un round : titre puis une ligne par joueur.
+     */
+    private VBox buildRoundSection(RoundModel round) {
+        String selected = playerFilter.getValue();
+        VBox roundBox = new VBox(6);
+        roundBox.setPadding(new Insets(6));
+        // Largeur de la liste, barre de défilement déduite
+        roundBox.prefWidthProperty().bind(content.widthProperty().subtract(20));
+        Label rTitle = new Label("Tour " + round.getRoundNumber());
+        rTitle.setStyle("-fx-font-weight:bold;");
+        roundBox.getChildren().add(rTitle);
+
+        GridPane grid = new GridPane();
+        grid.setHgap(5);
+        grid.setVgap(3);
+
+        ColumnConstraints col0 = new ColumnConstraints(90);
+        col0.setMinWidth(90); col0.setMaxWidth(90);
+        ColumnConstraints col1 = new ColumnConstraints(); col1.setHgrow(Priority.ALWAYS);
+        ColumnConstraints col2 = new ColumnConstraints(60); col2.setMinWidth(60); col2.setMaxWidth(60);
+        ColumnConstraints col3 = new ColumnConstraints(60); col3.setMinWidth(60); col3.setMaxWidth(60);
+        ColumnConstraints col4 = new ColumnConstraints(48); col4.setMinWidth(48); col4.setMaxWidth(48);
+        grid.getColumnConstraints().addAll(java.util.Arrays.asList(col0, col1, col2, col3, col4));
+
+        int row = 0;
+        Map<String, PlayerStats> playerStats = round.getPlayerStatsByRound();
+        int totalRound = playerStats.values().stream()
+                .mapToInt(metric::amountOf)
+                .sum();
+        if (totalRound == 0) totalRound = 1;
+
+        // sort players by value desc
+        List<Map.Entry<String, PlayerStats>> entries = playerStats.entrySet().stream()
+                .sorted((a,b) -> Integer.compare(metric.amountOf(b.getValue()), metric.amountOf(a.getValue())))
+                .toList();
+
+        final int currentRound = round.getRoundNumber();
+        for (Map.Entry<String, PlayerStats> e : entries) {
+            String player = e.getKey();
+            if (selected != null && !selected.equals(player)) continue;
+            PlayerStats stats = e.getValue();
+            int dmg = metric.amountOf(stats);
+            double pct = (double) dmg / totalRound;
+
+            Label name = new Label(player);
+            name.setPrefWidth(90);
+            name.setAlignment(Pos.CENTER_LEFT);
+
+            // Bar container with proportional width
+            HBox barContainer = new HBox();
+            barContainer.setMinWidth(0);
+            barContainer.setMaxWidth(Double.MAX_VALUE);
+            barContainer.setAlignment(Pos.CENTER_LEFT);
+
+            // Track + Fill
+            StackPane bar = new StackPane();
+            bar.setMinWidth(0);
+            bar.setMaxWidth(Double.MAX_VALUE);
+            bar.setPrefHeight(12);
+
+            Region track = new Region();
+            track.setMinWidth(0);
+            track.setPrefHeight(12);
+            track.setBackground(UIUtils.createBackground(TRACK_COLOR, 6));
+
+            Region fill = new Region();
+            fill.setMinWidth(0);
+            fill.setPrefHeight(12);
+            javafx.scene.paint.Color color = getColorForPlayer(player);
+            fill.setBackground(UIUtils.createBackground(color, 6));
+            StackPane.setAlignment(fill, Pos.CENTER_LEFT);
+
+            track.prefWidthProperty().bind(bar.widthProperty());
+            fill.prefWidthProperty().bind(track.widthProperty());
+
+            bar.getChildren().addAll(track, fill);
+            HBox.setHgrow(bar, Priority.NEVER);
+            bar.prefWidthProperty().bind(barContainer.widthProperty().multiply(pct));
+
+            barContainer.getChildren().add(bar);
+            GridPane.setHgrow(barContainer, Priority.ALWAYS);
+
+            Label val = new Label(String.format("%,d", dmg));
+            val.setPrefWidth(60);
+            val.setAlignment(Pos.CENTER_RIGHT);
+
+            Label pctLabel = new Label(String.format("%.1f%%", pct * 100));
+            pctLabel.setPrefWidth(60);
+            pctLabel.setAlignment(Pos.CENTER_RIGHT);
+
+            javafx.scene.control.Button details = new javafx.scene.control.Button("🔍");
+            details.setTooltip(new javafx.scene.control.Tooltip("Breakdown"));
+            details.setMinWidth(48);
+            details.setOnAction(evt -> {
+                if (onBreakdownCallback != null) {
+                    onBreakdownCallback.onBreakdown(currentRound, stats);
+                }
+            });
+
+            grid.add(name, 0, row);
+            grid.add(barContainer, 1, row);
+            grid.add(val, 2, row);
+            grid.add(pctLabel, 3, row);
+            grid.add(details, 4, row);
+            row++;
+        }
+
+        roundBox.getChildren().add(grid);
+        return roundBox;
+    }
+
     private Color getColorForPlayer(String player) {
         return playerColors.computeIfAbsent(player, p -> {
             int hash = Math.abs(p.hashCode());
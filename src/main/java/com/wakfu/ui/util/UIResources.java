@@ -0,0 +1,87 @@
+package com.wakfu.ui.util;
+
+import com.wakfu.domain.abilities.Element;
+import com.wakfu.domain.actors.PlayerClass;
+import javafx.geometry.Insets;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.paint.Color;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache des ressources graphiques partagées par les vues : logos de classe chargés une fois
+ * par taille, {@link Background} et couleurs d'élément créés une fois puis réutilisés. Ces
+ * objets sont immuables, un même exemplaire peut donc servir à tous les nœuds.
+ */
+public final class UIResources {
+
+    // Au-delà, les fonds sont créés sans être mémorisés (couleurs calculées à la volée)
+    private static final int MAX_BACKGROUNDS = 1024;
+    private static final Color DEFAULT_ELEMENT_COLOR = Color.web("#cccccc");
+
+    private static final Map<IconKey, Image> ICONS = new ConcurrentHashMap<>();
+    private static final Map<BackgroundKey, Background> BACKGROUNDS = new ConcurrentHashMap<>();
+    private static final Map<Element, Color> ELEMENT_COLORS = new EnumMap<>(Element.class);
+    // Logos introuvables, pour ne pas retenter le chargement à chaque ligne
+    private static final Set<IconKey> MISSING_ICONS = ConcurrentHashMap.newKeySet();
+
+    static {
+        for (Element element : Element.values()) {
+            ELEMENT_COLORS.put(element, Color.web(UIUtils.getElementColorHex(element)));
+        }
+    }
+
+    private record IconKey(PlayerClass playerClass, double size) {}
+
+    private record BackgroundKey(Color color, double radius) {}
+
+    private UIResources() {
+        // Utility class - no instantiation
+    }
+
+    /**
+     * Logo d'une classe, chargé à la taille demandée au premier appel.
+     *
+     * @return l'image, ou null si la classe n'a pas de logo ou qu'il n'a pas pu être lu
+     */
+    public static Image classIcon(PlayerClass playerClass, double size) {
+        if (playerClass == null) return null;
+        IconKey key = new IconKey(playerClass, size);
+        Image image = ICONS.get(key);
+        if (image == null && !MISSING_ICONS.contains(key)) {
+            String path = playerClass.getIconPath();
+            var url = path != null ? UIResources.class.getResource(path) : null;
+            if (url == null) {
+                MISSING_ICONS.add(key);
+                return null;
+            }
+            image = ICONS.computeIfAbsent(key, k -> new Image(url.toExternalForm(), size, size, true, true));
+        }
+        return image != null && !image.isError() ? image : null;
+    }
+
+    /**
+     * Fond uni aux coins arrondis, partagé entre tous les nœuds de même couleur et même rayon.
+     */
+    public static Background background(Color color, double radius) {
+        BackgroundKey key = new BackgroundKey(color, radius);
+        Background background = BACKGROUNDS.get(key);
+        if (background != null) return background;
+        background = new Background(new BackgroundFill(color, new CornerRadii(radius), Insets.EMPTY));
+        if (BACKGROUNDS.size() < MAX_BACKGROUNDS) BACKGROUNDS.putIfAbsent(key, background);
+        return background;
+    }
+
+    /**
+     * Couleur d'un élément (voir {@link UIUtils#getElementColorHex(Element)}).
+     */
+    public static Color elementColor(Element element) {
+        return element != null ? ELEMENT_COLORS.get(element) : DEFAULT_ELEMENT_COLOR;
+    }
+}
@@ -1,7 +1,6 @@
 package com.wakfu.ui.util;
 
 import com.wakfu.domain.abilities.Element;
-import javafx.geometry.Insets;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 
@@ -81,10 +80,10 @@ public class UIUtils {
     // ===== Background Creation =====
 
     /**
-     * Crée un Background avec une couleur et un rayon de coins.
+     * Retourne un Background avec une couleur et un rayon de coins (partagé, voir {@link UIResources}).
      */
     public static Background createBackground(Color color, double radius) {
-        return new Background(new BackgroundFill(color, new CornerRadii(radius), Insets.EMPTY));
+        return UIResources.background(color, radius);
     }
 
     /**
@@ -117,7 +116,7 @@ public class UIUtils {
      * Retourne la couleur JavaFX Color pour un élément.
      */
     public static Color getElementColor(Element element) {
-        return Color.web(getElementColorHex(element));
+        return UIResources.elementColor(element);
     }
 
     // ===== Utility Methods =====
@@ -3,8 +3,13 @@ module com.wakfu {
     requires javafx.fxml;
     requires com.fasterxml.jackson.databind;
     requires com.fasterxml.jackson.datatype.jsr310;
+    requires jdk.httpserver;
     opens com.wakfu to javafx.fxml;
     opens com.wakfu.data to com.fasterxml.jackson.databind;
+    opens com.wakfu.storage to com.fasterxml.jackson.databind;
+    opens com.wakfu.domain.model to com.fasterxml.jackson.databind;
+    opens com.wakfu.domain.actors to com.fasterxml.jackson.databind;
+    opens com.wakfu.domain.abilities to com.fasterxml.jackson.databind;
     exports com.wakfu;
     exports com.wakfu.data;
 }
\ No newline at end of file